@@ -0,0 +1,143 @@
+// ExecutionModeBenchmark.java
+package com.yourcompany.llm.config.vllm;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * pooled vs virtual-threads 실행 모드 비교 - llmTaskExecutor에서 로컬 스텁 백엔드로 블로킹 HTTP 호출.
+ * 호출 스레드 수(-t)가 동시 요청 수이며, 결과의 p0.99가 요청 지연, rejected가 0보다 크면 그 동시성을 감당하지 못한 것.
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="ExecutionModeBenchmark -t 512"
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(256)
+@State(Scope.Benchmark)
+public class ExecutionModeBenchmark {
+
+    @Param({"POOLED", "VIRTUAL_THREADS"})
+    public LlmConfigProperties.ExecutionMode mode;
+
+    /** 스텁 백엔드 응답 지연 (vLLM 호출의 I/O 대기 모사) */
+    @Param({"20"})
+    public long backendLatencyMs;
+
+    private HttpServer stub;
+    private ExecutorService stubExecutor;
+    private Executor llmTaskExecutor;
+    private HttpClient httpClient;
+    private HttpRequest backendRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        stubExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        stub.createContext("/v1/chat/completions", this::serve);
+        stub.setExecutor(stubExecutor);
+        stub.start();
+
+        LlmConfigProperties llmConfig = new LlmConfigProperties();
+        llmConfig.getExecution().setMode(mode);
+        llmTaskExecutor = new AsyncConfig(llmConfig).llmTaskExecutor();
+
+        httpClient = HttpClient.newHttpClient();
+        backendRequest = HttpRequest.newBuilder(
+                URI.create("http://127.0.0.1:" + stub.getAddress().getPort() + "/v1/chat/completions"))
+            .POST(HttpRequest.BodyPublishers.ofString("{}")).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (llmTaskExecutor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        } else if (llmTaskExecutor instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+        stub.stop(0);
+        stubExecutor.shutdownNow();
+    }
+
+    /**
+     * 실행 모드별 처리 결과 - rejected는 풀/대기열 포화로 거절된 요청 수
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Outcomes {
+        public long completed;
+        public long rejected;
+    }
+
+    @Benchmark
+    public int blockingBackendCall(Outcomes outcomes) {
+        CompletableFuture<Integer> call;
+        try {
+            call = CompletableFuture.supplyAsync(this::callBackend, llmTaskExecutor);
+        } catch (RejectedExecutionException e) {
+            outcomes.rejected++;
+            return -1;
+        }
+        int status = call.join();
+        outcomes.completed++;
+        return status;
+    }
+
+    private int callBackend() {
+        try {
+            return httpClient.send(backendRequest, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void serve(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            exchange.getRequestBody().readAllBytes();
+            Thread.sleep(backendLatencyMs);
+            byte[] body = "{\"choices\":[]}".getBytes();
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+// BpeTokenizerBenchmark.java
+package com.yourcompany.llm.service.tokenizer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 단일 코어 토크나이저 처리량 - 목표는 50 MB/s/core 이상. 결과의 bytes 항목(초당 UTF-8 바이트)을 본다.
+ * vocabPath를 비우면 단일 바이트 + 본문에 나오는 바이트 쌍으로 만든 합성 어휘를 쓰고,
+ * 목표 확인은 실제 Llama 3 어휘로 한다.
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="BpeTokenizerBenchmark -p vocabPath=/models/tokenizer.json"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class BpeTokenizerBenchmark {
+
+    private static final String ENGLISH = "The gateway balances chat completions across several vLLM servers. "
+        + "It estimates prompt tokens before admission, so a single oversized request can't starve everyone else.\n"
+        + "Latency p99 stayed under 250ms at 1,024 concurrent streams; throughput was 3.5x the baseline.\n\n";
+
+    private static final String KOREAN = "게이트웨이는 여러 vLLM 서버에 채팅 요청을 분산합니다. "
+        + "입장 전에 프롬프트 토큰 수를 추정하므로 지나치게 긴 요청 하나가 다른 요청을 굶기지 않습니다.\n"
+        + "동시 스트림 1,024개에서도 p99 지연은 250ms 이하였고, 처리량은 기존 대비 3.5배였습니다.\n\n";
+
+    @Param({""})
+    public String vocabPath;
+
+    @Param({"en", "ko"})
+    public String language;
+
+    /** 본문 크기 (UTF-8 바이트, 대략) */
+    @Param({"65536"})
+    public int textBytes;
+
+    private BpeTokenizer tokenizer;
+    private String text;
+    private int utf8Length;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        String paragraph = "ko".equals(language) ? KOREAN : ENGLISH;
+        int paragraphBytes = paragraph.getBytes(StandardCharsets.UTF_8).length;
+        text = paragraph.repeat(Math.max(1, textBytes / paragraphBytes));
+        utf8Length = text.getBytes(StandardCharsets.UTF_8).length;
+        tokenizer = vocabPath.isEmpty() ? syntheticTokenizer(ENGLISH + KOREAN) : BpeTokenizer.load(Paths.get(vocabPath));
+    }
+
+    /**
+     * 처리한 UTF-8 바이트 수 - ops/s 단위로 보고되므로 곧 bytes/s
+     */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Processed {
+        public long bytes;
+    }
+
+    @Benchmark
+    public int countTokens(Processed processed) {
+        processed.bytes += utf8Length;
+        return tokenizer.countTokens(text);
+    }
+
+    @Benchmark
+    public int[] encode(Processed processed) {
+        processed.bytes += utf8Length;
+        return tokenizer.encode(text);
+    }
+
+    private static BpeTokenizer syntheticTokenizer(String corpus) {
+        TokenRankTable.Builder builder = new TokenRankTable.Builder();
+        for (int b = 0; b < 256; b++) {
+            builder.add(new byte[] {(byte) b}, b);
+        }
+        byte[] bytes = corpus.getBytes(StandardCharsets.UTF_8);
+        boolean[] seen = new boolean[1 << 16];
+        int rank = 256;
+        for (int i = 0; i + 1 < bytes.length; i++) {
+            int pair = (bytes[i] & 0xFF) << 8 | (bytes[i + 1] & 0xFF);
+            if (!seen[pair]) {
+                seen[pair] = true;
+                builder.add(new byte[] {bytes[i], bytes[i + 1]}, rank++);
+            }
+        }
+        return new BpeTokenizer(builder.build());
+    }
+}
@@ -0,0 +1,121 @@
+// ResponseParsingBenchmark.java
+package com.yourcompany.llm.service.vllm;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 응답 파싱 비용 비교 - 기존 Map.class / JsonNode 트리 경로 vs VllmChatCompletion 타입 매핑.
+ * 응답당 할당량은 -prof gc 결과의 gc.alloc.rate.norm (B/op)으로 본다.
+ * logprobs를 켜면 응답에 토큰별 logprobs가 붙으며, 타입 매핑은 이를 건너뛰고 트리 경로는 전부 만든다.
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="ResponseParsingBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseParsingBenchmark {
+
+    /** 생성 토큰 수 */
+    @Param({"256"})
+    public int completionTokens;
+
+    @Param({"false", "true"})
+    public boolean logprobs;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private byte[] responseBody;
+    private byte[] chunk;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        StringBuilder content = new StringBuilder();
+        List<Map<String, Object>> tokenLogprobs = new ArrayList<>();
+        for (int i = 0; i < completionTokens; i++) {
+            String token = " token" + i;
+            content.append(token);
+            tokenLogprobs.add(Map.of("token", token, "logprob", -0.25, "bytes", List.of(32, 116, 111),
+                "top_logprobs", List.of(Map.of("token", token, "logprob", -0.25))));
+        }
+
+        Map<String, Object> choice = new LinkedHashMap<>();
+        choice.put("index", 0);
+        choice.put("message", Map.of("role", "assistant", "content", content.toString()));
+        choice.put("logprobs", logprobs ? Map.of("content", tokenLogprobs) : null);
+        choice.put("finish_reason", "stop");
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("id", "chatcmpl-0123456789abcdef");
+        response.put("object", "chat.completion");
+        response.put("created", 1_760_000_000L);
+        response.put("model", "llama3.2");
+        response.put("choices", List.of(choice));
+        response.put("usage", Map.of("prompt_tokens", 42, "completion_tokens", completionTokens,
+            "total_tokens", 42 + completionTokens));
+        responseBody = objectMapper.writeValueAsBytes(response);
+
+        Map<String, Object> delta = new LinkedHashMap<>();
+        delta.put("index", 0);
+        delta.put("delta", Map.of("content", " token"));
+        delta.put("logprobs", logprobs ? Map.of("content", tokenLogprobs.subList(0, 1)) : null);
+        delta.put("finish_reason", null);
+        chunk = objectMapper.writeValueAsBytes(Map.of("id", "chatcmpl-0123456789abcdef",
+            "object", "chat.completion.chunk", "created", 1_760_000_000L, "model", "llama3.2",
+            "choices", List.of(delta)));
+    }
+
+    /**
+     * 기존 일반 응답 경로 - Map으로 읽고 중첩 Map/List를 꺼낸다
+     */
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Object untypedResponse() throws Exception {
+        Map<String, Object> body = objectMapper.readValue(responseBody, Map.class);
+        List<Map<String, Object>> choices = (List<Map<String, Object>>) body.get("choices");
+        Map<String, Object> message = (Map<String, Object>) choices.get(0).get("message");
+        Map<String, Object> usage = (Map<String, Object>) body.get("usage");
+        return ((String) message.get("content")).length() + ((Number) usage.get("total_tokens")).intValue();
+    }
+
+    @Benchmark
+    public Object typedResponse() throws Exception {
+        VllmChatCompletion completion = objectMapper.readValue(responseBody, VllmChatCompletion.class);
+        return completion.firstChoice().message().content().length() + completion.usage().totalTokens();
+    }
+
+    /**
+     * 기존 스트리밍 청크 경로 - 청크마다 JsonNode 트리를 만든다
+     */
+    @Benchmark
+    public Object untypedChunk() throws Exception {
+        JsonNode node = objectMapper.readTree(chunk);
+        return node.path("choices").path(0).path("delta").path("content").asText();
+    }
+
+    @Benchmark
+    public Object typedChunk() throws Exception {
+        return objectMapper.readValue(chunk, VllmChatCompletion.class).firstChoice().delta().content();
+    }
+}
@@ -0,0 +1,112 @@
+// ServerSelectionBenchmark.java
+package com.yourcompany.llm.service.vllm;
+
+import static org.mockito.Mockito.mock;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.yourcompany.llm.config.vllm.LlmConfigProperties;
+import com.yourcompany.llm.config.vllm.VllmConfigProperties;
+import com.yourcompany.llm.dto.LlmRequest;
+import com.yourcompany.llm.service.tokenizer.TokenCounter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 서버 선택 처리량 - 정상 서버 64대, 호출 스레드 256개.
+ * P2C는 게시된 스냅샷 배열에서 O(1)로 선택하므로 -prof gc의 gc.alloc.rate.norm이 0에 가까워야 한다.
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="ServerSelectionBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(256)
+@State(Scope.Benchmark)
+public class ServerSelectionBenchmark {
+
+    @Param({"64"})
+    public int servers;
+
+    @Param({"P2C", "LEAST_CONNECTIONS", "ROUND_ROBIN"})
+    public VllmLoadBalancer.LoadBalancingStrategy strategy;
+
+    private VllmLoadBalancer loadBalancer;
+    private final List<ServerLease> heldLeases = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<VllmConfigProperties.VllmServerConfig> configs = new ArrayList<>();
+        for (int i = 0; i < servers; i++) {
+            VllmConfigProperties.VllmServerConfig server = new VllmConfigProperties.VllmServerConfig();
+            server.setName("vllm-" + i);
+            server.setModel("llama3.2");
+            server.setPort(8000 + i);
+            configs.add(server);
+        }
+        VllmConfigProperties vllmConfig = new VllmConfigProperties();
+        vllmConfig.setServers(configs);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        LlmConfigProperties llmConfig = new LlmConfigProperties();
+        loadBalancer = new VllmLoadBalancer(vllmConfig, new AllHealthyChecker(vllmConfig),
+            new PassiveHealthTracker(vllmConfig, meterRegistry), new VllmCircuitBreakerRegistry(vllmConfig, meterRegistry),
+            mock(VllmMetricsScraper.class), meterRegistry, new TokenCounter(llmConfig, meterRegistry));
+
+        // 서버마다 진행 중 요청 수가 다르도록 lease를 잡아 둔다
+        LlmRequest request = LlmRequest.builder().message("warm-up").build();
+        for (int i = 0; i < servers * 4; i++) {
+            loadBalancer.acquireServer("llama3.2", VllmLoadBalancer.LoadBalancingStrategy.RANDOM, request)
+                .ifPresent(heldLeases::add);
+        }
+        for (int i = 0; i < heldLeases.size(); i += 1 + ThreadLocalRandom.current().nextInt(3)) {
+            heldLeases.get(i).close();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        heldLeases.forEach(ServerLease::close);
+    }
+
+    @Benchmark
+    public String selectServer() {
+        return loadBalancer.selectServer("llama3.2", strategy, null).orElse(null);
+    }
+
+    /**
+     * 모든 서버를 UP으로 보고하는 헬스 체커 - 스냅샷은 한 번만 만들어지고 이후 선택은 재사용만 한다
+     */
+    private static final class AllHealthyChecker extends VllmHealthChecker {
+
+        AllHealthyChecker(VllmConfigProperties vllmConfig) {
+            super(vllmConfig, null, null);
+        }
+
+        @Override
+        public HealthStatus getCachedHealthStatus(String serverName) {
+            return HealthStatus.up(serverName, "benchmark", LocalDateTime.now());
+        }
+    }
+}
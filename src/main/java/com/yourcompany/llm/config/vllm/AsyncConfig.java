@@ -2,7 +2,10 @@
 package com.yourcompany.llm.config.vllm;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -10,22 +13,31 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-@Slf4j @Configuration @EnableAsync @EnableScheduling
+@Slf4j @Configuration @EnableAsync @EnableScheduling @RequiredArgsConstructor
 public class AsyncConfig {
 
+    private final LlmConfigProperties llmConfig;
+
     /**
      * LLM 작업을 위한 비동기 실행자
      */
     @Bean(name = "llmTaskExecutor")
     public Executor llmTaskExecutor() {
+        if (llmConfig.isVirtualThreadsEnabled()) {
+            log.info("✅ LLM Task Executor configured - Virtual threads");
+            return virtualThreadExecutor("llm-task-");
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(4);
         executor.setMaxPoolSize(10);
         executor.setQueueCapacity(100);
         executor.setThreadNamePrefix("llm-task-");
-        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy());
+        // 포화 시 호출자(Tomcat 스레드)에서 실행하지 않고 즉시 거절 - 과부하는 AdmissionController가 앞단에서 차단
+        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.AbortPolicy());
         executor.initialize();
 
         log.info("✅ LLM Task Executor configured - Core: {}, Max: {}, Queue: {}", executor.getCorePoolSize(),
@@ -34,6 +46,52 @@ public class AsyncConfig {
         return executor;
     }
 
+    /**
+     * vLLM 헬스 체크를 위한 실행자 - 서버 수만큼 동시에 점검할 수 있도록 core = max (유휴 시 축소)
+     */
+    @Bean(name = "healthCheckExecutor")
+    public Executor healthCheckExecutor() {
+        if (llmConfig.isVirtualThreadsEnabled()) {
+            log.info("✅ Health Check Executor configured - Virtual threads");
+            return virtualThreadExecutor("health-check-");
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(8);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(64);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setThreadNamePrefix("health-check-");
+        executor.initialize();
+
+        log.info("✅ Health Check Executor configured - Core: {}, Max: {}, Queue: {}", executor.getCorePoolSize(),
+                executor.getMaxPoolSize(), executor.getQueueCapacity());
+
+        return executor;
+    }
+
+    /**
+     * vLLM SSE 청크를 클라이언트로 전달하는 실행자 - 느린 클라이언트에 대한 블로킹 쓰기가 HTTP 클라이언트 I/O 스레드나
+     * 제한된 풀을 점유하지 않도록 실행 모드와 관계없이 스트림마다 가상 스레드 사용
+     */
+    @Bean(name = "sseRelayExecutor")
+    public Executor sseRelayExecutor() {
+        return virtualThreadExecutor("sse-relay-");
+    }
+
+    /**
+     * 가상 스레드 모드에서 Tomcat 요청 처리 스레드를 가상 스레드로 교체
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> {
+            if (llmConfig.isVirtualThreadsEnabled()) {
+                protocolHandler.setExecutor(virtualThreadExecutor("tomcat-handler-"));
+                log.info("✅ Tomcat request handling configured - Virtual threads");
+            }
+        };
+    }
+
     /**
      * vLLM 모니터링을 위한 스케줄러
      */
@@ -68,4 +126,8 @@ public class AsyncConfig {
 
         return executor;
     }
-}
\ No newline at end of file
+
+    private static ExecutorService virtualThreadExecutor(String threadNamePrefix) {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(threadNamePrefix, 0).factory());
+    }
+}
@@ -0,0 +1,222 @@
+// LlmConfigProperties.java
+package com.yourcompany.llm.config.vllm;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import javax.validation.Valid;
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.time.Duration;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "llm")
+public class LlmConfigProperties {
+    
+    @Valid
+    private ExecutionSettings execution = new ExecutionSettings();
+    
+    @Valid
+    private CacheSettings cache = new CacheSettings();
+    
+    @Valid
+    private CoalescingSettings coalescing = new CoalescingSettings();
+    
+    @Valid
+    private HedgingSettings hedging = new HedgingSettings();
+    
+    @Valid
+    private RetrySettings retry = new RetrySettings();
+    
+    @Valid
+    private AdmissionSettings admission = new AdmissionSettings();
+    
+    @Valid
+    private SchedulingSettings scheduling = new SchedulingSettings();
+    
+    @Valid
+    private RateLimitSettings rateLimit = new RateLimitSettings();
+    
+    @Valid
+    private TokenizerSettings tokenizer = new TokenizerSettings();
+    
+    @Valid
+    private ContextSettings context = new ContextSettings();
+    
+    public enum ExecutionMode {
+        POOLED,          // 고정 크기 스레드 풀 (기본값)
+        VIRTUAL_THREADS  // LLM 호출, 헬스 체크, Tomcat 요청을 가상 스레드에서 실행
+    }
+    
+    public enum ContextFitPolicy {
+        TRUNCATE,        // 시스템 프롬프트와 최근 턴을 남기고 오래된 메시지부터 삭제 (기본값)
+        COLLAPSE,        // 삭제한 메시지를 발췌 요약 메시지 하나로 대체
+        REJECT           // 대화 이력은 건드리지 않고 maxTokens만 보정, 프롬프트가 넘치면 거절
+    }
+    
+    @Data
+    public static class ExecutionSettings {
+        @NotNull
+        private ExecutionMode mode = ExecutionMode.POOLED;
+    }
+    
+    @Data
+    public static class CacheSettings {
+        @NotNull
+        private Boolean enabled = true;
+        
+        @Min(1)
+        private Integer maxEntries = 10_000;
+        
+        @NotNull
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+    
+    @Data
+    public static class CoalescingSettings {
+        @NotNull
+        private Boolean enabled = true;
+        
+        @NotNull
+        private Boolean deterministicOnly = true; // false면 샘플링 요청도 동일 응답을 공유
+    }
+    
+    @Data
+    public static class HedgingSettings {
+        @NotNull
+        private Boolean enabled = false;
+        
+        @Min(1)
+        private Integer maxTokensThreshold = 256;   // 이 이하의 짧은 생성 요청만 헤지
+        
+        @DecimalMin("0.0") @DecimalMax("100.0")
+        private Double budgetPercent = 5.0;         // 전체 요청 대비 추가 부하 상한 (%)
+        
+        @DecimalMin("0.5") @DecimalMax("1.0")
+        private Double delayPercentile = 0.95;      // 이 백분위 응답 시간이 지나도 응답이 없으면 헤지
+        
+        @NotNull
+        private Duration minDelay = Duration.ofMillis(50);
+        
+        @NotNull
+        private Duration defaultDelay = Duration.ofSeconds(1); // 지연 통계가 쌓이기 전 사용
+    }
+    
+    @Data
+    public static class RetrySettings {
+        @NotNull
+        private Boolean enabled = true;
+        
+        @Min(1)
+        private Integer maxAttempts = 3;            // 첫 시도 포함
+        
+        @NotNull
+        private Duration initialBackoff = Duration.ofMillis(100);
+        
+        @NotNull
+        private Duration maxBackoff = Duration.ofSeconds(2);
+        
+        @DecimalMin("0.0") @DecimalMax("1.0")
+        private Double budgetRatio = 0.1;           // 요청 1건당 적립되는 재시도 토큰 (장기적으로 재시도 비율 상한)
+        
+        @Min(1)
+        private Integer budgetCapacity = 20;        // 토큰 버킷 최대치 (순간적으로 허용되는 재시도 수)
+        
+        @NotNull
+        private List<Integer> retryableStatuses = List.of(429, 500, 502, 503, 504);
+    }
+    
+    @Data
+    public static class AdmissionSettings {
+        @NotNull
+        private Boolean enabled = true;
+        
+        @DecimalMin("0.1")
+        private Double capacityFactor = 1.0;        // max-num-seqs 합 대비 동시 처리 한도 배수
+        
+        @Min(0)
+        private Integer maxQueueDepth = 1000;       // 초과 시 즉시 429
+        
+        @NotNull
+        private Duration maxQueueWait = Duration.ofSeconds(10); // 대기열 마감 시간, 초과 시 503
+        
+        @NotNull
+        private Duration maxRetryAfter = Duration.ofSeconds(30);
+    }
+    
+    @Data
+    public static class SchedulingSettings {
+        // 한 라운드에서 클래스별로 배정하는 요청 수 (대기 중인 클래스끼리만 나눔)
+        @Min(1)
+        private Integer interactiveWeight = 8;
+        
+        @Min(1)
+        private Integer standardWeight = 3;
+        
+        @Min(1)
+        private Integer batchWeight = 1;
+        
+        @Min(1)
+        private Long quantumTokens = 2048L;         // 사용자별 DRR 라운드당 배정 토큰
+    }
+    
+    @Data
+    public static class RateLimitSettings {
+        @NotNull
+        private Boolean enabled = true;
+        
+        @Min(1)
+        private Long tokensPerMinute = 60_000L;     // 클라이언트별 지속 처리량 (프롬프트 + 생성 토큰)
+        
+        @Min(1)
+        private Long burstTokens = 60_000L;         // 버킷 크기 - 요청 하나의 최대 비용보다 커야 함
+        
+        @Min(1)
+        private Integer maxClients = 100_000;       // 추적하는 클라이언트 버킷 최대 수
+        
+        @NotNull
+        private Duration idleExpiry = Duration.ofMinutes(10); // 이 시간 동안 요청이 없으면 버킷 제거
+        
+        @NotNull
+        private String apiKeyHeader = "X-API-Key";  // 있으면 user보다 우선하는 클라이언트 키
+    }
+    
+    @Data
+    public static class TokenizerSettings {
+        private String vocabPath;                   // Llama 3 어휘 파일 (tokenizer.model 또는 tokenizer.json), 없으면 글자 수 기반 추정
+        
+        @Min(0)
+        private Integer templateOverheadTokens = 4; // 메시지당 채팅 템플릿 특수 토큰 (<|start_header_id|>, <|end_header_id|>, \n\n, <|eot_id|>)
+        
+        @Min(0)
+        private Integer cacheEntries = 65_536;      // 텍스트 해시 → 토큰 수 캐시 크기 (항목당 8바이트, 0이면 비활성)
+        
+        @Min(0)
+        private Integer cacheMinLength = 64;        // 이보다 짧은 텍스트는 캐시 없이 바로 토큰화
+    }
+    
+    @Data
+    public static class ContextSettings {
+        @NotNull
+        private ContextFitPolicy policy = ContextFitPolicy.TRUNCATE;
+        
+        @Min(1)
+        private Integer minOutputTokens = 16;       // 프롬프트를 넣고 이만큼도 생성할 자리가 없으면 거절
+        
+        @Min(1)
+        private Integer collapseMaxTokens = 256;    // COLLAPSE 요약 메시지의 최대 토큰
+        
+        @Min(16)
+        private Integer collapseExcerptChars = 160; // COLLAPSE 요약에 남기는 메시지별 앞부분 글자 수
+    }
+    
+    // Helper methods
+    public boolean isVirtualThreadsEnabled() {
+        return execution != null && execution.getMode() == ExecutionMode.VIRTUAL_THREADS;
+    }
+}
@@ -1,14 +1,19 @@
 // VllmConfigProperties.java
 package com.yourcompany.llm.config.vllm;
 
+import com.yourcompany.llm.service.vllm.VllmLoadBalancer;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
 import javax.validation.Valid;
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
+import java.time.Duration;
 import java.util.List;
 
 @Data
@@ -22,6 +27,9 @@ public class VllmConfigProperties {
     @Valid
     private VllmGlobalSettings globalSettings = new VllmGlobalSettings();
     
+    @Valid
+    private VllmLoadBalancerSettings loadBalancer = new VllmLoadBalancerSettings();
+    
     @Data
     public static class VllmServerConfig {
         @NotBlank
@@ -45,6 +53,25 @@ public class VllmConfigProperties {
         
         @Valid
         private VllmPerformanceSettings performanceSettings = new VllmPerformanceSettings();
+        
+        @Valid
+        private VllmConnectionPoolSettings connectionPool = new VllmConnectionPoolSettings();
+        
+        @Valid
+        private VllmCircuitBreakerSettings circuitBreaker = new VllmCircuitBreakerSettings();
+        
+        /**
+         * 이 서버로의 최대 연결 수 - 미지정 시 vLLM 동시 시퀀스 수(max-num-seqs)
+         */
+        public int resolveMaxConnections() {
+            if (connectionPool != null && connectionPool.getMaxConnections() != null) {
+                return connectionPool.getMaxConnections();
+            }
+            if (modelSettings != null && modelSettings.getMaxNumSeqs() != null) {
+                return modelSettings.getMaxNumSeqs();
+            }
+            return new VllmModelSettings().getMaxNumSeqs();
+        }
     }
     
     @Data
@@ -62,11 +89,147 @@ public class VllmConfigProperties {
         private Boolean disableLogStats = false;
     }
     
+    @Data
+    public static class VllmConnectionPoolSettings {
+        @Min(1)
+        private Integer maxConnections; // null이면 max-num-seqs 사용
+    }
+    
+    @Data
+    public static class VllmCircuitBreakerSettings {
+        private Boolean enabled = true;
+        
+        @DecimalMin("0.0") @DecimalMax("1.0")
+        private Double failureRateThreshold = 0.5;     // 실패율이 이 이상이면 OPEN
+        
+        @DecimalMin("0.0") @DecimalMax("1.0")
+        private Double slowCallRateThreshold = 0.8;    // 느린 호출 비율이 이 이상이면 OPEN
+        
+        private Duration slowCallDuration = Duration.ofSeconds(30);
+        
+        @Min(1)
+        private Integer slidingWindowSize = 50;        // 최근 N건 기준
+        
+        @Min(1)
+        private Integer minimumNumberOfCalls = 20;     // 판단에 필요한 최소 호출 수
+        
+        private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+        
+        @Min(1)
+        private Integer permittedCallsInHalfOpenState = 3;
+    }
+    
     @Data
     public static class VllmGlobalSettings {
         private Integer seed = 42;
         private String logLevel = "INFO";
         private Boolean enableMetrics = true;
+        
+        @Valid
+        private VllmHttpClientSettings httpClient = new VllmHttpClientSettings();
+        
+        @Valid
+        private VllmHealthCheckSettings healthCheck = new VllmHealthCheckSettings();
+        
+        @Valid
+        private VllmMetricsScrapeSettings metricsScrape = new VllmMetricsScrapeSettings();
+    }
+    
+    @Data
+    public static class VllmHttpClientSettings {
+        private Duration connectTimeout = Duration.ofSeconds(10);
+        private Duration readTimeout = Duration.ofSeconds(60);
+        private Duration idleTimeout = Duration.ofSeconds(30); // 유휴 연결 정리 기준
+        private Duration timeToLive = Duration.ofMinutes(5);   // 연결 최대 수명
+    }
+    
+    @Data
+    public static class VllmHealthCheckSettings {
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private Duration timeout = Duration.ofSeconds(5); // 서버별 헬스 체크 마감 시간
+    }
+    
+    @Data
+    public static class VllmMetricsScrapeSettings {
+        private Boolean enabled = true;
+        private Duration interval = Duration.ofSeconds(5);    // /metrics 수집 주기
+        private Duration staleAfter = Duration.ofSeconds(15); // 이보다 오래된 값은 라우팅에 사용하지 않음
+    }
+    
+    @Data
+    public static class VllmLoadBalancerSettings {
+        @NotNull
+        private VllmLoadBalancer.LoadBalancingStrategy strategy = VllmLoadBalancer.LoadBalancingStrategy.HEALTH_BASED;
+        
+        @Valid
+        private VllmPrefixAffinitySettings prefixAffinity = new VllmPrefixAffinitySettings();
+        
+        @Valid
+        private VllmLatencyTrackingSettings performance = new VllmLatencyTrackingSettings();
+        
+        @Valid
+        private VllmOutlierDetectionSettings outlierDetection = new VllmOutlierDetectionSettings();
+        
+        @Valid
+        private VllmQueueAwareSettings queueAware = new VllmQueueAwareSettings();
+    }
+    
+    @Data
+    public static class VllmPrefixAffinitySettings {
+        @Min(1)
+        private Integer virtualNodes = 160;      // 서버당 링 위 가상 노드 수
+        
+        @Min(1)
+        private Integer maxPrefixMessages = 4;   // 첫 user 메시지까지, 최대 N개 메시지로 지문 생성
+        
+        @Min(1)
+        private Integer maxPrefixChars = 4096;   // 지문에 반영할 최대 글자 수
+        
+        @DecimalMin("1.0")
+        private Double loadFactor = 1.25;        // 평균 부하 대비 허용 배수 (bounded load)
+    }
+    
+    @Data
+    public static class VllmLatencyTrackingSettings {
+        @DecimalMin("0.01") @DecimalMax("1.0")
+        private Double ewmaAlpha = 0.2;          // 최근 응답 반영 비율 (클수록 빠르게 반응)
+    }
+    
+    @Data
+    public static class VllmQueueAwareSettings {
+        @DecimalMin("1.0")
+        private Double waitingWeight = 4.0;      // 대기 중 요청은 실행 중 요청보다 이 배수만큼 무겁게
+        
+        @DecimalMin("0.0") @DecimalMax("1.0")
+        private Double maxKvCacheUsage = 0.95;   // KV 캐시 사용률 상한 (점수 계산 시 분모 하한)
+    }
+    
+    @Data
+    public static class VllmOutlierDetectionSettings {
+        private Boolean enabled = true;
+        
+        @Min(1)
+        private Integer consecutiveFailures = 5;         // 연속 실패 시 즉시 제외
+        
+        @DecimalMin("0.0") @DecimalMax("1.0")
+        private Double failureRateThreshold = 0.5;       // 윈도우 내 실패율 기준
+        
+        @Min(1)
+        private Integer minimumRequests = 20;            // 실패율 판단에 필요한 최소 요청 수
+        
+        private Duration window = Duration.ofSeconds(10);
+        
+        @DecimalMin("1.0")
+        private Double latencyOutlierFactor = 3.0;       // 피어 중앙값 대비 토큰당 지연 배수
+        
+        @Min(1)
+        private Integer minLatencySamples = 20;
+        
+        private Duration baseEjectionTime = Duration.ofSeconds(30); // 제외될 때마다 두 배
+        private Duration maxEjectionTime = Duration.ofMinutes(5);
+        
+        @Min(0) @Max(100)
+        private Integer maxEjectionPercent = 50;         // 동시에 제외 가능한 서버 비율
     }
     
     // Helper methods
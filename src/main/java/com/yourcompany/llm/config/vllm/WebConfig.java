@@ -1,8 +1,20 @@
 // WebConfig.java
 package com.yourcompany.llm.config.vllm;
 
-import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
@@ -10,27 +22,122 @@ import org.springframework.web.client.RestTemplate;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    private static final int HEALTH_CHECK_MAX_CONN_PER_ROUTE = 2;
+
     /**
-     * vLLM API 호출을 위한 RestTemplate 설정
+     * vLLM 헬스 체크 등 관리용 호출을 위한 RestTemplate 설정 (keep-alive 연결 풀, 헬스 체크 타임아웃 사용)
      */
     @Bean
-    public RestTemplate restTemplate() {
-        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory();
-        factory.setConnectTimeout((int) Duration.ofSeconds(10).toMillis());
-        factory.setReadTimeout((int) Duration.ofSeconds(60).toMillis());
+    public RestTemplate restTemplate(VllmConfigProperties vllmConfig) {
+        VllmConfigProperties.VllmHttpClientSettings settings = vllmConfig.getGlobalSettings().getHttpClient();
+        VllmConfigProperties.VllmHealthCheckSettings healthCheck = vllmConfig.getGlobalSettings().getHealthCheck();
+        int serverCount = Math.max(1, vllmConfig.getEnabledServers().size());
+
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(
+                settings.getTimeToLive().toMillis(), TimeUnit.MILLISECONDS);
+        connectionManager.setDefaultMaxPerRoute(HEALTH_CHECK_MAX_CONN_PER_ROUTE);
+        connectionManager.setMaxTotal(serverCount * HEALTH_CHECK_MAX_CONN_PER_ROUTE);
+
+        CloseableHttpClient httpClient = HttpClients.custom().setConnectionManager(connectionManager)
+                .evictExpiredConnections()
+                .evictIdleConnections(settings.getIdleTimeout().toMillis(), TimeUnit.MILLISECONDS).build();
+
+        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        factory.setConnectTimeout((int) healthCheck.getConnectTimeout().toMillis());
+        factory.setConnectionRequestTimeout((int) healthCheck.getTimeout().toMillis());
+        factory.setReadTimeout((int) healthCheck.getTimeout().toMillis());
 
         RestTemplate restTemplate = new RestTemplate(factory);
 
-        log.info("✅ RestTemplate configured - Connect timeout: 10s, Read timeout: 60s");
+        log.info("✅ RestTemplate configured - Connect timeout: {}, Read timeout: {}, Pool: {}",
+                healthCheck.getConnectTimeout(), healthCheck.getTimeout(), connectionManager.getMaxTotal());
 
         return restTemplate;
     }
 
+    /**
+     * vLLM 서버별 keep-alive 연결 풀 - 서버당 최대 연결 수는 max-num-seqs 기준
+     */
+    @Bean
+    public PoolingAsyncClientConnectionManager vllmConnectionManager(VllmConfigProperties vllmConfig) {
+        VllmConfigProperties.VllmHttpClientSettings settings = vllmConfig.getGlobalSettings().getHttpClient();
+
+        PoolingAsyncClientConnectionManager connectionManager = PoolingAsyncClientConnectionManagerBuilder.create()
+                .setConnectionTimeToLive(TimeValue.ofMilliseconds(settings.getTimeToLive().toMillis())).build();
+
+        int maxTotal = 0;
+        for (VllmConfigProperties.VllmServerConfig server : vllmConfig.getEnabledServers()) {
+            int maxConnections = server.resolveMaxConnections();
+            connectionManager.setMaxPerRoute(vllmRoute(server), maxConnections);
+            maxTotal += maxConnections;
+
+            log.info("✅ vLLM connection pool for {} - Max connections: {}", server.getName(), maxConnections);
+        }
+        connectionManager.setMaxTotal(Math.max(maxTotal, 1));
+
+        return connectionManager;
+    }
+
+    /**
+     * vLLM API 호출을 위한 논블로킹 HTTP 클라이언트 (요청당 스레드를 점유하지 않음)
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpAsyncClient vllmHttpClient(VllmConfigProperties vllmConfig,
+            PoolingAsyncClientConnectionManager vllmConnectionManager) {
+        VllmConfigProperties.VllmHttpClientSettings settings = vllmConfig.getGlobalSettings().getHttpClient();
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(settings.getConnectTimeout().toMillis()))
+                .setResponseTimeout(Timeout.ofMilliseconds(settings.getReadTimeout().toMillis())).build();
+
+        CloseableHttpAsyncClient httpClient = HttpAsyncClients.custom().setConnectionManager(vllmConnectionManager)
+                .setDefaultRequestConfig(requestConfig).evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(settings.getIdleTimeout().toMillis())).build();
+        httpClient.start();
+
+        log.info("✅ vLLM async HttpClient configured - Connect timeout: {}, Response timeout: {}, Idle eviction: {}, TTL: {}",
+                settings.getConnectTimeout(), settings.getReadTimeout(), settings.getIdleTimeout(),
+                settings.getTimeToLive());
+
+        return httpClient;
+    }
+
+    /**
+     * 서버별 연결 풀 점유율 메트릭 (vllm.http.pool.*)
+     */
+    @Bean
+    public MeterBinder vllmConnectionPoolMetrics(VllmConfigProperties vllmConfig,
+            PoolingAsyncClientConnectionManager vllmConnectionManager) {
+        return registry -> vllmConfig.getEnabledServers().forEach(server -> {
+            HttpRoute route = vllmRoute(server);
+            String serverName = server.getName();
+
+            Gauge.builder("vllm.http.pool.leased", vllmConnectionManager,
+                    manager -> manager.getStats(route).getLeased()).tag("server", serverName)
+                    .description("Connections currently in use").register(registry);
+            Gauge.builder("vllm.http.pool.available", vllmConnectionManager,
+                    manager -> manager.getStats(route).getAvailable()).tag("server", serverName)
+                    .description("Idle keep-alive connections").register(registry);
+            Gauge.builder("vllm.http.pool.pending", vllmConnectionManager,
+                    manager -> manager.getStats(route).getPending()).tag("server", serverName)
+                    .description("Requests waiting for a connection").register(registry);
+            Gauge.builder("vllm.http.pool.max", vllmConnectionManager,
+                    manager -> manager.getStats(route).getMax()).tag("server", serverName)
+                    .description("Maximum connections for the server").register(registry);
+        });
+    }
+
+    private static HttpRoute vllmRoute(VllmConfigProperties.VllmServerConfig server) {
+        return new HttpRoute(new HttpHost("http", server.getHost(), server.getPort()));
+    }
+
     /**
      * CORS 설정
      */
@@ -42,4 +149,4 @@ public class WebConfig implements WebMvcConfigurer {
 
         log.info("✅ CORS configuration applied for /api/** endpoints");
     }
-}
\ No newline at end of file
+}
@@ -5,16 +5,20 @@ import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.yourcompany.llm.dto.LlmRequest;
 import com.yourcompany.llm.dto.LlmResponse;
@@ -27,44 +31,61 @@ import lombok.extern.slf4j.Slf4j;
 public class LlmController {
 
     private final LlmService llmService;
+    private final LlmRequestGate gate;
 
     /**
      * Llama 3.1 텍스트 생성 API
      */
     @PostMapping("/generate")
-    public CompletableFuture<ResponseEntity<LlmResponse>> generateText(@Valid @RequestBody LlmRequest request) {
+    public CompletableFuture<ResponseEntity<LlmResponse>> generateText(@Valid @RequestBody LlmRequest request,
+            @RequestHeader(value = LlmRequestGate.PRIORITY_HEADER, required = false) String priority,
+            HttpServletRequest httpRequest) {
         log.info("Text generation request received - Message length: {}",
                 request.getMessage() != null ? request.getMessage().length() : 0);
 
-        return llmService.generateText(request).thenApply(response -> {
-            if (response.isSuccess()) {
-                log.debug("Text generation completed successfully - Tokens: {}", response.getTokensUsed());
-            } else {
-                log.warn("Text generation failed - Error: {}", response.getError());
-            }
-            return ResponseEntity.ok(response);
-        }).exceptionally(throwable -> {
-            log.error("Error in text generation", throwable);
-            LlmResponse errorResponse = LlmResponse.error("llama3.2",
-                    "Internal server error: " + throwable.getMessage());
-            return ResponseEntity.status(500).body(errorResponse);
-        });
+        return gate.execute(request, priority, httpRequest, "Internal server error",
+                () -> llmService.generateText(request)).thenApply(entity -> {
+                    LlmResponse response = entity.getBody();
+                    if (response != null && response.isSuccess()) {
+                        log.debug("Text generation completed successfully - Tokens: {}", response.getTokensUsed());
+                    } else if (response != null) {
+                        log.warn("Text generation failed - Error: {}", response.getError());
+                    }
+                    return entity;
+                });
     }
 
     /**
      * 채팅 완성 API
      */
     @PostMapping("/chat/completions")
-    public CompletableFuture<ResponseEntity<LlmResponse>> chatCompletion(@Valid @RequestBody LlmRequest request) {
+    public CompletableFuture<ResponseEntity<LlmResponse>> chatCompletion(@Valid @RequestBody LlmRequest request,
+            @RequestHeader(value = LlmRequestGate.PRIORITY_HEADER, required = false) String priority,
+            HttpServletRequest httpRequest) {
         log.info("Chat completion request received - Messages: {}",
                 request.getMessages() != null ? request.getMessages().size() : 0);
 
-        return llmService.chatCompletion(request).thenApply(ResponseEntity::ok).exceptionally(throwable -> {
-            log.error("Error in chat completion", throwable);
-            LlmResponse errorResponse = LlmResponse.error("llama3.2",
-                    "Chat completion failed: " + throwable.getMessage());
-            return ResponseEntity.status(500).body(errorResponse);
-        });
+        if (Boolean.TRUE.equals(request.getStream())) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(LlmResponse.error("llama3.2", "Streaming requires 'Accept: text/event-stream'")));
+        }
+
+        return gate.execute(request, priority, httpRequest, "Chat completion failed",
+                () -> llmService.chatCompletion(request));
+    }
+
+    /**
+     * 채팅 완성 스트리밍 API (text/event-stream) - 즉시 거절되면 SSE를 열지 않고 429/503 반환
+     */
+    @PostMapping(value = "/chat/completions", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChatCompletion(@Valid @RequestBody LlmRequest request,
+            @RequestHeader(value = LlmRequestGate.PRIORITY_HEADER, required = false) String priority,
+            HttpServletRequest httpRequest) {
+        log.info("Streaming chat completion request received - Messages: {}",
+                request.getMessages() != null ? request.getMessages().size() : 0);
+
+        return gate.stream(request, priority, httpRequest,
+                chunkConsumer -> llmService.streamChatCompletion(request, chunkConsumer));
     }
 
     /**
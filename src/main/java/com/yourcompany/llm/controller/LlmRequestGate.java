@@ -0,0 +1,194 @@
+// LlmRequestGate.java
+package com.yourcompany.llm.controller;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.yourcompany.llm.dto.LlmRequest;
+import com.yourcompany.llm.dto.LlmResponse;
+import com.yourcompany.llm.dto.RequestPriority;
+import com.yourcompany.llm.service.admission.AdmissionController;
+import com.yourcompany.llm.service.admission.AdmissionRejectedException;
+import com.yourcompany.llm.service.ratelimit.TokenRateLimiter;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 추론 엔드포인트 공통 관문 - 클라이언트별 토큰 예산 예약 → 수용 제어(동시성 한도 + 공정 대기열) → 호출 → 실제 사용량 정산.
+ * /api/llm과 /api/vllm의 채팅 엔드포인트가 같은 한도를 공유하도록 두 컨트롤러 모두 이 경로로만 백엔드를 호출한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+class LlmRequestGate {
+
+    /** 우선순위 클래스 헤더 (interactive | standard | batch) - 본문의 priority 필드보다 우선 */
+    static final String PRIORITY_HEADER = "X-Priority";
+
+    private final AdmissionController admissionController;
+    private final TokenRateLimiter rateLimiter;
+
+    /**
+     * 일반 호출 - 한도 초과는 429, 수용 거절은 429/503 + Retry-After, 그 외 예외는 500 (failurePrefix + 메시지)
+     */
+    CompletableFuture<ResponseEntity<LlmResponse>> execute(LlmRequest request, String priority,
+            HttpServletRequest httpRequest, String failurePrefix, Supplier<CompletableFuture<LlmResponse>> call) {
+        applyPriorityHeader(request, priority);
+
+        TokenRateLimiter.Reservation reservation = rateLimiter.reserve(clientKey(request, httpRequest), request);
+        if (!reservation.isGranted()) {
+            return CompletableFuture.completedFuture(rateLimitExceeded(reservation)
+                    .body(LlmResponse.error("llama3.2", "Token rate limit exceeded")));
+        }
+
+        return admissionController.execute(request, call)
+                .thenApply(ResponseEntity::ok)
+                .exceptionally(throwable -> {
+                    if (unwrap(throwable) instanceof AdmissionRejectedException rejected) {
+                        return rejectedResponse(rejected);
+                    }
+                    log.error("{} - unexpected error", failurePrefix, throwable);
+                    return ResponseEntity.status(500)
+                            .body(LlmResponse.error("llama3.2", failurePrefix + ": " + throwable.getMessage()));
+                })
+                .thenApply(entity -> {
+                    rateLimiter.settle(reservation, entity.getBody());
+                    return ResponseEntity.status(entity.getStatusCode()).headers(entity.getHeaders())
+                            .headers(rateLimitHeaders(reservation)).body(entity.getBody());
+                });
+    }
+
+    /**
+     * 스트리밍 호출 - 즉시 거절되면 SSE를 열지 않고 429/503 반환.
+     * 대기열에서 마감 시간이 지나면 error 이벤트로 전달하고, 종료 시 실제 사용량으로 정산한다.
+     */
+    ResponseEntity<SseEmitter> stream(LlmRequest request, String priority, HttpServletRequest httpRequest,
+            Function<Consumer<String>, CompletableFuture<LlmResponse>> streamCall) {
+        request.setStream(true);
+        applyPriorityHeader(request, priority);
+
+        TokenRateLimiter.Reservation reservation = rateLimiter.reserve(clientKey(request, httpRequest), request);
+        if (!reservation.isGranted()) {
+            return rateLimitExceeded(reservation).build();
+        }
+
+        CompletableFuture<AdmissionController.Admission> admission = admissionController.admit(request);
+        if (admission.state() == Future.State.FAILED
+                && admission.exceptionNow() instanceof AdmissionRejectedException rejected) {
+            rateLimiter.settle(reservation, null);
+            return ResponseEntity.status(rejected.getHttpStatus())
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(rejected.getRetryAfterSeconds()))
+                    .headers(rateLimitHeaders(reservation)).build();
+        }
+
+        SseEmitter emitter = SseStreamSupport.relay(chunkConsumer -> {
+            CompletableFuture<LlmResponse> relayed = admitted(admission, () -> streamCall.apply(chunkConsumer));
+            relayed.whenComplete((response, throwable) -> rateLimiter.settle(reservation, response));
+            return relayed;
+        });
+        return ResponseEntity.ok().headers(rateLimitHeaders(reservation)).body(emitter);
+    }
+
+    /**
+     * 슬롯을 받으면 call을 실행하고 끝나면 슬롯 반납. 반환한 future를 취소하면 대기 중인 수용과 진행 중인 call
+     * (lease → HTTP 교환)까지 취소가 전달된다 - thenCompose 파생 단계는 취소를 위로 전달하지 않으므로 직접 연결한다.
+     */
+    private static CompletableFuture<LlmResponse> admitted(CompletableFuture<AdmissionController.Admission> admission,
+            Supplier<CompletableFuture<LlmResponse>> call) {
+        CompletableFuture<LlmResponse> relayed = new CompletableFuture<>();
+        admission.whenComplete((slot, admissionError) -> {
+            if (admissionError != null) {
+                relayed.completeExceptionally(admissionError);
+                return;
+            }
+            if (relayed.isDone()) {
+                slot.close(); // 대기 중 취소됨
+                return;
+            }
+            CompletableFuture<LlmResponse> upstream;
+            try {
+                upstream = call.get();
+            } catch (RuntimeException e) {
+                slot.close();
+                relayed.completeExceptionally(e);
+                return;
+            }
+            upstream.whenComplete((response, throwable) -> {
+                slot.close();
+                if (throwable != null) {
+                    relayed.completeExceptionally(throwable);
+                } else {
+                    relayed.complete(response);
+                }
+            });
+            relayed.whenComplete((response, throwable) -> {
+                if (relayed.isCancelled()) {
+                    upstream.cancel(true);
+                }
+            });
+        });
+        relayed.whenComplete((response, throwable) -> {
+            if (relayed.isCancelled()) {
+                admission.cancel(true);
+            }
+        });
+        return relayed;
+    }
+
+    private String clientKey(LlmRequest request, HttpServletRequest httpRequest) {
+        return rateLimiter.clientKey(httpRequest.getHeader(rateLimiter.getApiKeyHeader()), request.getUser(),
+                httpRequest.getRemoteAddr());
+    }
+
+    private ResponseEntity.BodyBuilder rateLimitExceeded(TokenRateLimiter.Reservation reservation) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(429).headers(rateLimitHeaders(reservation));
+        if (reservation.getRetryAfterSeconds() > 0) {
+            builder.header(HttpHeaders.RETRY_AFTER, String.valueOf(reservation.getRetryAfterSeconds()));
+        }
+        return builder;
+    }
+
+    /**
+     * 남은 토큰 예산 헤더 (OpenAI 호환 이름)
+     */
+    private HttpHeaders rateLimitHeaders(TokenRateLimiter.Reservation reservation) {
+        HttpHeaders headers = new HttpHeaders();
+        if (reservation.isLimited()) {
+            headers.set("X-RateLimit-Limit-Tokens", String.valueOf(rateLimiter.getLimitTokens()));
+            headers.set("X-RateLimit-Remaining-Tokens", String.valueOf(reservation.getRemainingTokens()));
+            headers.set("X-RateLimit-Reset-Tokens", reservation.getResetSeconds() + "s");
+        }
+        return headers;
+    }
+
+    private static void applyPriorityHeader(LlmRequest request, String priority) {
+        if (priority == null) {
+            return;
+        }
+        RequestPriority.parse(priority).ifPresentOrElse(request::setPriority,
+                () -> log.debug("Ignoring unknown {} header: {}", PRIORITY_HEADER, priority));
+    }
+
+    private static ResponseEntity<LlmResponse> rejectedResponse(AdmissionRejectedException rejected) {
+        return ResponseEntity.status(rejected.getHttpStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(rejected.getRetryAfterSeconds()))
+                .body(LlmResponse.error("llama3.2", rejected.getMessage()));
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause()
+                : throwable;
+    }
+}
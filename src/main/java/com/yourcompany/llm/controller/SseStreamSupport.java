@@ -0,0 +1,82 @@
+// SseStreamSupport.java
+package com.yourcompany.llm.controller;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.yourcompany.llm.dto.LlmResponse;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * vLLM SSE 청크를 클라이언트 SseEmitter로 그대로 중계하는 헬퍼
+ */
+@Slf4j
+final class SseStreamSupport {
+
+    /** 스트리밍 응답 최대 유지 시간 (서블릿 기본 async 타임아웃 대체) */
+    static final long STREAM_TIMEOUT_MS = Duration.ofMinutes(5).toMillis();
+
+    private SseStreamSupport() {
+    }
+
+    /**
+     * 스트리밍 호출을 시작하고 청크가 도착하는 즉시 emitter로 전송한다. 종료 시 OpenAI 호환 "[DONE]" 이벤트를 보낸다.
+     * 타임아웃이나 클라이언트 연결 종료 시 streamCall이 반환한 future를 취소해 업스트림 생성을 멈추고
+     * lease, 수용 슬롯, 커넥션을 다음 청크를 기다리지 않고 바로 반납한다.
+     */
+    static SseEmitter relay(Function<Consumer<String>, CompletableFuture<LlmResponse>> streamCall) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+
+        CompletableFuture<LlmResponse> call = streamCall.apply(chunk -> send(emitter, chunk));
+        emitter.onTimeout(() -> {
+            log.debug("SSE stream timed out after {}ms - cancelling upstream generation", STREAM_TIMEOUT_MS);
+            call.cancel(true);
+            emitter.complete();
+        });
+        emitter.onError(throwable -> call.cancel(true));
+        emitter.onCompletion(() -> call.cancel(true)); // 정상 종료 후에는 이미 완료된 future라 무시됨
+
+        call.whenComplete((response, throwable) -> {
+            if (call.isCancelled()) {
+                return; // 클라이언트 쪽에서 먼저 끝남 - 보낼 곳이 없다
+            }
+            try {
+                if (throwable != null) {
+                    log.error("Error in streaming chat completion", throwable);
+                    emitter.send(SseEmitter.event().name("error")
+                            .data(Map.of("error", "Streaming failed: " + throwable.getMessage())));
+                } else if (!response.isSuccess()) {
+                    log.warn("Streaming chat completion failed - Error: {}", response.getError());
+                    emitter.send(SseEmitter.event().name("error").data(Map.of("error", response.getError())));
+                } else {
+                    log.debug("Streaming chat completion finished - Tokens: {}, Time: {}ms", response.getTokensUsed(),
+                            response.getResponseTimeMs());
+                    emitter.send(SseEmitter.event().data("[DONE]"));
+                }
+                emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                log.debug("SSE client disconnected before completion: {}", e.getMessage());
+                emitter.completeWithError(e);
+            }
+        });
+
+        return emitter;
+    }
+
+    private static void send(SseEmitter emitter, String chunk) {
+        try {
+            emitter.send(SseEmitter.event().data(chunk));
+        } catch (IOException e) {
+            // 클라이언트 연결 종료 - 예외를 전파해 업스트림 읽기를 중단
+            throw new UncheckedIOException("SSE client disconnected", e);
+        }
+    }
+}
@@ -5,14 +5,18 @@ import com.yourcompany.llm.service.vllm.*;
 import com.yourcompany.llm.dto.LlmRequest;
 import com.yourcompany.llm.dto.LlmResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
+import javax.servlet.http.HttpServletRequest;
+
 @RestController
 @RequestMapping("/api/vllm")
 @RequiredArgsConstructor
@@ -24,6 +28,7 @@ public class VllmController {
     private final VllmApiClient apiClient;
     private final VllmLoadBalancer loadBalancer;
     private final VllmMonitoringService monitoringService;
+    private final LlmRequestGate gate;
     
     // ===== 프로세스 관리 =====
     
@@ -91,7 +96,7 @@ public class VllmController {
     public ResponseEntity<Map<String, Object>> selectServer(
             @RequestParam(defaultValue = "HEALTH_BASED") VllmLoadBalancer.LoadBalancingStrategy strategy) {
         
-        var selectedServer = loadBalancer.selectServer("llama3.2", strategy);
+        var selectedServer = loadBalancer.selectServer("llama3.2", strategy, null);
         
         Map<String, Object> response = Map.of(
             "model", "llama3.2",
@@ -127,21 +132,33 @@ public class VllmController {
     // ===== 통합 API =====
     
     @PostMapping("/chat/completions")
-    public CompletableFuture<ResponseEntity<LlmResponse>> smartChatCompletion(@RequestBody LlmRequest request) {
-        // 최적의 Llama 3.2 서버 자동 선택
-        return loadBalancer.selectServer("llama3.2", VllmLoadBalancer.LoadBalancingStrategy.PERFORMANCE_BASED)
-            .map(serverName -> 
-                apiClient.chatCompletion(serverName, request)
-                    .whenComplete((response, throwable) -> {
-                        if (throwable == null) {
-                            loadBalancer.completeRequest(serverName);
-                        }
-                    })
-            )
-            .orElse(CompletableFuture.completedFuture(
-                LlmResponse.error("llama3.2", "No available Llama 3.2 servers")
-            ))
-            .thenApply(ResponseEntity::ok);
+    public CompletableFuture<ResponseEntity<LlmResponse>> smartChatCompletion(@RequestBody LlmRequest request,
+            @RequestHeader(value = LlmRequestGate.PRIORITY_HEADER, required = false) String priority,
+            HttpServletRequest httpRequest) {
+        if (Boolean.TRUE.equals(request.getStream())) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                .body(LlmResponse.error("llama3.2", "Streaming requires 'Accept: text/event-stream'")));
+        }
+        
+        // 최적의 Llama 3.2 서버 자동 선택 - /api/llm과 같은 토큰 예산과 수용 제어를 거친다
+        return gate.execute(request, priority, httpRequest, "Chat completion failed", () ->
+            loadBalancer.acquireServer("llama3.2", VllmLoadBalancer.LoadBalancingStrategy.PERFORMANCE_BASED, request)
+                .map(lease -> lease.run(serverName -> apiClient.chatCompletion(serverName, request)))
+                .orElse(CompletableFuture.completedFuture(
+                    LlmResponse.error("llama3.2", "No available Llama 3.2 servers")
+                )));
+    }
+    
+    @PostMapping(value = "/chat/completions", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> smartStreamChatCompletion(@RequestBody LlmRequest request,
+            @RequestHeader(value = LlmRequestGate.PRIORITY_HEADER, required = false) String priority,
+            HttpServletRequest httpRequest) {
+        return gate.stream(request, priority, httpRequest, chunkConsumer ->
+            loadBalancer.acquireServer("llama3.2", VllmLoadBalancer.LoadBalancingStrategy.PERFORMANCE_BASED, request)
+                .map(lease -> lease.run(serverName -> apiClient.streamChatCompletion(serverName, request, chunkConsumer)))
+                .orElse(CompletableFuture.completedFuture(
+                    LlmResponse.error("llama3.2", "No available Llama 3.2 servers")
+                )));
     }
     
     @GetMapping("/status")
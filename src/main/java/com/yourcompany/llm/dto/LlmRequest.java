@@ -17,6 +17,7 @@ import java.util.List;
 @AllArgsConstructor
 public class LlmRequest {
     
+    @Builder.Default
     private String model = "llama3.2";
     
     private String message;
@@ -27,14 +28,21 @@ public class LlmRequest {
     
     @DecimalMin(value = "0.0", message = "Temperature must be at least 0.0")
     @DecimalMax(value = "2.0", message = "Temperature cannot exceed 2.0")
+    @Builder.Default
     private Double temperature = 0.7;
     
     @Min(value = 1, message = "Max tokens must be at least 1")
+    @Builder.Default
     private Integer maxTokens = 1000;
     
     private String requestId;
     private String user;
     
+    @Builder.Default
+    private Boolean stream = false;
+    
+    private RequestPriority priority; // null이면 STANDARD (X-Priority 헤더로도 지정 가능)
+    
     @Data
     @Builder
     @NoArgsConstructor
@@ -54,6 +62,12 @@ public class LlmRequest {
             .maxTokens(this.maxTokens)
             .requestId(this.requestId)
             .user(this.user)
+            .stream(this.stream)
+            .priority(this.priority)
             .build();
     }
+    
+    public RequestPriority resolvePriority() {
+        return priority != null ? priority : RequestPriority.STANDARD;
+    }
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 // LlmResponse.java
 package com.yourcompany.llm.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import lombok.Data;
 import lombok.Builder;
 import lombok.NoArgsConstructor;
@@ -31,6 +33,12 @@ public class LlmResponse {
     private Usage usage;
     private Map<String, Object> metadata;
     
+    // 실패 분류용 내부 정보 (재시도 판단) - 클라이언트에 노출하지 않음
+    @JsonIgnore
+    private Integer upstreamStatus;
+    @JsonIgnore
+    private Throwable failureCause;
+    
     @Data
     @Builder
     @NoArgsConstructor
@@ -71,6 +79,34 @@ public class LlmResponse {
         return this;
     }
     
+    public LlmResponse withFailure(Integer upstreamStatus, Throwable failureCause) {
+        this.upstreamStatus = upstreamStatus;
+        this.failureCause = failureCause;
+        return this;
+    }
+    
+    public LlmResponse copy() {
+        return LlmResponse.builder()
+            .id(this.id)
+            .model(this.model)
+            .content(this.content)
+            .tokensUsed(this.tokensUsed)
+            .provider(this.provider)
+            .success(this.success)
+            .error(this.error)
+            .finishReason(this.finishReason)
+            .responseTimeMs(this.responseTimeMs)
+            .timestamp(this.timestamp)
+            .requestId(this.requestId)
+            .cached(this.cached)
+            .streaming(this.streaming)
+            .usage(this.usage)
+            .metadata(this.metadata != null ? new java.util.HashMap<>(this.metadata) : null)
+            .upstreamStatus(this.upstreamStatus)
+            .failureCause(this.failureCause)
+            .build();
+    }
+    
     public boolean isCached() {
         return cached;
     }
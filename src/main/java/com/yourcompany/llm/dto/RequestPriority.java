@@ -0,0 +1,35 @@
+// RequestPriority.java
+package com.yourcompany.llm.dto;
+
+import java.util.Locale;
+import java.util.Optional;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+/**
+ * 요청 우선순위 클래스 - 수용 대기열에서 클래스별 가중치만큼 번갈아 배정된다
+ */
+public enum RequestPriority {
+    INTERACTIVE, // 사용자가 응답을 기다리는 대화형 요청
+    STANDARD,    // 기본값
+    BATCH;       // 지연에 둔감한 대량 작업
+
+    /**
+     * 대소문자 구분 없이 파싱 (요청 필드, X-Priority 헤더 공용), 알 수 없는 값이면 empty
+     */
+    public static Optional<RequestPriority> parse(String value) {
+        if (value == null || value.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(valueOf(value.trim().toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    @JsonCreator
+    static RequestPriority fromJson(String value) {
+        return parse(value).orElseThrow(() -> new IllegalArgumentException("Unknown priority: " + value));
+    }
+}
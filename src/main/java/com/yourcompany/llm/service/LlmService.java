@@ -5,6 +5,7 @@ import com.yourcompany.llm.dto.LlmRequest;
 import com.yourcompany.llm.dto.LlmResponse;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * Simplified LLM Service Interface for vLLM + Llama 3.2
@@ -21,6 +22,11 @@ public interface LlmService {
      */
     CompletableFuture<LlmResponse> chatCompletion(LlmRequest request);
     
+    /**
+     * Llama 3.2 스트리밍 채팅 완성 - vLLM SSE 청크(JSON)를 수신 즉시 chunkConsumer로 전달
+     */
+    CompletableFuture<LlmResponse> streamChatCompletion(LlmRequest request, Consumer<String> chunkConsumer);
+    
     /**
      * vLLM 헬스 체크
      */
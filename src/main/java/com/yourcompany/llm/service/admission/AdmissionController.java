@@ -0,0 +1,340 @@
+// AdmissionController.java
+package com.yourcompany.llm.service.admission;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+import com.yourcompany.llm.config.vllm.LlmConfigProperties;
+import com.yourcompany.llm.config.vllm.VllmConfigProperties;
+import com.yourcompany.llm.dto.LlmRequest;
+import com.yourcompany.llm.dto.RequestPriority;
+import com.yourcompany.llm.service.tokenizer.TokenCounter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * LlmService 앞단의 수용 제어.
+ * 동시 처리 한도는 활성 서버들의 max-num-seqs 합이며, 한도를 넘는 요청은 제한된 깊이의 대기열에서
+ * 요청별 마감 시간까지 기다리고, 그 외에는 즉시 429/503으로 거절해 Tomcat 스레드가 묶이지 않도록 한다.
+ * 대기열은 우선순위 클래스별 가중 배정 + 사용자별 DRR로 공정하게 비워진다 (FairRequestQueue).
+ */
+@Slf4j
+@Component
+public class AdmissionController {
+
+    private static final long NO_SAMPLE = Double.doubleToRawLongBits(Double.NaN);
+    private static final double SERVICE_TIME_ALPHA = 0.1;
+
+    private final VllmConfigProperties vllmConfig;
+    private final LlmConfigProperties.AdmissionSettings settings;
+    private final ThreadPoolTaskScheduler vllmTaskScheduler;
+    private final TokenCounter tokenCounter;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final FairRequestQueue<Waiter> waiters;
+    private final Queue<Waiter> expired = new ConcurrentLinkedQueue<>(); // drain이 대기열에서 제거할 마감 항목
+    private final AtomicInteger drainWip = new AtomicInteger();
+    private final AtomicLong serviceTimeMsBits = new AtomicLong(NO_SAMPLE);
+
+    private volatile CapacitySnapshot capacity;
+
+    private final Map<RequestPriority, Timer> queueWait = new EnumMap<>(RequestPriority.class);
+    private final Counter rejectedQueueFull;
+    private final Counter rejectedDeadline;
+    private final Counter rejectedNoCapacity;
+
+    public AdmissionController(VllmConfigProperties vllmConfig, LlmConfigProperties llmConfig,
+                               ThreadPoolTaskScheduler vllmTaskScheduler, TokenCounter tokenCounter,
+                               MeterRegistry meterRegistry) {
+        this.vllmConfig = vllmConfig;
+        this.settings = llmConfig.getAdmission();
+        this.vllmTaskScheduler = vllmTaskScheduler;
+        this.tokenCounter = tokenCounter;
+
+        LlmConfigProperties.SchedulingSettings scheduling = llmConfig.getScheduling();
+        this.waiters = new FairRequestQueue<>(new int[] {
+            scheduling.getInteractiveWeight(), scheduling.getStandardWeight(), scheduling.getBatchWeight() },
+            scheduling.getQuantumTokens());
+
+        for (RequestPriority priority : RequestPriority.values()) {
+            String tag = priority.name().toLowerCase(Locale.ROOT);
+            queueWait.put(priority, Timer.builder("llm.admission.queue.wait").tag("priority", tag)
+                .description("Time requests spent queued before admission")
+                .register(meterRegistry));
+            Gauge.builder("llm.admission.queue.pending", waiters, queue -> queue.pending(priority))
+                .tag("priority", tag)
+                .description("Requests waiting in the fair queue per priority class")
+                .register(meterRegistry);
+        }
+        this.rejectedQueueFull = rejectionCounter(meterRegistry, "queue_full");
+        this.rejectedDeadline = rejectionCounter(meterRegistry, "deadline");
+        this.rejectedNoCapacity = rejectionCounter(meterRegistry, "no_capacity");
+
+        Gauge.builder("llm.admission.queue.depth", queued, AtomicInteger::get)
+            .description("Requests waiting for admission")
+            .register(meterRegistry);
+        Gauge.builder("llm.admission.inflight", inFlight, AtomicInteger::get)
+            .description("Admitted requests currently being processed")
+            .register(meterRegistry);
+        Gauge.builder("llm.admission.capacity", this, AdmissionController::capacity)
+            .description("Concurrent request capacity of the vLLM fleet")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 수용되면 call을 실행하고 완료 시 슬롯을 반납. 거절되면 AdmissionRejectedException으로 실패한 future 반환
+     */
+    public <T> CompletableFuture<T> execute(LlmRequest request, Supplier<CompletableFuture<T>> call) {
+        return admit(request).thenCompose(admission -> {
+            CompletableFuture<T> future;
+            try {
+                future = call.get();
+            } catch (RuntimeException e) {
+                admission.close();
+                throw e;
+            }
+            return future.whenComplete((result, throwable) -> admission.close());
+        });
+    }
+
+    /**
+     * 슬롯 확보 - 여유가 있으면 즉시, 없으면 대기열에서 마감 시간까지 대기
+     */
+    public CompletableFuture<Admission> admit(LlmRequest request) {
+        if (!Boolean.TRUE.equals(settings.getEnabled())) {
+            return CompletableFuture.completedFuture(new Admission(this, System.nanoTime(), false));
+        }
+
+        int limit = capacity();
+        if (limit == 0) {
+            rejectedNoCapacity.increment();
+            return CompletableFuture.failedFuture(
+                new AdmissionRejectedException("No vLLM capacity available", 503, retryAfterSeconds()));
+        }
+        if (tryAcquire(limit)) {
+            return CompletableFuture.completedFuture(new Admission(this, System.nanoTime(), true));
+        }
+
+        if (queued.incrementAndGet() > settings.getMaxQueueDepth()) {
+            queued.decrementAndGet();
+            rejectedQueueFull.increment();
+            return CompletableFuture.failedFuture(
+                new AdmissionRejectedException("Too many requests - admission queue full", 429, retryAfterSeconds()));
+        }
+
+        RequestPriority priority = request != null ? request.resolvePriority() : RequestPriority.STANDARD;
+        Waiter waiter = new Waiter(request != null ? request.getRequestId() : null, priority,
+            request != null ? request.getUser() : null);
+        waiter.entry = waiters.offer(priority, waiter.flowKey, cost(request), waiter);
+        scheduleDeadline(waiter);
+        drain(); // 대기열에 넣는 사이 반납된 슬롯이 있으면 바로 수용
+        return waiter.future;
+    }
+
+    /**
+     * 현재 처리 한도 - 활성 서버의 max-num-seqs 합 x capacity-factor (서버 목록이 바뀔 때만 재계산)
+     */
+    public int capacity() {
+        List<VllmConfigProperties.VllmServerConfig> configured = vllmConfig.getServers();
+        CapacitySnapshot current = capacity;
+        if (current != null && current.configured() == configured) {
+            return current.limit();
+        }
+
+        int seqs = vllmConfig.getEnabledServers().stream()
+            .mapToInt(server -> server.getModelSettings() != null && server.getModelSettings().getMaxNumSeqs() != null
+                ? server.getModelSettings().getMaxNumSeqs()
+                : new VllmConfigProperties.VllmModelSettings().getMaxNumSeqs())
+            .sum();
+        int limit = (int) Math.floor(seqs * settings.getCapacityFactor());
+        capacity = new CapacitySnapshot(configured, limit);
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getQueueDepth() {
+        return queued.get();
+    }
+
+    void release(Admission admission) {
+        if (admission.counted) {
+            recordServiceTime(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - admission.admittedAtNanos));
+            inFlight.decrementAndGet();
+            drain();
+        }
+    }
+
+    private boolean tryAcquire(int limit) {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * 남는 슬롯을 대기열 요청에 배정 - 슬롯 반납과 대기열 추가 양쪽에서 호출해 깨움 누락 방지.
+     * 동시에 호출되면 한 스레드만 대기열을 비우고 나머지는 작업 요청만 남긴다 (락 없는 단일 소비자).
+     * 마감 시간이 지난 항목도 여기서 제거해, 슬롯이 나지 않는 동안에도 대기열과 pending 게이지가 늘어나지 않게 한다.
+     */
+    private void drain() {
+        if (drainWip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            Waiter expiredWaiter;
+            while ((expiredWaiter = expired.poll()) != null) {
+                waiters.remove(expiredWaiter.entry);
+            }
+            while (queued.get() > 0 && tryAcquire(capacity())) {
+                Waiter waiter = waiters.poll(Waiter::isLive);
+                if (waiter == null || !waiter.claim()) {
+                    inFlight.decrementAndGet(); // 비었거나 방금 마감 시간이 지남
+                    if (waiter == null) {
+                        break;
+                    }
+                    continue;
+                }
+                queued.decrementAndGet();
+                queueWait.get(waiter.priority).record(System.nanoTime() - waiter.enqueuedAtNanos, TimeUnit.NANOSECONDS);
+                if (!waiter.future.complete(new Admission(this, System.nanoTime(), true))) {
+                    inFlight.decrementAndGet(); // 대기 중 호출자가 취소함
+                }
+            }
+            missed = drainWip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /** DRR 비용 - 프롬프트 토큰 + maxTokens */
+    private long cost(LlmRequest request) {
+        return request != null ? tokenCounter.countRequestTokens(request) : 1;
+    }
+
+    private void scheduleDeadline(Waiter waiter) {
+        Runnable expire = () -> {
+            if (waiter.claim()) {
+                queued.decrementAndGet();
+                expired.add(waiter);
+                drain(); // 대기열 항목 제거
+                rejectedDeadline.increment();
+                queueWait.get(waiter.priority).record(System.nanoTime() - waiter.enqueuedAtNanos, TimeUnit.NANOSECONDS);
+                log.debug("Admission deadline exceeded - Request: {}", waiter.requestId);
+                waiter.future.completeExceptionally(new AdmissionRejectedException(
+                    "Request timed out waiting for capacity", 503, retryAfterSeconds()));
+            }
+        };
+        try {
+            vllmTaskScheduler.schedule(expire, Instant.now().plus(settings.getMaxQueueWait()));
+        } catch (RuntimeException e) {
+            expire.run();
+        }
+    }
+
+    /**
+     * 재시도 권장 시간 - 대기열이 평균 처리 시간 기준으로 빠지는 데 걸리는 시간 (1초 ~ max-retry-after)
+     */
+    private long retryAfterSeconds() {
+        double serviceTimeMs = Double.longBitsToDouble(serviceTimeMsBits.get());
+        long maxSeconds = settings.getMaxRetryAfter().toSeconds();
+        if (Double.isNaN(serviceTimeMs)) {
+            return Math.min(1, maxSeconds);
+        }
+        int limit = Math.max(1, capacity());
+        double drainMs = serviceTimeMs * (queued.get() + 1) / limit;
+        return Math.max(1, Math.min(maxSeconds, (long) Math.ceil(drainMs / 1000.0)));
+    }
+
+    private void recordServiceTime(long elapsedMs) {
+        serviceTimeMsBits.accumulateAndGet(Double.doubleToRawLongBits(elapsedMs), (previousBits, sampleBits) -> {
+            double previous = Double.longBitsToDouble(previousBits);
+            double sample = Double.longBitsToDouble(sampleBits);
+            return Double.isNaN(previous) ? sampleBits
+                : Double.doubleToRawLongBits(previous + SERVICE_TIME_ALPHA * (sample - previous));
+        });
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("llm.admission.rejected").tag("reason", reason)
+            .description("Requests rejected by admission control")
+            .register(meterRegistry);
+    }
+
+    private record CapacitySnapshot(List<VllmConfigProperties.VllmServerConfig> configured, int limit) {
+    }
+
+    /**
+     * 대기열 항목 - 배정과 마감 중 먼저 claim한 쪽만 처리
+     */
+    private static final class Waiter {
+        private final CompletableFuture<Admission> future = new CompletableFuture<>();
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final long enqueuedAtNanos = System.nanoTime();
+        private final String requestId;
+        private final RequestPriority priority;
+        private final String flowKey;
+        private FairRequestQueue.Entry<Waiter> entry; // 마감 예약 전에 설정, drain에서 제거할 때 사용
+
+        Waiter(String requestId, RequestPriority priority, String flowKey) {
+            this.requestId = requestId;
+            this.priority = priority;
+            this.flowKey = flowKey;
+        }
+
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        boolean isLive() {
+            return !claimed.get();
+        }
+    }
+
+    /**
+     * 수용된 요청의 처리 슬롯 - 처리가 끝나면 정확히 한 번 반납
+     */
+    public static final class Admission implements AutoCloseable {
+        private final AdmissionController controller;
+        private final long admittedAtNanos;
+        private final boolean counted;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Admission(AdmissionController controller, long admittedAtNanos, boolean counted) {
+            this.controller = controller;
+            this.admittedAtNanos = admittedAtNanos;
+            this.counted = counted;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                controller.release(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+// AdmissionRejectedException.java
+package com.yourcompany.llm.service.admission;
+
+/**
+ * 수용 한도 초과로 요청을 처리하지 않고 거절함 - 컨트롤러에서 429/503 + Retry-After로 변환
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+    private final int httpStatus;
+    private final long retryAfterSeconds;
+
+    public AdmissionRejectedException(String message, int httpStatus, long retryAfterSeconds) {
+        super(message, null, false, false); // 과부하 시 빈번히 생성되므로 스택 트레이스 생략
+        this.httpStatus = httpStatus;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getHttpStatus() {
+        return httpStatus;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,251 @@
+// FairRequestQueue.java
+package com.yourcompany.llm.service.admission;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import com.yourcompany.llm.dto.RequestPriority;
+
+/**
+ * 우선순위 클래스 + 사용자별 Deficit Round Robin 대기열.
+ * 클래스 사이에는 가중치만큼 번갈아 배정하고(하위 클래스 기아 방지), 클래스 안에서는 사용자(flow)별로
+ * 예상 토큰 비용 기준 DRR을 적용해 한 사용자의 대량 요청이 다른 사용자를 밀어내지 못하게 한다.
+ *
+ * offer는 여러 스레드에서 동시에 호출되며 사용자 키 단위로만 동기화된다 (ConcurrentHashMap bin).
+ * poll과 remove는 한 번에 한 스레드만 호출해야 한다 - DRR 상태(deficit, 현재 flow, 클래스 크레딧)는 소비자 쪽에서만 갱신.
+ * remove는 항목에 표시만 하는 O(1) 지연 삭제이고, 표시된 항목은 poll이 지나가며 버린다. 소비가 멈춘 동안 만료만
+ * 쌓이지 않도록 삭제 표시 항목이 남은 항목보다 많아지면 한 번 쓸어 담는다 (분할 상환 O(1)).
+ */
+final class FairRequestQueue<E> {
+
+    private static final RequestPriority[] CLASSES = RequestPriority.values();
+
+    /** 삭제 표시 항목이 이보다 적으면 정리하지 않는다 */
+    private static final int COMPACT_THRESHOLD = 64;
+
+    private final ClassQueue<E>[] classes;
+    private final int[] classWeights;
+    private final int[] classCredits;
+
+    @SuppressWarnings("unchecked")
+    FairRequestQueue(int[] classWeights, long quantum) {
+        this.classWeights = classWeights.clone();
+        this.classCredits = classWeights.clone();
+        this.classes = new ClassQueue[CLASSES.length];
+        for (int i = 0; i < CLASSES.length; i++) {
+            classes[i] = new ClassQueue<>(quantum);
+        }
+    }
+
+    /**
+     * 요청 추가 - cost는 DRR에서 차감되는 작업량 (예상 토큰 수). 반환한 항목으로 remove할 수 있다
+     */
+    Entry<E> offer(RequestPriority priority, String flowKey, long cost, E element) {
+        Entry<E> entry = new Entry<>(element, Math.max(1, cost), priority.ordinal());
+        classes[entry.classIndex].offer(flowKey != null ? flowKey : "", entry);
+        return entry;
+    }
+
+    /**
+     * 다음에 배정할 요청 (live가 false인 항목은 버리고 건너뜀), 없으면 null - 단일 스레드 전용
+     */
+    E poll(Predicate<E> live) {
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < classes.length; i++) {
+                if (classCredits[i] <= 0 || classes[i].pending.get() == 0) {
+                    continue;
+                }
+                E element = classes[i].poll(live);
+                if (element != null) {
+                    classCredits[i]--;
+                    return element;
+                }
+            }
+            // 대기 중인 클래스가 모두 크레딧을 소진했으면 새 라운드
+            System.arraycopy(classWeights, 0, classCredits, 0, classCredits.length);
+        }
+        return null;
+    }
+
+    /**
+     * 대기 중인 항목 제거 (마감 시간 초과 등) - 이미 poll로 빠졌거나 제거됐으면 false, 단일 스레드 전용
+     */
+    boolean remove(Entry<E> entry) {
+        return classes[entry.classIndex].remove(entry);
+    }
+
+    /** 클래스별 대기열에 남은 항목 수 */
+    int pending(RequestPriority priority) {
+        return classes[priority.ordinal()].pending.get();
+    }
+
+    /**
+     * 대기열 항목 - 상태는 소비자 스레드에서만 바뀐다
+     */
+    static final class Entry<E> {
+        private static final byte QUEUED = 0;
+        private static final byte TAKEN = 1;
+        private static final byte REMOVED = 2;
+
+        private final E element;
+        private final long cost;
+        private final int classIndex;
+        private byte state = QUEUED;
+
+        private Entry(E element, long cost, int classIndex) {
+            this.element = element;
+            this.cost = cost;
+            this.classIndex = classIndex;
+        }
+
+        E element() {
+            return element;
+        }
+
+        private boolean isRemoved() {
+            return state == REMOVED;
+        }
+    }
+
+    /**
+     * 사용자별 대기열 - 맵에 있는 동안은 활성 상태(링에 있거나 poll 쪽이 current로 보유)
+     */
+    private static final class Flow<E> {
+        private final String key;
+        private final Queue<Entry<E>> items = new ConcurrentLinkedQueue<>();
+        private long deficit; // poll 스레드 전용
+
+        Flow(String key) {
+            this.key = key;
+        }
+    }
+
+    private static final class ClassQueue<E> {
+        private final long quantum;
+        private final Map<String, Flow<E>> flows = new ConcurrentHashMap<>();
+        private final Queue<Flow<E>> ring = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger(); // 삭제 표시 항목 제외
+        private Flow<E> current; // poll 스레드 전용
+        private int removed;     // 아직 큐에 남아 있는 삭제 표시 항목 수, poll 스레드 전용
+
+        ClassQueue(long quantum) {
+            this.quantum = quantum;
+        }
+
+        void offer(String flowKey, Entry<E> item) {
+            pending.incrementAndGet();
+            flows.compute(flowKey, (key, flow) -> {
+                if (flow == null) {
+                    flow = new Flow<>(key);
+                    ring.add(flow);
+                }
+                flow.items.add(item);
+                return flow;
+            });
+        }
+
+        E poll(Predicate<E> live) {
+            while (true) {
+                if (current == null) {
+                    current = ring.poll();
+                    if (current == null) {
+                        return null;
+                    }
+                    current.deficit += quantum;
+                }
+
+                Entry<E> head = current.items.peek();
+                if (head == null) {
+                    retire(current);
+                    current = null;
+                    continue;
+                }
+                if (head.isRemoved()) {
+                    current.items.poll();
+                    removed--;
+                    continue;
+                }
+                if (!live.test(head.element)) {
+                    current.items.poll();
+                    head.state = Entry.TAKEN;
+                    pending.decrementAndGet();
+                    continue;
+                }
+                if (head.cost > current.deficit) {
+                    ring.add(current); // 다음 라운드에 quantum을 더 받는다
+                    current = null;
+                    continue;
+                }
+
+                current.items.poll();
+                head.state = Entry.TAKEN;
+                pending.decrementAndGet();
+                current.deficit -= head.cost;
+                if (current.items.isEmpty()) {
+                    retire(current);
+                    current = null;
+                }
+                return head.element;
+            }
+        }
+
+        boolean remove(Entry<E> entry) {
+            if (entry.state != Entry.QUEUED) {
+                return false;
+            }
+            entry.state = Entry.REMOVED;
+            pending.decrementAndGet();
+            if (++removed >= COMPACT_THRESHOLD && removed > pending.get()) {
+                compact();
+            }
+            return true;
+        }
+
+        /**
+         * 삭제 표시 항목을 모두 걷어내고 빈 flow를 정리 - 링 순서는 유지
+         */
+        private void compact() {
+            if (current != null) {
+                current.items.removeIf(Entry::isRemoved);
+                if (current.items.isEmpty()) {
+                    retire(current);
+                    current = null;
+                }
+            }
+            for (int n = ring.size(); n > 0; n--) {
+                Flow<E> flow = ring.poll();
+                if (flow == null) {
+                    break;
+                }
+                flow.items.removeIf(Entry::isRemoved);
+                if (flow.items.isEmpty()) {
+                    retire(flow);
+                } else {
+                    ring.add(flow);
+                }
+            }
+            removed = 0;
+        }
+
+        /**
+         * 빈 flow를 맵에서 제거 - offer와 같은 키 단위로 원자적이므로, 그 사이 추가된 항목이 있으면 링으로 되돌린다
+         */
+        private void retire(Flow<E> flow) {
+            flow.deficit = 0;
+            flows.computeIfPresent(flow.key, (key, existing) -> {
+                if (existing != flow) {
+                    return existing;
+                }
+                if (flow.items.isEmpty()) {
+                    return null;
+                }
+                ring.add(flow);
+                return flow;
+            });
+        }
+    }
+}
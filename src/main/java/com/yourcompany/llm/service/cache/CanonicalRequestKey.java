@@ -0,0 +1,85 @@
+// CanonicalRequestKey.java
+package com.yourcompany.llm.service.cache;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+
+import com.yourcompany.llm.dto.LlmRequest;
+
+/**
+ * 정규화된 LlmRequest의 SHA-256 키 - 모델, 메시지, 시스템 프롬프트, temperature, maxTokens 기준
+ */
+public final class CanonicalRequestKey {
+
+    // VllmApiClient 요청 기본값과 동일하게 정규화
+    private static final String DEFAULT_MODEL = "llama3.2";
+    private static final double DEFAULT_TEMPERATURE = 0.7;
+    private static final int DEFAULT_MAX_TOKENS = 1000;
+
+    private CanonicalRequestKey() {
+    }
+
+    public static String of(LlmRequest request) {
+        MessageDigest digest = sha256();
+
+        update(digest, request.getModel() != null ? request.getModel().trim().toLowerCase(Locale.ROOT) : DEFAULT_MODEL);
+
+        List<LlmRequest.Message> messages = effectiveMessages(request);
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(messages.size()).array());
+        for (LlmRequest.Message message : messages) {
+            update(digest, message.getRole() != null ? message.getRole().toLowerCase(Locale.ROOT) : null);
+            update(digest, message.getContent());
+        }
+
+        double temperature = request.getTemperature() != null ? request.getTemperature() : DEFAULT_TEMPERATURE;
+        int maxTokens = request.getMaxTokens() != null ? request.getMaxTokens() : DEFAULT_MAX_TOKENS;
+        digest.update(ByteBuffer.allocate(Long.BYTES + Integer.BYTES)
+                .putLong(Double.doubleToLongBits(temperature + 0.0)) // -0.0 → 0.0
+                .putInt(maxTokens).array());
+
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * 단일 message/systemPrompt 형태는 채팅 메시지 형태로 변환해 동일한 키를 갖도록 한다
+     */
+    private static List<LlmRequest.Message> effectiveMessages(LlmRequest request) {
+        if (request.getMessages() != null && !request.getMessages().isEmpty()) {
+            return request.getMessages();
+        }
+
+        List<LlmRequest.Message> messages = new ArrayList<>(2);
+        if (request.getSystemPrompt() != null) {
+            messages.add(LlmRequest.Message.builder().role("system").content(request.getSystemPrompt()).build());
+        }
+        if (request.getMessage() != null) {
+            messages.add(LlmRequest.Message.builder().role("user").content(request.getMessage()).build());
+        }
+        return messages;
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value == null) {
+            digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(-1).array());
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
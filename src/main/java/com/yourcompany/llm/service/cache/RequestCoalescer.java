@@ -0,0 +1,385 @@
+// RequestCoalescer.java
+package com.yourcompany.llm.service.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import org.springframework.stereotype.Component;
+
+import com.yourcompany.llm.config.vllm.LlmConfigProperties;
+import com.yourcompany.llm.dto.LlmRequest;
+import com.yourcompany.llm.dto.LlmResponse;
+import com.yourcompany.llm.service.vllm.StreamRelay;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 동일한 정규화 키를 가진 동시 생성 요청을 하나의 vLLM 호출로 합치는 single-flight 처리기
+ */
+@Slf4j
+@Component
+public class RequestCoalescer {
+
+    private final LlmConfigProperties.CoalescingSettings settings;
+    private final Executor sseRelayExecutor;
+    private final Map<String, UnaryFlight> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, StreamFlight> inFlightStreams = new ConcurrentHashMap<>();
+
+    private final Counter coalescedRequests;
+    private final Counter coalescedStreams;
+    private final Counter savedCompletionTokens;
+
+    public RequestCoalescer(LlmConfigProperties llmConfig, Executor sseRelayExecutor, MeterRegistry meterRegistry) {
+        this.settings = llmConfig.getCoalescing();
+        this.sseRelayExecutor = sseRelayExecutor;
+
+        this.coalescedRequests = Counter.builder("llm.requests.coalesced").tag("mode", "unary")
+            .description("Requests served by attaching to an identical in-flight generation")
+            .register(meterRegistry);
+        this.coalescedStreams = Counter.builder("llm.requests.coalesced").tag("mode", "stream")
+            .description("Requests served by attaching to an identical in-flight generation")
+            .register(meterRegistry);
+        this.savedCompletionTokens = Counter.builder("llm.requests.coalesced.tokens")
+            .description("Completion tokens not generated thanks to coalescing")
+            .register(meterRegistry);
+
+        Gauge.builder("llm.requests.inflight.unique", this,
+                coalescer -> coalescer.inFlight.size() + coalescer.inFlightStreams.size())
+            .description("Distinct in-flight generations eligible for coalescing")
+            .register(meterRegistry);
+    }
+
+    public boolean isCoalescable(LlmRequest request) {
+        if (!Boolean.TRUE.equals(settings.getEnabled())) {
+            return false;
+        }
+        return !Boolean.TRUE.equals(settings.getDeterministicOnly())
+            || (request.getTemperature() != null && request.getTemperature() == 0.0);
+    }
+
+    /**
+     * 진행 중인 동일 요청이 있으면 그 결과를 공유하고, 없으면 call을 실행해 선두 요청이 된다.
+     * 요청마다 자기 future를 받으며, 취소하면 결과 공유에서 빠지고 마지막 요청이 취소하면 call도 취소한다.
+     */
+    public CompletableFuture<LlmResponse> execute(String key, LlmRequest request,
+                                                  Supplier<CompletableFuture<LlmResponse>> call) {
+        UnaryFlight flight = new UnaryFlight();
+        UnaryFlight existing = inFlight.putIfAbsent(key, flight);
+
+        if (existing != null) {
+            long joinedAt = System.nanoTime();
+            CompletableFuture<LlmResponse> joined = existing.join(response -> follow(response, request, joinedAt));
+            if (joined != null) {
+                coalescedRequests.increment();
+                log.debug("Coalesced request {} onto in-flight generation {}", request.getRequestId(), key);
+                return joined;
+            }
+            // 모든 요청이 취소해 종료 중인 호출 - 합치지 않고 단독 실행
+            return call.get();
+        }
+
+        CompletableFuture<LlmResponse> leader = flight.join(response -> lead(response, request));
+        try {
+            CompletableFuture<LlmResponse> upstream = call.get();
+            upstream.whenComplete((response, throwable) -> {
+                inFlight.remove(key, flight);
+                flight.finish(response, throwable);
+            });
+            flight.start(upstream);
+        } catch (RuntimeException e) {
+            inFlight.remove(key, flight);
+            flight.finish(null, e);
+        }
+        return leader;
+    }
+
+    /**
+     * 스트리밍 버전 - 뒤늦게 합류한 요청은 이미 수신된 청크를 재생한 뒤 실시간 청크를 이어서 받는다.
+     * 구독자마다 전달 큐(StreamRelay)를 따로 두어 느린 클라이언트가 다른 구독자나 업스트림 읽기를 막지 않고,
+     * 반환한 future를 취소하면 구독을 끊으며 마지막 구독자가 떠나면 업스트림 호출도 취소한다.
+     */
+    public CompletableFuture<LlmResponse> executeStream(String key, LlmRequest request, Consumer<String> chunkConsumer,
+                                                        Function<Consumer<String>, CompletableFuture<LlmResponse>> call) {
+        StreamFlight flight = new StreamFlight(sseRelayExecutor);
+        StreamFlight existing = inFlightStreams.putIfAbsent(key, flight);
+
+        if (existing != null) {
+            long joinedAt = System.nanoTime();
+            StreamSubscriber subscriber = existing.subscribe(chunkConsumer,
+                response -> follow(response, request, joinedAt));
+            if (subscriber != null) {
+                coalescedStreams.increment();
+                log.debug("Coalesced stream {} onto in-flight generation {}", request.getRequestId(), key);
+                return subscriber.future;
+            }
+            // 모든 구독자가 떠나 종료 중인 스트림 - 합치지 않고 단독 실행
+            return call.apply(chunkConsumer);
+        }
+
+        StreamSubscriber leader = flight.subscribe(chunkConsumer, response -> lead(response, request));
+        try {
+            CompletableFuture<LlmResponse> upstream = call.apply(flight::publish);
+            upstream.whenComplete((response, throwable) -> {
+                inFlightStreams.remove(key, flight);
+                flight.finish(response, throwable);
+            });
+            flight.start(upstream);
+        } catch (RuntimeException e) {
+            inFlightStreams.remove(key, flight);
+            flight.finish(null, e);
+        }
+        return leader.future;
+    }
+
+    /**
+     * 선행 요청의 응답 - 공유 응답은 그대로 두고 복사본에 자신의 요청 ID를 기록
+     */
+    private static LlmResponse lead(LlmResponse shared, LlmRequest request) {
+        LlmResponse response = shared.copy();
+        response.setRequestId(request.getRequestId());
+        return response;
+    }
+
+    private LlmResponse follow(LlmResponse shared, LlmRequest request, long joinedAt) {
+        LlmResponse response = shared.copy();
+        response.setRequestId(request.getRequestId());
+        response.setResponseTimeMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - joinedAt));
+
+        if (shared.getUsage() != null && shared.getUsage().getCompletionTokens() != null) {
+            savedCompletionTokens.increment(shared.getUsage().getCompletionTokens());
+        }
+        return response.withMetadata("coalesced", true);
+    }
+
+    /**
+     * 하나의 업스트림 호출 결과를 여러 요청이 공유 - 요청별 future는 결과 공유에서만 빠지고 호출은 마지막 요청이 취소할 때만 취소
+     */
+    private static final class UnaryFlight {
+        private final List<Member> members = new ArrayList<>();
+        private CompletableFuture<LlmResponse> upstream;
+        private boolean closed;
+
+        /**
+         * 결과 공유에 합류 - 이미 끝났거나 모두 취소해 종료 중이면 null
+         */
+        synchronized CompletableFuture<LlmResponse> join(UnaryOperator<LlmResponse> finisher) {
+            if (closed) {
+                return null;
+            }
+            Member member = new Member(finisher);
+            members.add(member);
+            member.future.whenComplete((response, throwable) -> {
+                if (member.future.isCancelled()) {
+                    leave(member);
+                }
+            });
+            return member.future;
+        }
+
+        /**
+         * 업스트림 호출 등록 - 그 사이 모든 요청이 취소했으면 바로 취소
+         */
+        void start(CompletableFuture<LlmResponse> call) {
+            boolean abandoned;
+            synchronized (this) {
+                upstream = call;
+                abandoned = members.isEmpty();
+            }
+            if (abandoned) {
+                call.cancel(true);
+            }
+        }
+
+        void finish(LlmResponse response, Throwable throwable) {
+            List<Member> finished;
+            synchronized (this) {
+                closed = true;
+                finished = new ArrayList<>(members);
+                members.clear();
+            }
+            for (Member member : finished) {
+                member.complete(response, throwable);
+            }
+        }
+
+        private void leave(Member member) {
+            CompletableFuture<LlmResponse> abandoned = null;
+            synchronized (this) {
+                if (members.remove(member) && members.isEmpty() && !closed) {
+                    closed = true;
+                    abandoned = upstream;
+                }
+            }
+            if (abandoned != null) {
+                abandoned.cancel(true);
+            }
+        }
+
+        private static final class Member {
+            private final UnaryOperator<LlmResponse> finisher;
+            private final CompletableFuture<LlmResponse> future = new CompletableFuture<>();
+
+            Member(UnaryOperator<LlmResponse> finisher) {
+                this.finisher = finisher;
+            }
+
+            void complete(LlmResponse response, Throwable throwable) {
+                if (throwable != null) {
+                    future.completeExceptionally(throwable);
+                    return;
+                }
+                try {
+                    future.complete(finisher.apply(response));
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 하나의 업스트림 스트림을 여러 구독자에게 순서대로 전달.
+     * 락 안에서는 청크 기록과 구독자별 큐 적재(논블로킹)만 하고, 클라이언트 쓰기는 각 구독자의 전달 스레드에서 한다.
+     */
+    private static final class StreamFlight {
+        private final Executor relayExecutor;
+        private final List<String> chunks = new ArrayList<>();
+        private final List<StreamSubscriber> subscribers = new ArrayList<>(); // 청크를 받는 구독자
+        private final List<StreamSubscriber> members = new ArrayList<>();     // 결과를 받을 구독자 (연결 종료 포함)
+        private CompletableFuture<LlmResponse> upstream;
+        private boolean closed;
+
+        StreamFlight(Executor relayExecutor) {
+            this.relayExecutor = relayExecutor;
+        }
+
+        /**
+         * 구독 추가 - 지금까지의 청크를 새 구독자 큐에 재생. 이미 종료 중이면 null
+         */
+        synchronized StreamSubscriber subscribe(Consumer<String> consumer, UnaryOperator<LlmResponse> finisher) {
+            if (closed) {
+                return null;
+            }
+            // 재생할 청크만큼 큐 한도를 늘려 긴 스트림에 늦게 합류해도 재생 중에 끊기지 않게 한다
+            StreamRelay relay = new StreamRelay(consumer, relayExecutor, chunks.size() + StreamRelay.MAX_PENDING_CHUNKS);
+            StreamSubscriber subscriber = new StreamSubscriber(relay, finisher);
+            members.add(subscriber);
+            boolean connected = true;
+            for (int i = 0; connected && i < chunks.size(); i++) {
+                connected = subscriber.offer(chunks.get(i));
+            }
+            if (connected) {
+                subscribers.add(subscriber);
+            }
+            subscriber.future.whenComplete((response, throwable) -> {
+                if (subscriber.future.isCancelled()) {
+                    unsubscribe(subscriber);
+                }
+            });
+            return subscriber;
+        }
+
+        synchronized void publish(String chunk) {
+            chunks.add(chunk);
+            subscribers.removeIf(subscriber -> !subscriber.offer(chunk));
+
+            if (subscribers.isEmpty()) {
+                // 모든 클라이언트가 떠났으면 업스트림 읽기 중단
+                closed = true;
+                throw new IllegalStateException("All stream subscribers disconnected");
+            }
+        }
+
+        /**
+         * 업스트림 호출 등록 - 그 사이 모든 구독자가 취소했으면 바로 취소
+         */
+        void start(CompletableFuture<LlmResponse> call) {
+            boolean abandoned;
+            synchronized (this) {
+                upstream = call;
+                abandoned = subscribers.isEmpty();
+            }
+            if (abandoned) {
+                call.cancel(true);
+            }
+        }
+
+        /**
+         * 업스트림 종료 - 각 구독자는 자기 큐의 청크를 모두 전달한 뒤 결과를 받는다
+         */
+        void finish(LlmResponse response, Throwable throwable) {
+            List<StreamSubscriber> finished;
+            synchronized (this) {
+                closed = true;
+                finished = new ArrayList<>(members);
+                members.clear();
+                subscribers.clear();
+            }
+            for (StreamSubscriber subscriber : finished) {
+                subscriber.relay.close(() -> subscriber.complete(response, throwable));
+            }
+        }
+
+        private void unsubscribe(StreamSubscriber subscriber) {
+            CompletableFuture<LlmResponse> abandoned = null;
+            synchronized (this) {
+                members.remove(subscriber);
+                if (subscribers.remove(subscriber) && subscribers.isEmpty() && !closed) {
+                    closed = true;
+                    abandoned = upstream;
+                }
+            }
+            if (abandoned != null) {
+                abandoned.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * 병합된 스트림의 구독자 - 전용 전달 큐와, 큐가 비워진 뒤 완료되는 자신의 결과 future
+     */
+    private static final class StreamSubscriber {
+        private final StreamRelay relay;
+        private final UnaryOperator<LlmResponse> finisher;
+        private final CompletableFuture<LlmResponse> future = new CompletableFuture<>();
+
+        StreamSubscriber(StreamRelay relay, UnaryOperator<LlmResponse> finisher) {
+            this.relay = relay;
+            this.finisher = finisher;
+        }
+
+        /** 전달 예약 - 앞선 전달이 실패했거나(연결 종료) 큐가 한도를 넘으면 false */
+        boolean offer(String chunk) {
+            try {
+                relay.offer(chunk);
+                return true;
+            } catch (RuntimeException e) {
+                return false;
+            }
+        }
+
+        void complete(LlmResponse response, Throwable throwable) {
+            if (throwable != null) {
+                future.completeExceptionally(throwable);
+                return;
+            }
+            try {
+                future.complete(finisher.apply(response));
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+// ResponseCache.java
+package com.yourcompany.llm.service.cache;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.yourcompany.llm.config.vllm.LlmConfigProperties;
+import com.yourcompany.llm.dto.LlmRequest;
+import com.yourcompany.llm.dto.LlmResponse;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 결정적(temperature 0) 요청에 대한 정확 일치 응답 캐시 - 크기/TTL 기반 제거
+ */
+@Slf4j
+@Component
+public class ResponseCache implements MeterBinder {
+
+    private static final String CACHE_NAME = "llm.response";
+
+    private final LlmConfigProperties.CacheSettings settings;
+    private final Cache<String, LlmResponse> cache;
+
+    public ResponseCache(LlmConfigProperties llmConfig) {
+        this.settings = llmConfig.getCache();
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(settings.getMaxEntries())
+            .expireAfterWrite(settings.getTtl())
+            .recordStats()
+            .build();
+
+        log.info("✅ Response cache configured - Enabled: {}, Max entries: {}, TTL: {}",
+            settings.getEnabled(), settings.getMaxEntries(), settings.getTtl());
+    }
+
+    public boolean isCacheable(LlmRequest request) {
+        return Boolean.TRUE.equals(settings.getEnabled())
+            && !Boolean.TRUE.equals(request.getStream())
+            && request.getTemperature() != null
+            && request.getTemperature() == 0.0;
+    }
+
+    public Optional<LlmResponse> get(String key, LlmRequest request) {
+        LlmResponse cached = cache.getIfPresent(key);
+        if (cached == null) {
+            return Optional.empty();
+        }
+
+        LlmResponse hit = cached.copy();
+        hit.setCached(true);
+        hit.setRequestId(request.getRequestId());
+        hit.setResponseTimeMs(0L);
+        hit.setTimestamp(LocalDateTime.now());
+        return Optional.of(hit);
+    }
+
+    public void put(String key, LlmResponse response) {
+        if (response != null && response.isSuccess()) {
+            cache.put(key, response.copy());
+        }
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+        log.info("Response cache cleared");
+    }
+
+    /**
+     * cache.gets{result=hit|miss}, cache.evictions, cache.size 메트릭 등록
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+}
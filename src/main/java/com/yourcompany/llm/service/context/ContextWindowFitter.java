@@ -0,0 +1,246 @@
+// ContextWindowFitter.java
+package com.yourcompany.llm.service.context;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.stereotype.Component;
+
+import com.yourcompany.llm.config.vllm.LlmConfigProperties;
+import com.yourcompany.llm.config.vllm.VllmConfigProperties;
+import com.yourcompany.llm.dto.LlmRequest;
+import com.yourcompany.llm.service.tokenizer.TokenCounter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 요청을 보낼 서버의 max-model-len에 맞게 조정.
+ * 프롬프트 + maxTokens가 넘치면 맨 앞의 시스템 메시지와 마지막 메시지는 남기고 오래된 턴부터 삭제(TRUNCATE)하거나
+ * 삭제한 턴을 발췌 요약 메시지 하나로 대체(COLLAPSE)하며, 그래도 넘치면 maxTokens를 남는 자리만큼 줄인다.
+ * vLLM이 400으로 거절할 요청을 미리 걸러 왕복을 줄이고, 긴 대화의 prefill 비용도 줄인다.
+ */
+@Slf4j
+@Component
+public class ContextWindowFitter {
+
+    private final LlmConfigProperties.ContextSettings settings;
+    private final TokenCounter tokenCounter;
+
+    private final Counter trimmedRequests;
+    private final Counter droppedMessages;
+    private final Counter clampedRequests;
+
+    public ContextWindowFitter(LlmConfigProperties llmConfig, TokenCounter tokenCounter, MeterRegistry meterRegistry) {
+        this.settings = llmConfig.getContext();
+        this.tokenCounter = tokenCounter;
+
+        this.trimmedRequests = Counter.builder("llm.context.trimmed")
+            .tag("policy", settings.getPolicy().name().toLowerCase(Locale.ROOT))
+            .description("Requests whose conversation history was shortened to fit the context window")
+            .register(meterRegistry);
+        this.droppedMessages = Counter.builder("llm.context.dropped.messages")
+            .description("Messages removed from conversation history to fit the context window")
+            .register(meterRegistry);
+        this.clampedRequests = Counter.builder("llm.context.clamped")
+            .description("Requests whose maxTokens was reduced to fit the context window")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 서버의 컨텍스트 길이 (max-model-len, 미지정 시 기본값)
+     */
+    public static int contextLimit(VllmConfigProperties.VllmServerConfig server) {
+        if (server.getModelSettings() != null && server.getModelSettings().getMaxModelLen() != null) {
+            return server.getModelSettings().getMaxModelLen();
+        }
+        return new VllmConfigProperties.VllmModelSettings().getMaxModelLen();
+    }
+
+    /**
+     * 어떤 정책으로도 줄일 수 없는 프롬프트 토큰 - REJECT면 전체, 아니면 고정 토큰 + 앞쪽 시스템 메시지 + 마지막 메시지
+     */
+    public int requiredPromptTokens(LlmRequest request) {
+        List<LlmRequest.Message> messages = request.getMessages();
+        if (settings.getPolicy() == LlmConfigProperties.ContextFitPolicy.REJECT
+            || messages == null || messages.size() < 2) {
+            return tokenCounter.countPromptTokens(request);
+        }
+        int leading = leadingSystemMessages(messages);
+        int required = tokenCounter.promptOverheadTokens();
+        for (int i = 0; i < leading; i++) {
+            required += tokenCounter.countMessageTokens(messages.get(i));
+        }
+        if (leading < messages.size()) {
+            required += tokenCounter.countMessageTokens(messages.get(messages.size() - 1));
+        }
+        return required;
+    }
+
+    public FitResult fit(LlmRequest request, VllmConfigProperties.VllmServerConfig server) {
+        return fit(request, contextLimit(server));
+    }
+
+    /**
+     * contextLimit 안에 들어가도록 조정한 요청 (이미 맞으면 원본 그대로, 바꿔야 하면 복사본)
+     */
+    public FitResult fit(LlmRequest request, int contextLimit) {
+        int maxTokens = request.getMaxTokens() != null ? request.getMaxTokens() : 1000;
+        int promptTokens = tokenCounter.countPromptTokens(request);
+        if (promptTokens + maxTokens <= contextLimit) {
+            return FitResult.fitted(request);
+        }
+
+        LlmRequest fitted = request;
+        List<LlmRequest.Message> messages = request.getMessages();
+        if (settings.getPolicy() != LlmConfigProperties.ContextFitPolicy.REJECT
+            && messages != null && messages.size() > 1) {
+            int messageBudget = contextLimit - maxTokens - tokenCounter.promptOverheadTokens();
+            List<LlmRequest.Message> shortened = shorten(messages, messageBudget);
+            if (shortened != messages) {
+                fitted = request.copy();
+                fitted.setMessages(shortened);
+                promptTokens = tokenCounter.countPromptTokens(fitted);
+            }
+        }
+
+        int available = contextLimit - promptTokens;
+        if (available < settings.getMinOutputTokens()) {
+            return FitResult.rejected("Request exceeds context window (" + promptTokens + " prompt tokens, limit "
+                + contextLimit + ")");
+        }
+        if (maxTokens > available) {
+            if (fitted == request) {
+                fitted = request.copy();
+            }
+            fitted.setMaxTokens(available);
+            clampedRequests.increment();
+            log.debug("Clamping maxTokens {} -> {} to fit the context window - Request: {}",
+                maxTokens, available, request.getRequestId());
+        }
+        return FitResult.fitted(fitted);
+    }
+
+    /**
+     * 메시지 토큰 합이 budget 이하가 되도록 앞쪽 시스템 메시지 뒤의 오래된 턴부터 제거.
+     * 남는 첫 대화 메시지가 assistant 응답으로 시작하지 않도록 턴 단위로 자른다.
+     */
+    private List<LlmRequest.Message> shorten(List<LlmRequest.Message> messages, int budget) {
+        int leading = leadingSystemMessages(messages);
+        int last = messages.size() - 1;
+        if (leading >= last) {
+            return messages;
+        }
+
+        boolean collapse = settings.getPolicy() == LlmConfigProperties.ContextFitPolicy.COLLAPSE;
+        int used = tokenCounter.countMessageTokens(messages.get(last));
+        for (int i = 0; i < leading; i++) {
+            used += tokenCounter.countMessageTokens(messages.get(i));
+        }
+        int reserve = collapse ? settings.getCollapseMaxTokens() + tokenCounter.countMessageTokens(
+            LlmRequest.Message.builder().role("system").build()) : 0;
+
+        // 최근 메시지부터 예산 안에서 남김
+        int keepFrom = last;
+        for (int i = last - 1; i >= leading; i--) {
+            int tokens = tokenCounter.countMessageTokens(messages.get(i));
+            int needed = used + tokens + (i > leading ? reserve : 0);
+            if (needed > budget) {
+                break;
+            }
+            used += tokens;
+            keepFrom = i;
+        }
+        while (keepFrom < last && keepFrom > leading && "assistant".equals(messages.get(keepFrom).getRole())) {
+            keepFrom++;
+        }
+        if (keepFrom == leading) {
+            return messages;
+        }
+
+        List<LlmRequest.Message> shortened = new ArrayList<>(leading + 1 + messages.size() - keepFrom);
+        shortened.addAll(messages.subList(0, leading));
+        if (collapse) {
+            shortened.add(digest(messages.subList(leading, keepFrom)));
+        }
+        shortened.addAll(messages.subList(keepFrom, messages.size()));
+
+        trimmedRequests.increment();
+        droppedMessages.increment(keepFrom - leading);
+        log.debug("Fitted conversation to context window - Dropped {} of {} messages, Policy: {}",
+            keepFrom - leading, messages.size(), settings.getPolicy());
+        return shortened;
+    }
+
+    /**
+     * 삭제한 메시지들의 발췌 요약 - 메시지별 앞부분만 남기며, 토큰 한도를 넘으면 최근 것부터 채운다
+     */
+    private LlmRequest.Message digest(List<LlmRequest.Message> dropped) {
+        String header = "[이전 대화 요약 - 메시지 " + dropped.size() + "개 생략]\n";
+        int budget = settings.getCollapseMaxTokens() - tokenCounter.countTokens(header);
+        int excerptChars = settings.getCollapseExcerptChars();
+
+        List<String> lines = new ArrayList<>();
+        for (int i = dropped.size() - 1; i >= 0; i--) {
+            LlmRequest.Message message = dropped.get(i);
+            String content = message.getContent() != null ? message.getContent().strip() : "";
+            String excerpt = content.length() > excerptChars ? content.substring(0, excerptChars) + "…" : content;
+            String line = message.getRole() + ": " + excerpt.replace('\n', ' ') + "\n";
+            int tokens = tokenCounter.countTokens(line);
+            if (tokens > budget) {
+                break;
+            }
+            budget -= tokens;
+            lines.add(line);
+        }
+
+        StringBuilder content = new StringBuilder(header);
+        for (int i = lines.size() - 1; i >= 0; i--) {
+            content.append(lines.get(i));
+        }
+        return LlmRequest.Message.builder().role("system").content(content.toString().stripTrailing()).build();
+    }
+
+    private static int leadingSystemMessages(List<LlmRequest.Message> messages) {
+        int count = 0;
+        while (count < messages.size() && "system".equals(messages.get(count).getRole())) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 조정 결과 - 보낼 요청 또는 거절 사유
+     */
+    public static final class FitResult {
+        private final LlmRequest request;
+        private final String message;
+
+        private FitResult(LlmRequest request, String message) {
+            this.request = request;
+            this.message = message;
+        }
+
+        static FitResult fitted(LlmRequest request) {
+            return new FitResult(request, null);
+        }
+
+        static FitResult rejected(String message) {
+            return new FitResult(null, message);
+        }
+
+        public boolean isFitted() {
+            return request != null;
+        }
+
+        public LlmRequest getRequest() {
+            return request;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -1,16 +1,25 @@
 // LlmServiceImpl.java
 package com.yourcompany.llm.service.impl;
 
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executor;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
-import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 
 import com.yourcompany.llm.config.vllm.VllmConfigProperties;
 import com.yourcompany.llm.dto.LlmRequest;
 import com.yourcompany.llm.dto.LlmResponse;
 import com.yourcompany.llm.service.LlmService;
+import com.yourcompany.llm.service.cache.CanonicalRequestKey;
+import com.yourcompany.llm.service.context.ContextWindowFitter;
+import com.yourcompany.llm.service.cache.RequestCoalescer;
+import com.yourcompany.llm.service.cache.ResponseCache;
+import com.yourcompany.llm.service.vllm.RequestHedger;
+import com.yourcompany.llm.service.vllm.RequestRetrier;
 import com.yourcompany.llm.service.vllm.VllmApiClient;
 import com.yourcompany.llm.service.vllm.VllmLoadBalancer;
 
@@ -23,91 +32,169 @@ public class LlmServiceImpl implements LlmService {
     private final VllmConfigProperties vllmConfig;
     private final VllmApiClient vllmApiClient;
     private final VllmLoadBalancer loadBalancer;
-    private final Executor llmTaskExecutor;
-
-    @Override @Retryable(value = { Exception.class }, maxAttempts = 3)
+    private final ResponseCache responseCache;
+    private final RequestCoalescer requestCoalescer;
+    private final RequestHedger requestHedger;
+    private final RequestRetrier requestRetrier;
+    private final ContextWindowFitter contextFitter;
+
+    /**
+     * 검증 → 캐시 조회 → 중복 요청 병합 → 서버 선택 → vLLM 호출(실패 시 다른 서버로 재시도)을 하나의 논블로킹 future 체인으로 구성.
+     * 예외는 오류 응답으로 바꾸되, 반환한 future를 취소하면 재시도기와 lease까지 취소가 전달된다.
+     */
+    @Override
     public CompletableFuture<LlmResponse> generateText(LlmRequest request) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                // 요청 유효성 검증
-                ValidationResult validation = validateRequest(request);
-                if (!validation.isValid()) {
-                    return LlmResponse.error("llama3.2", validation.getMessage());
+        try {
+            // 요청 유효성 검증
+            ValidationResult validation = validateRequest(request);
+            if (!validation.isValid()) {
+                return CompletableFuture.completedFuture(LlmResponse.error("llama3.2", validation.getMessage()));
+            }
+
+            boolean cacheable = responseCache.isCacheable(request);
+            boolean coalescable = requestCoalescer.isCoalescable(request);
+            if (!cacheable && !coalescable) {
+                return recoverFailure(dispatchWithRetry(request));
+            }
+
+            String requestKey = CanonicalRequestKey.of(request);
+
+            // 결정적 요청은 응답 캐시 확인
+            if (cacheable) {
+                Optional<LlmResponse> cached = responseCache.get(requestKey, request);
+                if (cached.isPresent()) {
+                    log.debug("Response cache hit - Key: {}", requestKey);
+                    return CompletableFuture.completedFuture(cached.get());
                 }
+            }
+
+            // 캐시 저장은 부수 효과로만 붙여 추적 중인 future를 그대로 넘긴다 (thenApply 단계는 취소를 전달하지 않음)
+            Supplier<CompletableFuture<LlmResponse>> call = !cacheable ? () -> dispatchWithRetry(request) : () -> {
+                CompletableFuture<LlmResponse> future = dispatchWithRetry(request);
+                future.thenAccept(response -> responseCache.put(requestKey, response));
+                return future;
+            };
 
-                // 최적의 vLLM 서버 선택
-                return loadBalancer.selectServer("llama3.2", VllmLoadBalancer.LoadBalancingStrategy.HEALTH_BASED)
-                        .map(serverName -> {
-                            try {
-                                LlmResponse response = vllmApiClient.chatCompletion(serverName, request).join();
-                                loadBalancer.completeRequest(serverName);
-                                return response;
-                            } catch (Exception e) {
-                                log.error("Failed to generate text with server: {}", serverName, e);
-                                return LlmResponse.error("llama3.2", "Text generation failed: " + e.getMessage());
-                            }
-                        }).orElse(LlmResponse.error("llama3.2", "No available vLLM servers"));
-
-            } catch (Exception e) {
-                log.error("Error in generateText", e);
-                return LlmResponse.error("llama3.2", "Service error: " + e.getMessage());
+            // 동일한 요청이 진행 중이면 그 결과를 공유
+            return recoverFailure(coalescable ? requestCoalescer.execute(requestKey, request, call) : call.get());
+
+        } catch (Exception e) {
+            log.error("Error in generateText", e);
+            return CompletableFuture.completedFuture(LlmResponse.error("llama3.2", "Service error: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 예외 완료를 오류 응답으로 변환 - exceptionally와 달리 반환한 future의 취소를 원래 future로 전달
+     */
+    private static CompletableFuture<LlmResponse> recoverFailure(CompletableFuture<LlmResponse> future) {
+        CompletableFuture<LlmResponse> result = new CompletableFuture<>();
+        future.whenComplete((response, throwable) -> {
+            if (throwable == null) {
+                result.complete(response);
+                return;
+            }
+            Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                    ? throwable.getCause() : throwable;
+            log.error("Error in generateText", cause);
+            result.complete(LlmResponse.error("llama3.2", "Text generation failed: " + cause.getMessage()));
+        });
+        result.whenComplete((response, throwable) -> {
+            if (result.isCancelled()) {
+                future.cancel(true);
             }
-        }, llmTaskExecutor);
+        });
+        return result;
+    }
+
+    private CompletableFuture<LlmResponse> dispatchWithRetry(LlmRequest request) {
+        return requestRetrier.execute(request, triedServers -> dispatch(request, triedServers));
+    }
+
+    /**
+     * 최적의 vLLM 서버를 선택해 요청 전송 (짧은 생성 요청은 헤지 대상) - 재시도 시 이미 시도한 서버는 우선 제외.
+     * 재시도기가 취소(호출자 취소, 마감 시간)를 전달할 수 있도록 lease가 추적하는 future를 그대로 반환한다.
+     * 파생 단계(exceptionally 등)를 반환하면 취소가 lease까지 전달되지 않아 lease가 반납되지 않는다.
+     */
+    private CompletableFuture<LlmResponse> dispatch(LlmRequest request, Set<String> triedServers) {
+        if (requestHedger.isHedgeable(request)) {
+            return requestHedger.execute(request, triedServers);
+        }
+
+        return loadBalancer.acquireUntriedServer("llama3.2", vllmConfig.getLoadBalancer().getStrategy(), request,
+                        triedServers)
+                .map(lease -> lease.run(serverName -> {
+                    triedServers.add(serverName);
+                    try {
+                        return vllmApiClient.chatCompletion(serverName, request);
+                    } catch (RuntimeException e) {
+                        log.error("Failed to generate text with server: {}", serverName, e);
+                        return CompletableFuture.completedFuture(
+                                LlmResponse.error("llama3.2", "Text generation failed: " + e.getMessage()));
+                    }
+                }))
+                .orElseGet(() -> CompletableFuture
+                        .completedFuture(LlmResponse.error("llama3.2", "No available vLLM servers")));
     }
 
     @Override
     public CompletableFuture<LlmResponse> chatCompletion(LlmRequest request) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                // 채팅 메시지 형태로 변환 (새로운 객체 생성)
-                LlmRequest processedRequest = request;
-                if (request.getMessages() == null && request.getMessage() != null) {
-                    processedRequest = convertToChat(request);
-                }
+        // 채팅 메시지 형태로 변환 (새로운 객체 생성)
+        LlmRequest processedRequest = request;
+        if (request.getMessages() == null && request.getMessage() != null) {
+            processedRequest = convertToChat(request);
+        }
 
-                return generateText(processedRequest).join();
+        // 오류는 generateText가 응답으로 바꾸므로 파생 단계 없이 반환해 취소가 재시도기와 lease까지 전달되게 한다
+        return generateText(processedRequest);
+    }
 
-            } catch (Exception e) {
-                log.error("Error in chatCompletion", e);
-                return LlmResponse.error("llama3.2", "Chat completion failed: " + e.getMessage());
-            }
-        }, llmTaskExecutor);
+    @Override
+    public CompletableFuture<LlmResponse> streamChatCompletion(LlmRequest request, Consumer<String> chunkConsumer) {
+        LlmRequest processedRequest = request;
+        if (request.getMessages() == null && request.getMessage() != null) {
+            processedRequest = convertToChat(request);
+        }
+
+        ValidationResult validation = validateRequest(processedRequest);
+        if (!validation.isValid()) {
+            return CompletableFuture.completedFuture(LlmResponse.error("llama3.2", validation.getMessage()));
+        }
+
+        LlmRequest streamRequest = processedRequest;
+        if (requestCoalescer.isCoalescable(streamRequest)) {
+            return requestCoalescer.executeStream(CanonicalRequestKey.of(streamRequest), streamRequest, chunkConsumer,
+                    consumer -> dispatchStream(streamRequest, consumer));
+        }
+        return dispatchStream(streamRequest, chunkConsumer);
+    }
+
+    private CompletableFuture<LlmResponse> dispatchStream(LlmRequest request, Consumer<String> chunkConsumer) {
+        return loadBalancer.acquireServer("llama3.2", vllmConfig.getLoadBalancer().getStrategy(), request)
+                .map(lease -> lease.run(
+                        serverName -> vllmApiClient.streamChatCompletion(serverName, request, chunkConsumer)))
+                .orElseGet(() -> CompletableFuture
+                        .completedFuture(LlmResponse.error("llama3.2", "No available vLLM servers")));
     }
 
+    /**
+     * 헬스 체커가 주기적으로 갱신한 상태와 passive 제외/서킷 상태를 반영한 로드 밸런서 스냅샷으로 판단 (네트워크 호출 없음)
+     */
     @Override
     public CompletableFuture<String> checkVllmHealth() {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                var enabledServers = vllmConfig.getEnabledServers();
-                if (enabledServers.isEmpty()) {
-                    return "DOWN - No servers configured";
-                }
-
-                long healthyCount = enabledServers.stream().mapToLong(server -> {
-                    try {
-                        // 간단한 포트 체크
-                        java.net.Socket socket = new java.net.Socket();
-                        socket.connect(new java.net.InetSocketAddress(server.getHost(), server.getPort()), 2000);
-                        socket.close();
-                        return 1;
-                    } catch (Exception e) {
-                        return 0;
-                    }
-                }).sum();
-
-                if (healthyCount == 0) {
-                    return "DOWN";
-                } else if (healthyCount < enabledServers.size()) {
-                    return "DEGRADED";
-                } else {
-                    return "UP";
-                }
+        int enabledServers = vllmConfig.getEnabledServers().size();
+        if (enabledServers == 0) {
+            return CompletableFuture.completedFuture("DOWN - No servers configured");
+        }
 
-            } catch (Exception e) {
-                log.error("Health check failed", e);
-                return "ERROR";
-            }
-        }, llmTaskExecutor);
+        int availableServers = loadBalancer.availableServerCount();
+        if (availableServers == 0) {
+            return CompletableFuture.completedFuture("DOWN");
+        } else if (availableServers < enabledServers) {
+            return CompletableFuture.completedFuture("DEGRADED");
+        } else {
+            return CompletableFuture.completedFuture("UP");
+        }
     }
 
     @Override
@@ -122,10 +209,13 @@ public class LlmServiceImpl implements LlmService {
             return ValidationResult.invalid("Either message or messages must be provided");
         }
 
-        // 토큰 제한 확인 (Llama 3.2 기본 8K 컨텍스트)
-        int estimatedTokens = estimateTokens(request);
-        if (estimatedTokens > 8192) {
-            return ValidationResult.invalid("Request exceeds Llama 3.2 context limit (8192 tokens)");
+        // 토큰 제한 확인 - 이력을 줄여도 가장 큰 서버 컨텍스트에 들어가지 않으면 거절 (서버별 조정은 전송 직전에)
+        int contextLimit = vllmConfig.getEnabledServers().stream().mapToInt(ContextWindowFitter::contextLimit).max()
+                .orElse(Integer.MAX_VALUE);
+        int requiredTokens = contextFitter.requiredPromptTokens(request);
+        if (requiredTokens >= contextLimit) {
+            return ValidationResult.invalid("Request exceeds Llama 3.2 context limit (" + requiredTokens
+                    + " prompt tokens, limit " + contextLimit + ")");
         }
 
         // 파라미터 범위 검증
@@ -144,7 +234,8 @@ public class LlmServiceImpl implements LlmService {
         // 새로운 LlmRequest 객체 생성 (원본 수정 방지)
         LlmRequest chatRequest = LlmRequest.builder().model("llama3.2").temperature(originalRequest.getTemperature())
                 .maxTokens(originalRequest.getMaxTokens()).requestId(originalRequest.getRequestId())
-                .user(originalRequest.getUser()).build();
+                .user(originalRequest.getUser()).stream(originalRequest.getStream())
+                .priority(originalRequest.getPriority()).build();
 
         // 단일 메시지를 채팅 형태로 변환
         LlmRequest.Message userMessage = LlmRequest.Message.builder().role("user").content(originalRequest.getMessage())
@@ -162,31 +253,4 @@ public class LlmServiceImpl implements LlmService {
 
         return chatRequest;
     }
-
-    private int estimateTokens(LlmRequest request) {
-        int totalTokens = 0;
-
-        // 단일 메시지 토큰 추정
-        if (request.getMessage() != null) {
-            totalTokens += request.getMessage().length() / 4; // 대략 4글자당 1토큰
-        }
-
-        // 메시지 리스트 토큰 추정
-        if (request.getMessages() != null) {
-            for (LlmRequest.Message message : request.getMessages()) {
-                if (message.getContent() != null) {
-                    totalTokens += message.getContent().length() / 4;
-                    totalTokens += 4; // 메시지 구조 토큰
-                }
-            }
-        }
-
-        // 시스템 프롬프트 토큰
-        if (request.getSystemPrompt() != null) {
-            totalTokens += request.getSystemPrompt().length() / 4;
-            totalTokens += 4; // 시스템 메시지 구조 토큰
-        }
-
-        return Math.max(1, totalTokens);
-    }
 }
\ No newline at end of file
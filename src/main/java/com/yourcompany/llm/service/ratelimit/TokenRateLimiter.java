@@ -0,0 +1,222 @@
+// TokenRateLimiter.java
+package com.yourcompany.llm.service.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.yourcompany.llm.config.vllm.LlmConfigProperties;
+import com.yourcompany.llm.dto.LlmRequest;
+import com.yourcompany.llm.dto.LlmResponse;
+import com.yourcompany.llm.service.tokenizer.TokenCounter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 클라이언트(API 키 / user / IP)별 토큰 버킷 속도 제한 - 요청 수가 아니라 LLM 토큰 수로 계량.
+ * 요청 시 예상 프롬프트 토큰 + maxTokens를 먼저 차감하고, 응답의 usage가 나오면 차액을 돌려준다.
+ *
+ * 버킷은 GCRA(theoretical arrival time) 방식으로 AtomicLong 하나에 상태를 담아 CAS로만 갱신하며,
+ * 버킷 맵은 striped 구조인 Caffeine 캐시로 유휴 버킷을 자동 만료한다.
+ */
+@Slf4j
+@Component
+public class TokenRateLimiter {
+
+    private final LlmConfigProperties.RateLimitSettings settings;
+    private final TokenCounter tokenCounter;
+    private final Cache<String, Bucket> buckets;
+    private final double nanosPerToken;
+    private final long burstNanos;
+
+    private final Counter rejected;
+    private final Counter refundedTokens;
+
+    public TokenRateLimiter(LlmConfigProperties llmConfig, TokenCounter tokenCounter, MeterRegistry meterRegistry) {
+        this.settings = llmConfig.getRateLimit();
+        this.tokenCounter = tokenCounter;
+        this.nanosPerToken = (double) TimeUnit.MINUTES.toNanos(1) / settings.getTokensPerMinute();
+        this.burstNanos = (long) (settings.getBurstTokens() * nanosPerToken);
+        this.buckets = Caffeine.newBuilder()
+            .maximumSize(settings.getMaxClients())
+            .expireAfterAccess(settings.getIdleExpiry())
+            .build();
+
+        this.rejected = Counter.builder("llm.ratelimit.rejected")
+            .description("Requests rejected by the per-client token rate limit")
+            .register(meterRegistry);
+        this.refundedTokens = Counter.builder("llm.ratelimit.refunded.tokens")
+            .description("Reserved tokens returned after actual usage was known")
+            .register(meterRegistry);
+        Gauge.builder("llm.ratelimit.clients", buckets, Cache::estimatedSize)
+            .description("Clients with an active token bucket")
+            .register(meterRegistry);
+
+        log.info("✅ Token rate limiter configured - Enabled: {}, Tokens/min: {}, Burst: {}",
+            settings.getEnabled(), settings.getTokensPerMinute(), settings.getBurstTokens());
+    }
+
+    /**
+     * 예상 토큰만큼 예약 - 거절되면 isGranted()가 false, 승인되면 응답 후 settle() 호출
+     */
+    public Reservation reserve(String clientKey, LlmRequest request) {
+        if (!Boolean.TRUE.equals(settings.getEnabled())) {
+            return Reservation.UNLIMITED;
+        }
+
+        long tokens = tokenCounter.countRequestTokens(request);
+        Reservation reservation = buckets.get(clientKey, key -> new Bucket()).tryConsume(tokens);
+        if (!reservation.isGranted()) {
+            rejected.increment();
+            log.debug("Token rate limit exceeded - Client: {}, Requested: {}, Remaining: {}",
+                clientKey, tokens, reservation.getRemainingTokens());
+        }
+        return reservation;
+    }
+
+    /**
+     * 클라이언트 식별 키 - API 키 > 요청의 user > 원격 주소 순
+     */
+    public String clientKey(String apiKey, String user, String remoteAddress) {
+        if (apiKey != null && !apiKey.isBlank()) {
+            return "key:" + apiKey;
+        }
+        if (user != null && !user.isBlank()) {
+            return "user:" + user;
+        }
+        return "ip:" + remoteAddress;
+    }
+
+    public String getApiKeyHeader() {
+        return settings.getApiKeyHeader();
+    }
+
+    public long getLimitTokens() {
+        return settings.getBurstTokens();
+    }
+
+    /**
+     * 실제 사용량으로 정산 (예약당 한 번만 적용) - 예약보다 적게 쓰면 차액 반환, 많이 쓰면 추가 차감
+     */
+    public void settle(Reservation reservation, LlmResponse response) {
+        if (reservation.bucket == null || !reservation.granted || !reservation.settled.compareAndSet(false, true)) {
+            return;
+        }
+        long difference = reservation.reservedTokens - actualTokens(response);
+        if (difference == 0) {
+            return;
+        }
+        reservation.remainingTokens = reservation.bucket.adjust(difference);
+        reservation.resetNanos = burstNanos - (long) (reservation.remainingTokens * nanosPerToken);
+        if (difference > 0) {
+            refundedTokens.increment(difference);
+        }
+    }
+
+    /**
+     * 응답에서 실제 사용 토큰 (캐시 적중과 실패는 0)
+     */
+    private static long actualTokens(LlmResponse response) {
+        if (response == null || !response.isSuccess() || response.isCached()) {
+            return 0;
+        }
+        if (response.getUsage() != null && response.getUsage().getTotalTokens() != null) {
+            return response.getUsage().getTotalTokens();
+        }
+        return response.getTokensUsed() != null ? response.getTokensUsed() : 0;
+    }
+
+    /**
+     * 클라이언트 하나의 버킷 - 가득 찬 상태를 기준으로 한 가상 도착 시각(TAT)만 저장
+     */
+    private final class Bucket {
+        private final AtomicLong theoreticalArrivalNanos = new AtomicLong(System.nanoTime());
+
+        Reservation tryConsume(long tokens) {
+            long costNanos = (long) (tokens * nanosPerToken);
+            while (true) {
+                long now = System.nanoTime();
+                long tat = theoreticalArrivalNanos.get();
+                long base = Math.max(tat, now);
+                long next = base + costNanos;
+
+                if (next - now > burstNanos) {
+                    long remaining = toTokens(burstNanos - (base - now));
+                    long retryAfterNanos = costNanos > burstNanos ? -1 : next - now - burstNanos;
+                    return new Reservation(this, false, 0, remaining, retryAfterNanos, base - now);
+                }
+                if (theoreticalArrivalNanos.compareAndSet(tat, next)) {
+                    return new Reservation(this, true, tokens, toTokens(burstNanos - (next - now)), 0, next - now);
+                }
+            }
+        }
+
+        /** 양수면 돌려주고 음수면 추가 차감 */
+        long adjust(long tokens) {
+            long deltaNanos = (long) (tokens * nanosPerToken);
+            long now = System.nanoTime();
+            long tat = theoreticalArrivalNanos.updateAndGet(current -> Math.max(current, now) - deltaNanos);
+            return toTokens(burstNanos - Math.max(0, tat - now));
+        }
+
+        private long toTokens(long nanos) {
+            return Math.max(0, (long) (nanos / nanosPerToken));
+        }
+    }
+
+    /**
+     * 예약 결과 - 응답 헤더(남은 토큰, 초기화까지 남은 시간)와 정산(settle)에 사용
+     */
+    public static final class Reservation {
+
+        static final Reservation UNLIMITED = new Reservation(null, true, 0, -1, 0, 0);
+
+        private final Bucket bucket;
+        private final boolean granted;
+        private final long reservedTokens;
+        private final long retryAfterNanos;
+        private final AtomicBoolean settled = new AtomicBoolean();
+        private volatile long remainingTokens;
+        private volatile long resetNanos;
+
+        private Reservation(Bucket bucket, boolean granted, long reservedTokens, long remainingTokens,
+                            long retryAfterNanos, long resetNanos) {
+            this.bucket = bucket;
+            this.granted = granted;
+            this.reservedTokens = reservedTokens;
+            this.remainingTokens = remainingTokens;
+            this.retryAfterNanos = retryAfterNanos;
+            this.resetNanos = resetNanos;
+        }
+
+        public boolean isGranted() {
+            return granted;
+        }
+
+        public boolean isLimited() {
+            return bucket != null;
+        }
+
+        /** 남은 토큰 (정산 후 갱신) */
+        public long getRemainingTokens() {
+            return remainingTokens;
+        }
+
+        /** 버킷이 가득 찰 때까지 남은 시간 (초, 올림) */
+        public long getResetSeconds() {
+            return (long) Math.ceil(resetNanos / 1e9);
+        }
+
+        /** 재시도 권장 시간 (초, 올림) - 요청 하나가 버킷 크기보다 커서 영영 통과할 수 없으면 -1 */
+        public long getRetryAfterSeconds() {
+            return retryAfterNanos < 0 ? -1 : Math.max(1, (long) Math.ceil(retryAfterNanos / 1e9));
+        }
+    }
+}
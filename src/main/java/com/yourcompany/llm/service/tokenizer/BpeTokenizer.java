@@ -0,0 +1,412 @@
+// BpeTokenizer.java
+package com.yourcompany.llm.service.tokenizer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Base64;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * tiktoken 방식의 바이트 단위 BPE 토크나이저 (Llama 3 어휘).
+ * Llama 3 사전 분할 정규식을 코드 포인트 스캐너로 직접 구현하고, 조각마다 UTF-8 바이트를 재사용 버퍼에 인코딩한 뒤
+ * rank가 가장 낮은 인접 쌍부터 병합한다. 병합 상태는 int[]로만 다뤄 토큰 단위 객체 할당이 없다.
+ *
+ * 특수 토큰(<|begin_of_text|> 등)은 어휘에 포함하지 않으며, 채팅 템플릿 오버헤드는 호출하는 쪽에서 더한다.
+ * 인스턴스는 불변이라 여러 스레드에서 공유해도 안전하다.
+ */
+public final class BpeTokenizer {
+
+    /** 이보다 긴 조각은 나눠서 병합 - 병합이 조각 길이의 제곱에 비례하므로 악의적인 입력의 CPU 사용 상한 */
+    private static final int MAX_PIECE_BYTES = 2048;
+
+    private static final int NO_RANK = Integer.MAX_VALUE;
+
+    private static final byte LETTER = 1;
+    private static final byte NUMBER = 2;
+    private static final byte SPACE = 3;
+    private static final byte SYMBOL = 4;
+    private static final byte[] ASCII_CLASSES = new byte[128];
+
+    static {
+        for (int c = 0; c < 128; c++) {
+            ASCII_CLASSES[c] = Character.isLetter(c) ? LETTER
+                : Character.isDigit(c) ? NUMBER
+                : (c >= 0x09 && c <= 0x0D) || c == ' ' ? SPACE
+                : SYMBOL;
+        }
+    }
+
+    private final TokenRankTable ranks;
+
+    BpeTokenizer(TokenRankTable ranks) {
+        this.ranks = ranks;
+    }
+
+    /**
+     * 어휘 파일 로드 - tiktoken 형식(tokenizer.model, "base64 rank" 줄 목록) 또는 Hugging Face tokenizer.json
+     */
+    public static BpeTokenizer load(Path path) throws IOException {
+        String fileName = path.getFileName().toString();
+        TokenRankTable table = fileName.endsWith(".json") ? readHuggingFace(path) : readTiktoken(path);
+        if (table.size() < 256) {
+            throw new IOException("Vocabulary too small (" + table.size() + " tokens): " + path);
+        }
+        return new BpeTokenizer(table);
+    }
+
+    public int vocabularySize() {
+        return ranks.size();
+    }
+
+    /**
+     * 토큰 수만 계산 (토큰 ID 배열을 만들지 않음)
+     */
+    public int countTokens(CharSequence text) {
+        if (text == null || text.length() == 0) {
+            return 0;
+        }
+        Scratch scratch = new Scratch(text.length());
+        int count = 0;
+        for (int start = 0, length = text.length(); start < length; ) {
+            int end = pieceEnd(text, start);
+            int byteCount = scratch.encodeUtf8(text, start, end);
+            for (int from = 0; from < byteCount; from += MAX_PIECE_BYTES) {
+                count += merge(scratch, from, Math.min(byteCount, from + MAX_PIECE_BYTES));
+            }
+            start = end;
+        }
+        return count;
+    }
+
+    /**
+     * 토큰 ID 배열로 인코딩
+     */
+    public int[] encode(CharSequence text) {
+        if (text == null || text.length() == 0) {
+            return new int[0];
+        }
+        Scratch scratch = new Scratch(text.length());
+        int[] tokens = new int[Math.max(16, text.length() / 2)];
+        int count = 0;
+        for (int start = 0, length = text.length(); start < length; ) {
+            int end = pieceEnd(text, start);
+            int byteCount = scratch.encodeUtf8(text, start, end);
+            for (int from = 0; from < byteCount; from += MAX_PIECE_BYTES) {
+                int to = Math.min(byteCount, from + MAX_PIECE_BYTES);
+                int parts = merge(scratch, from, to);
+                if (count + parts > tokens.length) {
+                    tokens = Arrays.copyOf(tokens, Math.max(tokens.length * 2, count + parts));
+                }
+                if (parts == 1) {
+                    tokens[count++] = ranks.rank(scratch.bytes, from, to);
+                } else {
+                    for (int i = 0; i < parts; i++) {
+                        tokens[count++] = ranks.rank(scratch.bytes, scratch.bounds[i], scratch.bounds[i + 1]);
+                    }
+                }
+            }
+            start = end;
+        }
+        return Arrays.copyOf(tokens, count);
+    }
+
+    /**
+     * bytes[from, to) 조각을 BPE 병합하고 토큰 수 반환.
+     * 2개 이상이면 scratch.bounds[0..parts]에 토큰 경계가 남는다 (tiktoken byte_pair_merge와 동일한 순서).
+     */
+    private int merge(Scratch scratch, int from, int to) {
+        byte[] bytes = scratch.bytes;
+        int length = to - from;
+        if (length == 1 || ranks.rank(bytes, from, to) >= 0) {
+            return 1; // 조각 전체가 하나의 토큰 (대부분의 단어)
+        }
+
+        int[] bounds = scratch.bounds;
+        int[] pairRanks = scratch.pairRanks;
+        int parts = length + 1; // 경계 개수
+        for (int i = 0; i < parts; i++) {
+            bounds[i] = from + i;
+            pairRanks[i] = NO_RANK;
+        }
+        for (int i = 0; i + 2 < parts; i++) {
+            pairRanks[i] = pairRank(bytes, bounds[i], bounds[i + 2]);
+        }
+
+        while (parts > 2) {
+            int min = NO_RANK;
+            int at = -1;
+            for (int i = 0; i + 2 < parts; i++) {
+                if (pairRanks[i] < min) {
+                    min = pairRanks[i];
+                    at = i;
+                }
+            }
+            if (at < 0) {
+                break;
+            }
+
+            // at과 at+1 조각을 합치고 양옆 쌍의 rank만 다시 계산
+            pairRanks[at] = at + 3 < parts ? pairRank(bytes, bounds[at], bounds[at + 3]) : NO_RANK;
+            if (at > 0) {
+                pairRanks[at - 1] = pairRank(bytes, bounds[at - 1], bounds[at + 2]);
+            }
+            System.arraycopy(bounds, at + 2, bounds, at + 1, parts - at - 2);
+            System.arraycopy(pairRanks, at + 2, pairRanks, at + 1, parts - at - 2);
+            parts--;
+        }
+        return parts - 1;
+    }
+
+    private int pairRank(byte[] bytes, int from, int to) {
+        int rank = ranks.rank(bytes, from, to);
+        return rank < 0 ? NO_RANK : rank;
+    }
+
+    /**
+     * start에서 시작하는 사전 분할 조각의 끝 (char 인덱스). Llama 3 정규식과 같은 결과를 낸다:
+     * (?i:'s|'t|'re|'ve|'m|'ll|'d)|[^\r\n\p{L}\p{N}]?\p{L}+|\p{N}{1,3}| ?[^\s\p{L}\p{N}]+[\r\n]*|\s*[\r\n]+|\s+(?!\S)|\s+
+     */
+    static int pieceEnd(CharSequence text, int start) {
+        int length = text.length();
+        int cp = Character.codePointAt(text, start);
+        int next = start + Character.charCount(cp);
+        byte type = classOf(cp);
+
+        // 's 't 're 've 'm 'll 'd (대소문자 무시)
+        if (cp == '\'' && next < length) {
+            char c1 = Character.toLowerCase(text.charAt(next));
+            if (c1 == 's' || c1 == 't' || c1 == 'm' || c1 == 'd') {
+                return next + 1;
+            }
+            if (next + 1 < length) {
+                char c2 = Character.toLowerCase(text.charAt(next + 1));
+                if (((c1 == 'r' || c1 == 'v') && c2 == 'e') || (c1 == 'l' && c2 == 'l')) {
+                    return next + 2;
+                }
+            }
+        }
+
+        // [^\r\n\p{L}\p{N}]?\p{L}+
+        if (type == LETTER) {
+            return skip(text, next, LETTER, Integer.MAX_VALUE);
+        }
+        if (type != NUMBER && !isNewline(cp) && next < length && classOf(Character.codePointAt(text, next)) == LETTER) {
+            return skip(text, next, LETTER, Integer.MAX_VALUE);
+        }
+
+        // \p{N}{1,3}
+        if (type == NUMBER) {
+            return skip(text, next, NUMBER, 2);
+        }
+
+        // ' ?[^\s\p{L}\p{N}]+[\r\n]*'
+        int symbolStart = cp == ' ' ? next : start;
+        if (symbolStart < length && classOf(Character.codePointAt(text, symbolStart)) == SYMBOL) {
+            int end = skip(text, symbolStart, SYMBOL, Integer.MAX_VALUE);
+            while (end < length && isNewline(text.charAt(end))) {
+                end++;
+            }
+            return end;
+        }
+
+        // 여기부터 cp는 공백 - \s*[\r\n]+ | \s+(?!\S) | \s+
+        int end = start;
+        int lastNewline = -1;
+        while (end < length) {
+            char c = text.charAt(end); // 공백 문자는 모두 BMP
+            if (classOf(c) != SPACE) {
+                break;
+            }
+            if (isNewline(c)) {
+                lastNewline = end;
+            }
+            end++;
+        }
+        if (lastNewline >= 0) {
+            return lastNewline + 1;
+        }
+        if (end == length || end - start == 1) {
+            return end;
+        }
+        return end - 1; // 마지막 공백은 다음 단어에 붙도록 남김
+    }
+
+    /** from부터 type 문자가 이어지는 끝 (최대 limit개) */
+    private static int skip(CharSequence text, int from, byte type, int limit) {
+        int end = from;
+        for (int n = 0; n < limit && end < text.length(); n++) {
+            int cp = Character.codePointAt(text, end);
+            if (classOf(cp) != type) {
+                break;
+            }
+            end += Character.charCount(cp);
+        }
+        return end;
+    }
+
+    private static byte classOf(int cp) {
+        if (cp < 128) {
+            return ASCII_CLASSES[cp];
+        }
+        if (Character.isLetter(cp)) {
+            return LETTER;
+        }
+        switch (Character.getType(cp)) {
+            case Character.DECIMAL_DIGIT_NUMBER:
+            case Character.LETTER_NUMBER:
+            case Character.OTHER_NUMBER:
+                return NUMBER;
+            default:
+                // Unicode White_Space = 구분자(Zs/Zl/Zp) + U+0085
+                return Character.isSpaceChar(cp) || cp == 0x85 ? SPACE : SYMBOL;
+        }
+    }
+
+    private static boolean isNewline(int cp) {
+        return cp == '\n' || cp == '\r';
+    }
+
+    // ===== 어휘 파일 로드 =====
+
+    private static TokenRankTable readTiktoken(Path path) throws IOException {
+        TokenRankTable.Builder builder = new TokenRankTable.Builder();
+        Base64.Decoder decoder = Base64.getDecoder();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.US_ASCII)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int space = line.indexOf(' ');
+                if (space <= 0) {
+                    continue;
+                }
+                builder.add(decoder.decode(line.substring(0, space)), Integer.parseInt(line.substring(space + 1).trim()));
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Malformed tiktoken vocabulary: " + path, e);
+        }
+        return builder.build();
+    }
+
+    /**
+     * tokenizer.json의 model.vocab (GPT-2 바이트→유니코드 매핑 문자열 → ID)을 읽는다. ID가 곧 병합 rank.
+     */
+    private static TokenRankTable readHuggingFace(Path path) throws IOException {
+        int[] unicodeToByte = unicodeToByteTable();
+        TokenRankTable.Builder builder = new TokenRankTable.Builder();
+        try (InputStream in = Files.newInputStream(path);
+             JsonParser parser = new JsonFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT || !moveToField(parser, "model")
+                || parser.nextToken() != JsonToken.START_OBJECT || !moveToField(parser, "vocab")
+                || parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("tokenizer.json has no model.vocab: " + path);
+            }
+            byte[] buffer = new byte[1024];
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String token = parser.getCurrentName();
+                parser.nextToken();
+                int id = parser.getIntValue();
+                int length = 0;
+                boolean valid = token.length() <= buffer.length;
+                for (int i = 0; valid && i < token.length(); i++) {
+                    char c = token.charAt(i);
+                    valid = c < unicodeToByte.length && unicodeToByte[c] >= 0;
+                    if (valid) {
+                        buffer[length++] = (byte) unicodeToByte[c];
+                    }
+                }
+                if (valid) {
+                    builder.add(Arrays.copyOf(buffer, length), id);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    /** 현재 객체 안에서 name 필드로 이동 (다른 필드 값은 건너뜀) */
+    private static boolean moveToField(JsonParser parser, String name) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            if (name.equals(parser.getCurrentName())) {
+                return true;
+            }
+            parser.nextToken();
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    /** GPT-2 bytes_to_unicode의 역매핑 - 출력 가능한 바이트는 그대로, 나머지는 U+0100부터 순서대로 */
+    private static int[] unicodeToByteTable() {
+        int[] table = new int[256 + 256];
+        Arrays.fill(table, -1);
+        int extra = 0;
+        for (int b = 0; b < 256; b++) {
+            boolean printable = (b >= '!' && b <= '~') || (b >= 0xA1 && b <= 0xAC) || (b >= 0xAE && b <= 0xFF);
+            table[printable ? b : 256 + extra++] = b;
+        }
+        return table;
+    }
+
+    /**
+     * 호출 하나에서 재사용하는 작업 버퍼
+     */
+    private static final class Scratch {
+        private byte[] bytes;
+        private int[] bounds;
+        private int[] pairRanks;
+
+        Scratch(int textLength) {
+            int initial = Math.min(MAX_PIECE_BYTES, Math.max(64, textLength * 3)) + 1;
+            this.bytes = new byte[initial];
+            this.bounds = new int[initial];
+            this.pairRanks = new int[initial];
+        }
+
+        /** text[from, to)를 UTF-8로 bytes에 쓰고 바이트 수 반환 (짝 없는 surrogate는 U+FFFD) */
+        int encodeUtf8(CharSequence text, int from, int to) {
+            int required = (to - from) * 3;
+            if (required > bytes.length) {
+                bytes = new byte[required];
+            }
+            if (Math.min(required, MAX_PIECE_BYTES) + 1 > bounds.length) {
+                bounds = new int[MAX_PIECE_BYTES + 1];
+                pairRanks = new int[MAX_PIECE_BYTES + 1];
+            }
+
+            byte[] out = bytes;
+            int p = 0;
+            for (int i = from; i < to; i++) {
+                char c = text.charAt(i);
+                if (c < 0x80) {
+                    out[p++] = (byte) c;
+                } else if (c < 0x800) {
+                    out[p++] = (byte) (0xC0 | (c >> 6));
+                    out[p++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    if (Character.isHighSurrogate(c) && i + 1 < to && Character.isLowSurrogate(text.charAt(i + 1))) {
+                        int cp = Character.toCodePoint(c, text.charAt(++i));
+                        out[p++] = (byte) (0xF0 | (cp >> 18));
+                        out[p++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                        out[p++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                        out[p++] = (byte) (0x80 | (cp & 0x3F));
+                    } else {
+                        out[p++] = (byte) 0xEF;
+                        out[p++] = (byte) 0xBF;
+                        out[p++] = (byte) 0xBD;
+                    }
+                } else {
+                    out[p++] = (byte) (0xE0 | (c >> 12));
+                    out[p++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    out[p++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+            return p;
+        }
+    }
+}
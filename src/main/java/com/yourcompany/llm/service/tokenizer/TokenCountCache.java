@@ -0,0 +1,88 @@
+// TokenCountCache.java
+package com.yourcompany.llm.service.tokenizer;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 텍스트 내용 해시 → 토큰 수 캐시 (고정 크기, 2-way set associative).
+ * 항목 하나는 long 하나에 [해시 태그 40비트 | 토큰 수 24비트]로 담겨 한 번의 원자적 읽기/쓰기로 일관성이 보장되며,
+ * 락이나 항목 객체 없이 용량 x 8바이트만 사용한다. 슬롯 위치에 쓰인 해시 하위 비트까지 합치면 약 55비트로 비교하므로
+ * 충돌로 다른 텍스트의 토큰 수를 돌려줄 확률은 무시할 수 있다.
+ */
+final class TokenCountCache {
+
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final AtomicLongArray entries;
+    private final int mask;
+
+    /**
+     * capacity 이상인 2의 거듭제곱 칸 수로 생성 (두 칸이 한 묶음이므로 최소 2칸), 0 이하이면 아무것도 저장하지 않는다
+     */
+    TokenCountCache(int capacity) {
+        int size = capacity > 0 ? Integer.highestOneBit(Math.max(1, capacity - 1)) << 1 : 0;
+        this.entries = new AtomicLongArray(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * 캐시된 토큰 수, 없으면 -1
+     */
+    int get(long hash) {
+        if (mask < 0) {
+            return -1;
+        }
+        long tag = tag(hash);
+        int slot = (int) hash & mask;
+        long entry = entries.get(slot);
+        if (entry >>> COUNT_BITS == tag) {
+            return (int) (entry & COUNT_MASK);
+        }
+        entry = entries.get(slot ^ 1);
+        if (entry >>> COUNT_BITS == tag) {
+            return (int) (entry & COUNT_MASK);
+        }
+        return -1;
+    }
+
+    /**
+     * 저장 - 두 칸이 모두 차 있으면 먼저 있던 항목을 옆 칸으로 밀어내고 그 칸의 항목은 버린다
+     */
+    void put(long hash, int count) {
+        if (mask < 0 || count < 0 || count > COUNT_MASK) {
+            return;
+        }
+        long entry = tag(hash) << COUNT_BITS | count;
+        int slot = (int) hash & mask;
+        long current = entries.get(slot);
+        if (current != 0 && current >>> COUNT_BITS != tag(hash)) {
+            entries.lazySet(slot ^ 1, current);
+        }
+        entries.lazySet(slot, entry);
+    }
+
+    int capacity() {
+        return entries.length();
+    }
+
+    /**
+     * UTF-16 코드 단위 기준 64비트 해시 (FNV-1a + 최종 혼합)
+     */
+    static long hash(CharSequence text) {
+        long h = 0xCBF29CE484222325L ^ text.length();
+        for (int i = 0, length = text.length(); i < length; i++) {
+            h ^= text.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /** 0은 빈 칸이므로 태그는 항상 홀수 */
+    private static long tag(long hash) {
+        return hash >>> COUNT_BITS | 1;
+    }
+}
@@ -0,0 +1,167 @@
+// TokenCounter.java
+package com.yourcompany.llm.service.tokenizer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.yourcompany.llm.config.vllm.LlmConfigProperties;
+import com.yourcompany.llm.dto.LlmRequest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Llama 3 채팅 템플릿 기준 프롬프트 토큰 계산 - 컨텍스트 한도 검증, maxTokens 보정, 속도 제한/수용 제어/로드 밸런싱 비용에 사용.
+ * 어휘 파일(llm.tokenizer.vocab-path)이 없으면 텍스트 토큰 수를 글자 수/4로 추정한다.
+ *
+ * 멀티턴 대화는 매 요청마다 같은 시스템 프롬프트와 이전 턴을 다시 보내므로, 메시지 내용별 토큰 수를 내용 해시로 캐시해
+ * 요청당 토큰화 비용이 전체 이력이 아니라 새 턴에 비례하도록 한다 (이전 턴은 해시 계산만).
+ */
+@Slf4j
+@Component
+public class TokenCounter {
+
+    private static final int BEGIN_OF_TEXT_TOKENS = 1; // <|begin_of_text|>
+
+    private final BpeTokenizer tokenizer;
+    private final int messageOverheadTokens;
+    private final TokenCountCache cache;
+    private final int cacheMinLength;
+
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+
+    public TokenCounter(LlmConfigProperties llmConfig, MeterRegistry meterRegistry) {
+        LlmConfigProperties.TokenizerSettings settings = llmConfig.getTokenizer();
+        this.messageOverheadTokens = settings.getTemplateOverheadTokens();
+        this.tokenizer = load(settings.getVocabPath());
+        this.cache = tokenizer != null && settings.getCacheEntries() > 0
+            ? new TokenCountCache(settings.getCacheEntries()) : null;
+        this.cacheMinLength = settings.getCacheMinLength();
+
+        this.cacheHits = Counter.builder("llm.tokenizer.cache.hits")
+            .description("Token counts served from the content-hash cache")
+            .register(meterRegistry);
+        this.cacheMisses = Counter.builder("llm.tokenizer.cache.misses")
+            .description("Texts tokenized because their token count was not cached")
+            .register(meterRegistry);
+        if (cache != null) {
+            Gauge.builder("llm.tokenizer.cache.capacity", cache, TokenCountCache::capacity)
+                .description("Entries the token count cache can hold")
+                .register(meterRegistry);
+        }
+    }
+
+    /**
+     * 어휘를 로드했으면 true, 글자 수 추정으로 대체 중이면 false
+     */
+    public boolean isExact() {
+        return tokenizer != null;
+    }
+
+    /**
+     * 텍스트의 토큰 수 (특수 토큰 제외) - cache-min-length 이상이면 내용 해시로 캐시
+     */
+    public int countTokens(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        if (tokenizer == null) {
+            return text.length() / 4;
+        }
+        if (cache == null || text.length() < cacheMinLength) {
+            return tokenizer.countTokens(text);
+        }
+
+        long hash = TokenCountCache.hash(text);
+        int cached = cache.get(hash);
+        if (cached >= 0) {
+            cacheHits.increment();
+            return cached;
+        }
+        cacheMisses.increment();
+        int count = tokenizer.countTokens(text);
+        cache.put(hash, count);
+        return count;
+    }
+
+    /**
+     * vLLM에 전달되는 채팅 프롬프트의 토큰 수 - messages가 있으면 그대로, 없으면 systemPrompt + message로 구성.
+     * 메시지마다 헤더/종료 특수 토큰과 role 토큰, 끝에 생성용 assistant 헤더를 더한다.
+     */
+    public int countPromptTokens(LlmRequest request) {
+        if (request == null) {
+            return 0;
+        }
+
+        int total = promptOverheadTokens();
+        List<LlmRequest.Message> messages = request.getMessages();
+        if (messages != null && !messages.isEmpty()) {
+            for (LlmRequest.Message message : messages) {
+                total += countMessageTokens(message);
+            }
+        } else {
+            if (request.getSystemPrompt() != null) {
+                total += countMessageTokens("system", request.getSystemPrompt());
+            }
+            total += countMessageTokens("user", request.getMessage());
+        }
+        return total;
+    }
+
+    /**
+     * 메시지 하나의 토큰 수 - 헤더/종료 특수 토큰과 role 포함
+     */
+    public int countMessageTokens(LlmRequest.Message message) {
+        return countMessageTokens(message.getRole(), message.getContent());
+    }
+
+    /**
+     * 메시지와 무관한 프롬프트 고정 토큰 - <|begin_of_text|> + 생성용 assistant 헤더 (<|eot_id|> 없음)
+     */
+    public int promptOverheadTokens() {
+        return BEGIN_OF_TEXT_TOKENS + countMessageTokens("assistant", null) - 1;
+    }
+
+    /**
+     * 예상 총 비용 - 프롬프트 토큰 + maxTokens (미지정 시 1000)
+     */
+    public long countRequestTokens(LlmRequest request) {
+        if (request == null) {
+            return 0;
+        }
+        return (long) countPromptTokens(request) + (request.getMaxTokens() != null ? request.getMaxTokens() : 1000);
+    }
+
+    private int countMessageTokens(String role, String content) {
+        return messageOverheadTokens + countTokens(role) + countTokens(content);
+    }
+
+    private static BpeTokenizer load(String vocabPath) {
+        if (vocabPath == null || vocabPath.isBlank()) {
+            log.warn("⚠️ llm.tokenizer.vocab-path not set - falling back to length/4 token estimation");
+            return null;
+        }
+        Path path = Path.of(vocabPath);
+        if (!Files.isReadable(path)) {
+            log.warn("⚠️ Tokenizer vocabulary not found: {} - falling back to length/4 token estimation", path);
+            return null;
+        }
+        try {
+            long startTime = System.currentTimeMillis();
+            BpeTokenizer tokenizer = BpeTokenizer.load(path);
+            log.info("✅ Llama 3 tokenizer loaded - Vocabulary: {} tokens, File: {}, Time: {}ms",
+                tokenizer.vocabularySize(), path, System.currentTimeMillis() - startTime);
+            return tokenizer;
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to load tokenizer vocabulary: {} - falling back to length/4 token estimation", path, e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+// TokenRankTable.java
+package com.yourcompany.llm.service.tokenizer;
+
+import java.util.Arrays;
+
+/**
+ * 바이트 시퀀스 → BPE rank(= 토큰 ID) 조회 테이블.
+ * 모든 토큰 바이트를 하나의 byte[] 풀에 이어 붙이고 open addressing 해시 테이블(int[])로 인덱싱해
+ * 조회 시 키 객체 생성이나 박싱이 없다.
+ */
+final class TokenRankTable {
+
+    private static final int EMPTY = -1;
+
+    private final byte[] pool;
+    private final int[] offsets;   // 토큰 i의 풀 내 시작 위치, offsets[i + 1]이 끝
+    private final int[] ranks;     // 토큰 i의 rank
+    private final int[] slots;     // 해시 슬롯 → 토큰 인덱스 (EMPTY = 비어 있음)
+    private final int mask;
+    private final int[] singleByteRanks = new int[256];
+    private final int maxTokenLength;
+
+    private TokenRankTable(byte[] pool, int[] offsets, int[] ranks, int count) {
+        this.pool = pool;
+        this.offsets = offsets;
+        this.ranks = ranks;
+
+        int capacity = Integer.highestOneBit(Math.max(2, count * 2 - 1)) << 1; // 부하율 50% 이하
+        this.slots = new int[capacity];
+        this.mask = capacity - 1;
+        Arrays.fill(slots, EMPTY);
+        Arrays.fill(singleByteRanks, EMPTY);
+
+        int longest = 0;
+        for (int i = 0; i < count; i++) {
+            int start = offsets[i];
+            int length = offsets[i + 1] - start;
+            longest = Math.max(longest, length);
+            if (length == 1) {
+                singleByteRanks[pool[start] & 0xFF] = ranks[i];
+            }
+            int slot = hash(pool, start, start + length) & mask;
+            while (slots[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = i;
+        }
+        this.maxTokenLength = longest;
+    }
+
+    /**
+     * bytes[from, to) 구간의 rank, 어휘에 없으면 -1
+     */
+    int rank(byte[] bytes, int from, int to) {
+        int length = to - from;
+        if (length == 1) {
+            return singleByteRanks[bytes[from] & 0xFF];
+        }
+        if (length > maxTokenLength) {
+            return EMPTY;
+        }
+
+        int slot = hash(bytes, from, to) & mask;
+        while (true) {
+            int index = slots[slot];
+            if (index == EMPTY) {
+                return EMPTY;
+            }
+            int start = offsets[index];
+            if (offsets[index + 1] - start == length
+                && Arrays.equals(pool, start, start + length, bytes, from, to)) {
+                return ranks[index];
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    int size() {
+        return ranks.length;
+    }
+
+    private static int hash(byte[] bytes, int from, int to) {
+        int h = 0x811C9DC5; // FNV-1a
+        for (int i = from; i < to; i++) {
+            h ^= bytes[i] & 0xFF;
+            h *= 0x01000193;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * 어휘 파일을 읽으며 토큰을 하나씩 추가하는 빌더
+     */
+    static final class Builder {
+        private byte[] pool = new byte[1 << 20];
+        private int[] offsets = new int[1 << 17];
+        private int[] ranks = new int[1 << 17];
+        private int poolSize;
+        private int count;
+
+        Builder add(byte[] token, int rank) {
+            if (poolSize + token.length > pool.length) {
+                pool = Arrays.copyOf(pool, Math.max(pool.length * 2, poolSize + token.length));
+            }
+            if (count + 2 > offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                ranks = Arrays.copyOf(ranks, ranks.length * 2);
+            }
+            offsets[count] = poolSize;
+            ranks[count] = rank;
+            System.arraycopy(token, 0, pool, poolSize, token.length);
+            poolSize += token.length;
+            count++;
+            offsets[count] = poolSize;
+            return this;
+        }
+
+        TokenRankTable build() {
+            return new TokenRankTable(Arrays.copyOf(pool, poolSize), Arrays.copyOf(offsets, count + 1),
+                Arrays.copyOf(ranks, count), count);
+        }
+    }
+}
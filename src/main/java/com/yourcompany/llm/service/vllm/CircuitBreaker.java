@@ -0,0 +1,242 @@
+// CircuitBreaker.java
+package com.yourcompany.llm.service.vllm;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+
+import com.yourcompany.llm.config.vllm.VllmConfigProperties;
+
+/**
+ * 서버 하나에 대한 서킷 브레이커 (CLOSED → OPEN → HALF_OPEN).
+ * 최근 N건 결과를 원자 배열 링 버퍼에 기록하므로 성공 경로에서 락을 잡지 않는다.
+ */
+final class CircuitBreaker {
+
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private static final int SUCCESS = 1;
+    private static final int FAILURE = 2;
+    private static final int SLOW = 4;
+
+    private final VllmConfigProperties.VllmCircuitBreakerSettings settings;
+    private final BiConsumer<State, State> transitionListener;
+    private final Runnable permitListener;
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+
+    // CLOSED 상태의 최근 호출 결과 (count 기반 슬라이딩 윈도우)
+    private final AtomicIntegerArray outcomes;
+    private final AtomicLong cursor = new AtomicLong();
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicInteger slowCalls = new AtomicInteger();
+
+    // HALF_OPEN 상태의 시험 호출
+    private final AtomicInteger halfOpenPermits = new AtomicInteger();
+    private final AtomicInteger halfOpenCompleted = new AtomicInteger();
+    private final AtomicInteger halfOpenRejected = new AtomicInteger();
+
+    private volatile long openedAtNanos;
+
+    CircuitBreaker(VllmConfigProperties.VllmCircuitBreakerSettings settings,
+                   BiConsumer<State, State> transitionListener) {
+        this(settings, transitionListener, () -> { });
+    }
+
+    /**
+     * @param permitListener HALF_OPEN 시험 호출 슬롯이 모두 소진되거나 다시 생길 때 호출
+     */
+    CircuitBreaker(VllmConfigProperties.VllmCircuitBreakerSettings settings,
+                   BiConsumer<State, State> transitionListener, Runnable permitListener) {
+        this.settings = settings;
+        this.transitionListener = transitionListener;
+        this.permitListener = permitListener;
+        this.outcomes = new AtomicIntegerArray(settings.getSlidingWindowSize());
+    }
+
+    /**
+     * 호출 허용 여부 - OPEN 대기 시간이 지났으면 HALF_OPEN으로 전환하고 제한된 수의 시험 호출만 허용
+     */
+    boolean tryAcquirePermission() {
+        if (!Boolean.TRUE.equals(settings.getEnabled())) {
+            return true;
+        }
+
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN) {
+            if (System.nanoTime() - openedAtNanos < settings.getWaitDurationInOpenState().toNanos()) {
+                return false;
+            }
+            if (state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+                halfOpenCompleted.set(0);
+                halfOpenRejected.set(0);
+                halfOpenPermits.set(settings.getPermittedCallsInHalfOpenState());
+                transitionListener.accept(State.OPEN, State.HALF_OPEN);
+            }
+        }
+        return acquireHalfOpenPermit();
+    }
+
+    void onSuccess(long durationMs) {
+        onResult(durationMs >= settings.getSlowCallDuration().toMillis() ? SUCCESS | SLOW : SUCCESS);
+    }
+
+    void onError(long durationMs) {
+        onResult(durationMs >= settings.getSlowCallDuration().toMillis() ? FAILURE | SLOW : FAILURE);
+    }
+
+    /**
+     * 결과 없이 끝난 호출(취소 등)의 HALF_OPEN 시험 호출 슬롯 반환
+     */
+    void releasePermission() {
+        if (state.get() != State.HALF_OPEN) {
+            return;
+        }
+        int permits;
+        do {
+            permits = halfOpenPermits.get();
+            if (permits >= settings.getPermittedCallsInHalfOpenState()) {
+                return;
+            }
+        } while (!halfOpenPermits.compareAndSet(permits, permits + 1));
+        if (permits == 0) {
+            permitListener.run();
+        }
+    }
+
+    /**
+     * HALF_OPEN이고 시험 호출 슬롯이 모두 사용 중이면 true - 지금 보내면 바로 거절된다
+     */
+    boolean isHalfOpenSaturated() {
+        return state.get() == State.HALF_OPEN && halfOpenPermits.get() <= 0;
+    }
+
+    /**
+     * OPEN 대기가 끝나는 시각 (System.nanoTime 기준), OPEN이 아니면 0
+     */
+    long openUntilNanos() {
+        if (state.get() != State.OPEN) {
+            return 0;
+        }
+        long until = openedAtNanos + settings.getWaitDurationInOpenState().toNanos();
+        return until - System.nanoTime() > 0 ? until : 0;
+    }
+
+    State state() {
+        return state.get();
+    }
+
+    int bufferedCalls() {
+        return (int) Math.min(cursor.get(), outcomes.length());
+    }
+
+    double failureRate() {
+        int buffered = bufferedCalls();
+        return buffered > 0 ? (double) failures.get() / buffered : 0.0;
+    }
+
+    double slowCallRate() {
+        int buffered = bufferedCalls();
+        return buffered > 0 ? (double) slowCalls.get() / buffered : 0.0;
+    }
+
+    private void onResult(int outcome) {
+        if (!Boolean.TRUE.equals(settings.getEnabled())) {
+            return;
+        }
+
+        State current = state.get();
+        if (current == State.HALF_OPEN) {
+            onHalfOpenResult(outcome);
+            return;
+        }
+        if (current == State.OPEN) {
+            return; // OPEN 이전에 시작된 호출의 결과는 무시
+        }
+
+        int index = (int) (cursor.getAndIncrement() % outcomes.length());
+        int previous = outcomes.getAndSet(index, outcome);
+        adjust(failures, previous, outcome, FAILURE);
+        adjust(slowCalls, previous, outcome, SLOW);
+
+        int buffered = bufferedCalls();
+        if (buffered < settings.getMinimumNumberOfCalls()) {
+            return;
+        }
+        if ((double) failures.get() / buffered >= settings.getFailureRateThreshold()
+            || (double) slowCalls.get() / buffered >= settings.getSlowCallRateThreshold()) {
+            open(State.CLOSED);
+        }
+    }
+
+    /**
+     * 남은 슬롯이 있을 때만 차감 - 거절된 호출이 카운터를 0 아래로 내리지 않도록 CAS로 처리
+     */
+    private boolean acquireHalfOpenPermit() {
+        int permits;
+        do {
+            permits = halfOpenPermits.get();
+            if (permits <= 0) {
+                return false;
+            }
+        } while (!halfOpenPermits.compareAndSet(permits, permits - 1));
+        if (permits == 1) {
+            permitListener.run();
+        }
+        return true;
+    }
+
+    private void onHalfOpenResult(int outcome) {
+        if ((outcome & (FAILURE | SLOW)) != 0) {
+            halfOpenRejected.incrementAndGet();
+        }
+        if (halfOpenCompleted.incrementAndGet() < settings.getPermittedCallsInHalfOpenState()) {
+            return;
+        }
+
+        double rejectedRate = (double) halfOpenRejected.get() / settings.getPermittedCallsInHalfOpenState();
+        if (rejectedRate >= Math.min(settings.getFailureRateThreshold(), settings.getSlowCallRateThreshold())) {
+            open(State.HALF_OPEN);
+        } else if (state.compareAndSet(State.HALF_OPEN, State.CLOSED)) {
+            clearWindow();
+            transitionListener.accept(State.HALF_OPEN, State.CLOSED);
+        }
+    }
+
+    private void open(State from) {
+        openedAtNanos = System.nanoTime();
+        if (transition(from, State.OPEN)) {
+            clearWindow();
+        }
+    }
+
+    private boolean transition(State from, State to) {
+        if (state.compareAndSet(from, to)) {
+            transitionListener.accept(from, to);
+            return true;
+        }
+        return false;
+    }
+
+    private void clearWindow() {
+        for (int i = 0; i < outcomes.length(); i++) {
+            outcomes.set(i, 0);
+        }
+        cursor.set(0);
+        failures.set(0);
+        slowCalls.set(0);
+    }
+
+    private static void adjust(AtomicInteger counter, int previous, int outcome, int flag) {
+        int delta = ((outcome & flag) != 0 ? 1 : 0) - ((previous & flag) != 0 ? 1 : 0);
+        if (delta != 0) {
+            counter.addAndGet(delta);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+// ConsistentHashRing.java
+package com.yourcompany.llm.service.vllm;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * 서버별 가상 노드를 가진 consistent hash ring (불변)
+ */
+final class ConsistentHashRing {
+
+    static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final List<String> servers;
+    private final long[] points;
+    private final String[] owners;
+
+    ConsistentHashRing(List<String> servers, int virtualNodes) {
+        this.servers = List.copyOf(servers);
+
+        TreeMap<Long, String> ring = new TreeMap<>();
+        for (String server : this.servers) {
+            long serverHash = hash(FNV_OFFSET_BASIS, server, Integer.MAX_VALUE);
+            for (int replica = 0; replica < virtualNodes; replica++) {
+                ring.putIfAbsent(mix(serverHash + replica * 0x9E3779B97F4A7C15L), server);
+            }
+        }
+
+        this.points = new long[ring.size()];
+        this.owners = new String[ring.size()];
+        int i = 0;
+        for (Map.Entry<Long, String> entry : ring.entrySet()) {
+            points[i] = entry.getKey();
+            owners[i] = entry.getValue();
+            i++;
+        }
+    }
+
+    List<String> servers() {
+        return servers;
+    }
+
+    /**
+     * key 위치에서 시계 방향으로 순회하며 accept를 만족하는 첫 서버 반환 (없으면 null)
+     */
+    String select(long key, Predicate<String> accept) {
+        if (points.length == 0) {
+            return null;
+        }
+
+        int start = ceilingIndex(key);
+        for (int i = 0; i < points.length; i++) {
+            String owner = owners[(start + i) % points.length];
+            if (accept.test(owner)) {
+                return owner;
+            }
+        }
+        return null;
+    }
+
+    private int ceilingIndex(long key) {
+        int low = 0;
+        int high = points.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (points[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low == points.length ? 0 : low;
+    }
+
+    /**
+     * FNV-1a 누적 해시 - value의 앞 maxChars 글자만 반영
+     */
+    static long hash(long hash, String value, int maxChars) {
+        if (value == null) {
+            return hash;
+        }
+
+        int length = Math.min(value.length(), Math.max(0, maxChars));
+        for (int i = 0; i < length; i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * splitmix64 finalizer - 링 위에 고르게 분산
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,349 @@
+// PassiveHealthTracker.java
+package com.yourcompany.llm.service.vllm;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.yourcompany.llm.config.vllm.VllmConfigProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 실제 vLLM 호출 결과로 서버 이상을 감지해 즉시 로테이션에서 제외하는 passive health check.
+ * 연속 실패, 윈도우 내 실패율, 지연 이상치 중 하나라도 걸리면 제외하고, 제외 시간은 반복될수록 두 배로 늘어난다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PassiveHealthTracker {
+
+    /** 피어 지연 스냅샷 최대 사용 시간 - 그 사이 피어의 EWMA 변화와 제외 종료는 다음 갱신 때 반영 */
+    private static final long LATENCY_VIEW_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final VllmConfigProperties vllmConfig;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, OutlierState> states = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private volatile LatencyView latencyView = LatencyView.EMPTY;
+
+    public void recordSuccess(String serverName, long responseTimeMs, int completionTokens) {
+        VllmConfigProperties.VllmOutlierDetectionSettings settings = settings();
+        if (!Boolean.TRUE.equals(settings.getEnabled())) {
+            return;
+        }
+
+        OutlierState state = state(serverName, settings);
+        state.consecutiveFailures.set(0);
+        state.window.record(true, System.nanoTime());
+        state.latency.record(responseTimeMs, completionTokens,
+            vllmConfig.getLoadBalancer().getPerformance().getEwmaAlpha());
+
+        if (state.latency.samples() >= settings.getMinLatencySamples() && ejectedUntilNanos(serverName) == 0
+            && isLatencyOutlier(serverName, state, settings)) {
+            eject(serverName, state, "latency outlier", settings);
+        }
+    }
+
+    public void recordFailure(String serverName, String reason) {
+        VllmConfigProperties.VllmOutlierDetectionSettings settings = settings();
+        if (!Boolean.TRUE.equals(settings.getEnabled())) {
+            return;
+        }
+
+        OutlierState state = state(serverName, settings);
+        int consecutive = state.consecutiveFailures.incrementAndGet();
+        long now = System.nanoTime();
+        state.window.record(false, now);
+
+        log.debug("Passive failure recorded for server: {} - Consecutive: {}, Reason: {}",
+            serverName, consecutive, reason);
+
+        if (consecutive >= settings.getConsecutiveFailures()) {
+            eject(serverName, state, consecutive + " consecutive failures", settings);
+            return;
+        }
+
+        long[] counts = state.window.counts(now);
+        long total = counts[0] + counts[1];
+        if (total >= settings.getMinimumRequests()
+            && (double) counts[1] / total >= settings.getFailureRateThreshold()) {
+            eject(serverName, state, String.format("failure rate %.0f%%", 100.0 * counts[1] / total), settings);
+        }
+    }
+
+    public boolean isEjected(String serverName) {
+        return ejectedUntilNanos(serverName) != 0;
+    }
+
+    /**
+     * 제외가 끝나는 시각 (System.nanoTime 기준), 제외 상태가 아니면 0
+     */
+    long ejectedUntilNanos(String serverName) {
+        OutlierState state = states.get(serverName);
+        if (state == null) {
+            return 0;
+        }
+        long until = state.ejectedUntilNanos;
+        return until != 0 && until - System.nanoTime() > 0 ? until : 0;
+    }
+
+    /**
+     * 서버가 새로 제외될 때마다 증가하는 버전 (로드 밸런서 스냅샷 갱신용)
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    public Map<String, EjectionStatus> getEjectionStatuses() {
+        return states.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey,
+            entry -> toStatus(entry.getKey(), entry.getValue())));
+    }
+
+    public void reset() {
+        states.clear();
+        version.incrementAndGet();
+    }
+
+    /**
+     * 피어 중앙값 대비 토큰당 지연 비교 - 정렬된 피어 지연 스냅샷을 재사용해 성공 응답마다 할당/정렬하지 않는다
+     */
+    private boolean isLatencyOutlier(String serverName, OutlierState state,
+                                     VllmConfigProperties.VllmOutlierDetectionSettings settings) {
+        double median = latencyView(serverName, settings).peerMedian(serverName);
+        return !Double.isNaN(median) && state.latency.latencyMsPerToken() > median * settings.getLatencyOutlierFactor();
+    }
+
+    /**
+     * 지연 비교 대상 스냅샷 - 제외/초기화(version 변경), 자신이 새로 비교 대상 조건을 채운 경우, 또는 일정 시간이
+     * 지난 경우에만 다시 만든다 (호출 서버는 이 시점에 제외 상태가 아니고 샘플 수 조건을 채운 상태)
+     */
+    private LatencyView latencyView(String serverName, VllmConfigProperties.VllmOutlierDetectionSettings settings) {
+        LatencyView current = latencyView;
+        long now = System.nanoTime();
+        long currentVersion = version.get();
+        if (current.version == currentVersion && current.contains(serverName)
+            && now - current.builtAtNanos < LATENCY_VIEW_REFRESH_NANOS) {
+            return current;
+        }
+
+        List<Map.Entry<String, Double>> eligible = new ArrayList<>();
+        states.forEach((name, state) -> {
+            if (state.latency.samples() >= settings.getMinLatencySamples() && ejectedUntilNanos(name) == 0) {
+                eligible.add(Map.entry(name, state.latency.latencyMsPerToken()));
+            }
+        });
+        eligible.sort(Map.Entry.comparingByValue());
+
+        LatencyView rebuilt = new LatencyView(currentVersion, now, eligible);
+        latencyView = rebuilt;
+        return rebuilt;
+    }
+
+    private void eject(String serverName, OutlierState state, String reason,
+                       VllmConfigProperties.VllmOutlierDetectionSettings settings) {
+        synchronized (state) {
+            long now = System.nanoTime();
+            if (state.ejectedUntilNanos != 0 && state.ejectedUntilNanos - now > 0) {
+                return; // 이미 제외됨
+            }
+            if (!canEject(settings)) {
+                log.warn("Passive ejection skipped for server: {} ({}) - max ejection percent reached",
+                    serverName, reason);
+                return;
+            }
+
+            // 마지막 복귀 후 최대 제외 시간 이상 안정적이었다면 제외 횟수 초기화
+            long maxEjectionNanos = settings.getMaxEjectionTime().toNanos();
+            if (state.ejectedUntilNanos != 0 && now - state.ejectedUntilNanos > maxEjectionNanos) {
+                state.ejections = 0;
+            }
+            state.ejections++;
+
+            long ejectionNanos = Math.min(maxEjectionNanos,
+                settings.getBaseEjectionTime().toNanos() << Math.min(state.ejections - 1, 20));
+            state.ejectedUntilNanos = now + ejectionNanos;
+            state.ejectionReason = reason;
+            state.consecutiveFailures.set(0);
+            state.window.clear();
+            state.latency = new ServerPerformanceStats();
+        }
+
+        version.incrementAndGet();
+        Counter.builder("vllm.passive.ejections").tag("server", serverName)
+            .description("Servers ejected from rotation by passive health detection")
+            .register(meterRegistry).increment();
+
+        log.warn("Ejected server {} from rotation for {} - Reason: {}, Ejections: {}", serverName,
+            Duration.ofNanos(state.ejectedUntilNanos - System.nanoTime()), reason, state.ejections);
+    }
+
+    private boolean canEject(VllmConfigProperties.VllmOutlierDetectionSettings settings) {
+        int total = vllmConfig.getEnabledServers().size();
+        long ejected = states.keySet().stream().filter(this::isEjected).count();
+        return ejected + 1 <= total * settings.getMaxEjectionPercent() / 100;
+    }
+
+    private OutlierState state(String serverName, VllmConfigProperties.VllmOutlierDetectionSettings settings) {
+        return states.computeIfAbsent(serverName, k -> new OutlierState(settings.getWindow()));
+    }
+
+    private VllmConfigProperties.VllmOutlierDetectionSettings settings() {
+        return vllmConfig.getLoadBalancer().getOutlierDetection();
+    }
+
+    private EjectionStatus toStatus(String serverName, OutlierState state) {
+        long until = ejectedUntilNanos(serverName);
+        long[] counts = state.window.counts(System.nanoTime());
+        long total = counts[0] + counts[1];
+        double latency = state.latency.latencyMsPerToken();
+
+        return EjectionStatus.builder()
+            .serverName(serverName)
+            .ejected(until != 0)
+            .reason(until != 0 ? state.ejectionReason : null)
+            .ejectedUntil(until != 0 ? LocalDateTime.now().plusNanos(until - System.nanoTime()) : null)
+            .ejectionCount(state.ejections)
+            .consecutiveFailures(state.consecutiveFailures.get())
+            .windowRequests(total)
+            .windowFailureRate(total > 0 ? (double) counts[1] / total : 0.0)
+            .latencyMsPerToken(Double.isNaN(latency) ? null : latency)
+            .build();
+    }
+
+    /**
+     * 비교 대상 서버의 토큰당 지연 (오름차순, 불변)
+     */
+    private static final class LatencyView {
+        static final LatencyView EMPTY = new LatencyView(-1, 0, List.of());
+
+        final long version;
+        final long builtAtNanos;
+        final double[] latencies;
+        final Map<String, Integer> positions = new HashMap<>();
+
+        LatencyView(long version, long builtAtNanos, List<Map.Entry<String, Double>> sorted) {
+            this.version = version;
+            this.builtAtNanos = builtAtNanos;
+            this.latencies = new double[sorted.size()];
+            for (int i = 0; i < latencies.length; i++) {
+                latencies[i] = sorted.get(i).getValue();
+                positions.put(sorted.get(i).getKey(), i);
+            }
+        }
+
+        boolean contains(String serverName) {
+            return positions.containsKey(serverName);
+        }
+
+        /**
+         * 자신을 뺀 피어 지연의 중앙값 - 피어가 둘 미만이면 NaN (서버 2대에서는 어느 쪽이 느린지 구분 불가)
+         */
+        double peerMedian(String serverName) {
+            int self = positions.getOrDefault(serverName, latencies.length);
+            int peers = self < latencies.length ? latencies.length - 1 : latencies.length;
+            if (peers < 2) {
+                return Double.NaN;
+            }
+            return peers % 2 == 1 ? peer(peers / 2, self)
+                : (peer(peers / 2 - 1, self) + peer(peers / 2, self)) / 2;
+        }
+
+        /** self 위치를 건너뛴 k번째 피어 지연 */
+        private double peer(int k, int self) {
+            return latencies[k < self ? k : k + 1];
+        }
+    }
+
+    private static final class OutlierState {
+        final AtomicInteger consecutiveFailures = new AtomicInteger();
+        final OutcomeWindow window;
+        volatile ServerPerformanceStats latency = new ServerPerformanceStats();
+        volatile long ejectedUntilNanos;
+        volatile String ejectionReason;
+        volatile int ejections;
+
+        OutlierState(Duration window) {
+            this.window = new OutcomeWindow(window, 10);
+        }
+    }
+
+    /**
+     * 시간 버킷 기반 성공/실패 슬라이딩 윈도우 - 버킷 교체 시 경합으로 몇 건 누락될 수 있는 근사치
+     */
+    private static final class OutcomeWindow {
+        private final long bucketNanos;
+        private final AtomicLongArray epochs;
+        private final AtomicLongArray successes;
+        private final AtomicLongArray failures;
+
+        OutcomeWindow(Duration window, int buckets) {
+            this.bucketNanos = Math.max(1, window.toNanos() / buckets);
+            this.epochs = new AtomicLongArray(buckets);
+            this.successes = new AtomicLongArray(buckets);
+            this.failures = new AtomicLongArray(buckets);
+            for (int i = 0; i < buckets; i++) {
+                epochs.set(i, Long.MIN_VALUE);
+            }
+        }
+
+        void record(boolean success, long nowNanos) {
+            long epoch = Math.floorDiv(nowNanos, bucketNanos);
+            int index = (int) Math.floorMod(epoch, (long) epochs.length());
+
+            long current = epochs.get(index);
+            if (current != epoch && epochs.compareAndSet(index, current, epoch)) {
+                successes.set(index, 0);
+                failures.set(index, 0);
+            }
+            (success ? successes : failures).incrementAndGet(index);
+        }
+
+        /** [성공 수, 실패 수] */
+        long[] counts(long nowNanos) {
+            long epoch = Math.floorDiv(nowNanos, bucketNanos);
+            long[] counts = new long[2];
+            for (int i = 0; i < epochs.length(); i++) {
+                if (epochs.get(i) > epoch - epochs.length()) {
+                    counts[0] += successes.get(i);
+                    counts[1] += failures.get(i);
+                }
+            }
+            return counts;
+        }
+
+        void clear() {
+            for (int i = 0; i < epochs.length(); i++) {
+                epochs.set(i, Long.MIN_VALUE);
+            }
+        }
+    }
+
+    @lombok.Builder
+    @lombok.Data
+    public static class EjectionStatus {
+        private String serverName;
+        private boolean ejected;
+        private String reason;
+        private LocalDateTime ejectedUntil;
+        private Integer ejectionCount;
+        private Integer consecutiveFailures;
+        private Long windowRequests;
+        private Double windowFailureRate;
+        private Double latencyMsPerToken;
+    }
+}
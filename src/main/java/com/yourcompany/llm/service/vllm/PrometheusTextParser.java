@@ -0,0 +1,138 @@
+// PrometheusTextParser.java
+package com.yourcompany.llm.service.vllm;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Prometheus text exposition 포맷에서 지정한 메트릭만 골라 읽는 스트리밍 파서.
+ * 응답 전체를 문자열로 만들거나 줄 단위로 split 하지 않고 바이트를 한 번만 훑으며,
+ * 관심 없는 메트릭 줄은 이름만 확인한 뒤 건너뛴다.
+ */
+final class PrometheusTextParser {
+
+    private final String[] metricNames;
+
+    PrometheusTextParser(String... metricNames) {
+        this.metricNames = metricNames.clone();
+    }
+
+    /**
+     * 메트릭별로 모든 시계열(라벨 조합) 값을 합산해 반환 - 배열 순서는 생성자 인자 순서, 없는 메트릭은 NaN
+     */
+    double[] parse(InputStream stream) throws IOException {
+        InputStream in = stream instanceof BufferedInputStream ? stream : new BufferedInputStream(stream, 8192);
+        double[] sums = new double[metricNames.length];
+        Arrays.fill(sums, Double.NaN);
+
+        StringBuilder name = new StringBuilder(64);
+        StringBuilder value = new StringBuilder(32);
+
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n' || b == '\r') {
+                continue;
+            }
+            if (b == '#') {
+                skipLine(in); // HELP, TYPE, 주석
+                continue;
+            }
+
+            name.setLength(0);
+            while (b != -1 && b != '{' && b != ' ' && b != '\t' && b != '\n') {
+                name.append((char) b);
+                b = in.read();
+            }
+
+            int index = indexOf(name);
+            if (index < 0) {
+                if (b != '\n' && b != -1) {
+                    skipLine(in);
+                }
+                continue;
+            }
+
+            if (b == '{') {
+                b = skipLabels(in);
+            }
+            while (b == ' ' || b == '\t') {
+                b = in.read();
+            }
+
+            value.setLength(0);
+            while (b != -1 && b != ' ' && b != '\t' && b != '\n' && b != '\r') {
+                value.append((char) b);
+                b = in.read();
+            }
+            if (b != '\n' && b != -1) {
+                skipLine(in); // 선택적 타임스탬프
+            }
+
+            double parsed = parseValue(value);
+            if (!Double.isNaN(parsed)) {
+                sums[index] = Double.isNaN(sums[index]) ? parsed : sums[index] + parsed;
+            }
+        }
+
+        return sums;
+    }
+
+    private int indexOf(CharSequence name) {
+        for (int i = 0; i < metricNames.length; i++) {
+            if (metricNames[i].contentEquals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 라벨 블록을 건너뛰고 '}' 다음 바이트 반환 - 따옴표 안의 '}'와 이스케이프 처리
+     */
+    private static int skipLabels(InputStream in) throws IOException {
+        boolean quoted = false;
+        int b;
+        while ((b = in.read()) != -1) {
+            if (quoted) {
+                if (b == '\\') {
+                    in.read();
+                } else if (b == '"') {
+                    quoted = false;
+                }
+            } else if (b == '"') {
+                quoted = true;
+            } else if (b == '}') {
+                return in.read();
+            } else if (b == '\n') {
+                return b;
+            }
+        }
+        return -1;
+    }
+
+    private static void skipLine(InputStream in) throws IOException {
+        int b;
+        do {
+            b = in.read();
+        } while (b != -1 && b != '\n');
+    }
+
+    private static double parseValue(StringBuilder value) {
+        if (value.length() == 0) {
+            return Double.NaN;
+        }
+        if ("+Inf".contentEquals(value)) {
+            return Double.POSITIVE_INFINITY;
+        }
+        if ("-Inf".contentEquals(value)) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        try {
+            return Double.parseDouble(value.toString());
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,288 @@
+// RequestHedger.java
+package com.yourcompany.llm.service.vllm;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+import com.yourcompany.llm.config.vllm.LlmConfigProperties;
+import com.yourcompany.llm.config.vllm.VllmConfigProperties;
+import com.yourcompany.llm.dto.LlmRequest;
+import com.yourcompany.llm.dto.LlmResponse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 짧은 생성 요청의 꼬리 지연을 줄이기 위한 헤지 요청 처리기.
+ * 최근 응답 시간의 백분위만큼 기다려도 응답이 없으면 다른 서버로 같은 요청을 한 번 더 보내고,
+ * 먼저 성공한 응답을 사용한 뒤 나머지 호출은 취소한다. 추가 부하는 전역 예산으로 제한.
+ */
+@Slf4j
+@Component
+public class RequestHedger {
+
+    private static final int LATENCY_SAMPLES = 512;
+    private static final int MIN_SAMPLES_FOR_PERCENTILE = 20;
+    private static final long DELAY_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long CREDIT = 1000;          // 헤지 1회 비용 (milli-credit)
+    private static final long MAX_CREDITS = 10 * CREDIT; // 유휴 후 한꺼번에 헤지가 몰리지 않도록 적립 상한
+
+    private final VllmLoadBalancer loadBalancer;
+    private final VllmApiClient vllmApiClient;
+    private final VllmConfigProperties vllmConfig;
+    private final LlmConfigProperties.HedgingSettings settings;
+    private final ThreadPoolTaskScheduler vllmTaskScheduler;
+
+    // 최근 헤지 대상 요청의 응답 시간 (ms) 링 버퍼
+    private final AtomicLongArray latencies = new AtomicLongArray(LATENCY_SAMPLES);
+    private final AtomicLong latencyCursor = new AtomicLong();
+    private volatile long cachedDelayMs = -1;
+    private volatile long delayComputedAtNanos;
+
+    private final AtomicLong budget = new AtomicLong();
+
+    private final Counter hedgesFired;
+    private final Counter hedgesWon;
+    private final Counter hedgesSkipped;
+
+    public RequestHedger(VllmLoadBalancer loadBalancer, VllmApiClient vllmApiClient, VllmConfigProperties vllmConfig,
+                         LlmConfigProperties llmConfig, ThreadPoolTaskScheduler vllmTaskScheduler,
+                         MeterRegistry meterRegistry) {
+        this.loadBalancer = loadBalancer;
+        this.vllmApiClient = vllmApiClient;
+        this.vllmConfig = vllmConfig;
+        this.settings = llmConfig.getHedging();
+        this.vllmTaskScheduler = vllmTaskScheduler;
+
+        this.hedgesFired = Counter.builder("llm.hedge.fired")
+            .description("Hedge requests sent to a second server")
+            .register(meterRegistry);
+        this.hedgesWon = Counter.builder("llm.hedge.won")
+            .description("Hedge requests that answered before the primary request")
+            .register(meterRegistry);
+        this.hedgesSkipped = Counter.builder("llm.hedge.skipped")
+            .description("Hedges not sent because the budget was exhausted or no other server was available")
+            .register(meterRegistry);
+
+        Gauge.builder("llm.hedge.delay.ms", this, RequestHedger::currentDelayMs)
+            .description("Current wait before a hedge request is sent")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 스트리밍이 아니고 maxTokens가 임계값 이하인 요청만 헤지 대상
+     */
+    public boolean isHedgeable(LlmRequest request) {
+        if (!Boolean.TRUE.equals(settings.getEnabled()) || Boolean.TRUE.equals(request.getStream())) {
+            return false;
+        }
+        return request.getMaxTokens() != null && request.getMaxTokens() <= settings.getMaxTokensThreshold();
+    }
+
+    /**
+     * 1차 서버로 요청을 보내고, 지연 시간이 지나도 끝나지 않으면 다른 서버로 헤지 요청 전송.
+     * 선택한 서버는 triedServers에 추가되며, 재시도 시에는 이미 시도한 서버를 우선 피한다.
+     */
+    public CompletableFuture<LlmResponse> execute(LlmRequest request, Set<String> triedServers) {
+        VllmLoadBalancer.LoadBalancingStrategy strategy = vllmConfig.getLoadBalancer().getStrategy();
+        Optional<ServerLease> primaryLease = loadBalancer.acquireUntriedServer("llama3.2", strategy, request,
+            triedServers);
+        if (primaryLease.isEmpty()) {
+            return CompletableFuture.completedFuture(LlmResponse.error("llama3.2", "No available vLLM servers"));
+        }
+
+        earnCredit();
+        HedgedCall call = new HedgedCall();
+        triedServers.add(primaryLease.get().getServerName());
+        long startedAt = System.nanoTime();
+
+        call.attach(primaryLease.get(), request, false);
+        // 헤지가 이겨 1차 호출이 취소돼도 지연 분포가 낮게 치우치지 않도록 논리 요청 단위로 기록
+        call.result.whenComplete((response, throwable) -> {
+            if (response != null && response.isSuccess()) {
+                recordLatency(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+            }
+        });
+
+        if (!call.result.isDone()) {
+            ScheduledFuture<?> timer = vllmTaskScheduler.schedule(
+                () -> fireHedge(call, request, strategy, triedServers),
+                Instant.now().plusMillis(currentDelayMs()));
+            call.result.whenComplete((response, throwable) -> timer.cancel(false));
+        }
+
+        return call.result;
+    }
+
+    private void fireHedge(HedgedCall call, LlmRequest request, VllmLoadBalancer.LoadBalancingStrategy strategy,
+                           Set<String> triedServers) {
+        if (call.result.isDone()) {
+            return;
+        }
+        if (!trySpendCredit()) {
+            hedgesSkipped.increment();
+            log.debug("Hedge budget exhausted - Request: {}", request.getRequestId());
+            return;
+        }
+
+        Optional<ServerLease> hedgeLease =
+            loadBalancer.acquireServer("llama3.2", strategy, request, triedServers);
+        if (hedgeLease.isEmpty()) {
+            refundCredit();
+            hedgesSkipped.increment();
+            return;
+        }
+
+        hedgesFired.increment();
+        log.debug("Hedging request {} - Tried: {}, Hedge: {}",
+            request.getRequestId(), triedServers, hedgeLease.get().getServerName());
+        triedServers.add(hedgeLease.get().getServerName());
+        call.attach(hedgeLease.get(), request, true);
+    }
+
+    /**
+     * 최근 응답 시간의 지정 백분위 (표본이 적으면 기본값) - 매 요청마다 정렬하지 않도록 최대 1초에 한 번 재계산
+     */
+    long currentDelayMs() {
+        long now = System.nanoTime();
+        long cached = cachedDelayMs;
+        if (cached >= 0 && now - delayComputedAtNanos < DELAY_REFRESH_NANOS) {
+            return cached;
+        }
+
+        int count = (int) Math.min(latencyCursor.get(), LATENCY_SAMPLES);
+        long delay;
+        if (count < MIN_SAMPLES_FOR_PERCENTILE) {
+            delay = settings.getDefaultDelay().toMillis();
+        } else {
+            long[] samples = new long[count];
+            for (int i = 0; i < count; i++) {
+                samples[i] = latencies.get(i);
+            }
+            Arrays.sort(samples);
+            int index = (int) Math.ceil(settings.getDelayPercentile() * count) - 1;
+            delay = samples[Math.max(0, Math.min(index, count - 1))];
+        }
+        delay = Math.max(delay, settings.getMinDelay().toMillis());
+
+        cachedDelayMs = delay;
+        delayComputedAtNanos = now;
+        return delay;
+    }
+
+    private void recordLatency(long latencyMs) {
+        int index = (int) (latencyCursor.getAndIncrement() % LATENCY_SAMPLES);
+        latencies.set(index, latencyMs);
+    }
+
+    /** 1차 요청마다 budgetPercent% 만큼의 헤지 권한 적립 */
+    private void earnCredit() {
+        long earned = Math.round(settings.getBudgetPercent() * CREDIT / 100.0);
+        if (earned > 0) {
+            budget.getAndUpdate(current -> Math.min(MAX_CREDITS, current + earned));
+        }
+    }
+
+    private boolean trySpendCredit() {
+        long current;
+        do {
+            current = budget.get();
+            if (current < CREDIT) {
+                return false;
+            }
+        } while (!budget.compareAndSet(current, current - CREDIT));
+        return true;
+    }
+
+    private void refundCredit() {
+        budget.getAndUpdate(current -> Math.min(MAX_CREDITS, current + CREDIT));
+    }
+
+    /**
+     * 하나의 논리 요청에 대한 1차/헤지 호출 묶음 - 먼저 성공한 응답으로 완료하고 나머지는 lease를 반납한 뒤 취소,
+     * 모두 실패하면 마지막 실패 응답으로 완료. result 자체가 취소되면 진행 중인 호출을 모두 정리한다.
+     */
+    private final class HedgedCall {
+        private final CompletableFuture<LlmResponse> result = new CompletableFuture<>();
+        private final List<Attempt> attempts = new CopyOnWriteArrayList<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile LlmResponse lastFailure;
+
+        HedgedCall() {
+            result.whenComplete((response, throwable) -> {
+                if (result.isCancelled()) {
+                    cancelOthers(null);
+                }
+            });
+        }
+
+        CompletableFuture<LlmResponse> attach(ServerLease lease, LlmRequest request, boolean hedge) {
+            pending.incrementAndGet();
+            Attempt attempt = new Attempt(lease,
+                lease.run(serverName -> vllmApiClient.chatCompletion(serverName, request)));
+            attempts.add(attempt);
+
+            attempt.future().whenComplete((response, throwable) -> {
+                if (throwable == null && response != null && response.isSuccess()) {
+                    if (result.complete(response)) {
+                        if (hedge) {
+                            hedgesWon.increment();
+                        }
+                        cancelOthers(attempt);
+                    }
+                } else if (!attempt.future().isCancelled()) {
+                    lastFailure = response != null ? response
+                        : LlmResponse.error("llama3.2", "Text generation failed: "
+                            + (throwable != null ? throwable.getMessage() : "empty response"));
+                }
+
+                if (pending.decrementAndGet() == 0 && !result.isDone()) {
+                    result.complete(lastFailure != null ? lastFailure
+                        : LlmResponse.error("llama3.2", "API call cancelled"));
+                }
+            });
+
+            // 결과가 이미 정해진 뒤에 붙은 헤지는 즉시 정리
+            if (result.isDone()) {
+                attempt.cancel();
+            }
+            return attempt.future();
+        }
+
+        private void cancelOthers(Attempt winner) {
+            for (Attempt attempt : attempts) {
+                if (attempt != winner) {
+                    attempt.cancel();
+                }
+            }
+        }
+    }
+
+    /**
+     * 호출 하나와 그 lease - 진 호출은 응답 없이 lease를 먼저 반납하고 취소한다 (이미 끝났으면 아무 일도 없음)
+     */
+    private record Attempt(ServerLease lease, CompletableFuture<LlmResponse> future) {
+
+        void cancel() {
+            if (!future.isDone()) {
+                lease.close();
+                future.cancel(true);
+            }
+        }
+    }
+}
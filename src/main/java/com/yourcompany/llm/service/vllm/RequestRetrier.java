@@ -0,0 +1,181 @@
+// RequestRetrier.java
+package com.yourcompany.llm.service.vllm;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+import com.yourcompany.llm.config.vllm.LlmConfigProperties;
+import com.yourcompany.llm.dto.LlmRequest;
+import com.yourcompany.llm.dto.LlmResponse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 비동기 vLLM 호출의 재시도 처리기.
+ * 일시적 실패(연결 오류, 타임아웃, 429/5xx)만 다른 서버로 재시도하며, 지터가 적용된 지수 백오프 후 다시 보낸다.
+ * 재시도는 토큰 버킷 예산 안에서만 허용되어 장애 시 재시도가 부하를 증폭시키지 않는다.
+ */
+@Slf4j
+@Component
+public class RequestRetrier {
+
+    private static final long TOKEN = 1000; // 재시도 1회 비용 (milli-token)
+
+    private final LlmConfigProperties.RetrySettings settings;
+    private final ThreadPoolTaskScheduler vllmTaskScheduler;
+    private final AtomicLong budget;
+
+    private final Counter retries;
+    private final Counter retriesSucceeded;
+    private final Counter budgetExhausted;
+
+    public RequestRetrier(LlmConfigProperties llmConfig, ThreadPoolTaskScheduler vllmTaskScheduler,
+                          MeterRegistry meterRegistry) {
+        this.settings = llmConfig.getRetry();
+        this.vllmTaskScheduler = vllmTaskScheduler;
+        this.budget = new AtomicLong(settings.getBudgetCapacity() * TOKEN);
+
+        this.retries = Counter.builder("llm.retry.attempts")
+            .description("Requests re-sent after a retryable failure")
+            .register(meterRegistry);
+        this.retriesSucceeded = Counter.builder("llm.retry.succeeded")
+            .description("Requests that succeeded on a retry")
+            .register(meterRegistry);
+        this.budgetExhausted = Counter.builder("llm.retry.budget.exhausted")
+            .description("Retryable failures returned as-is because the retry budget was empty")
+            .register(meterRegistry);
+
+        Gauge.builder("llm.retry.budget.tokens", budget, value -> (double) value.get() / TOKEN)
+            .description("Retry tokens currently available")
+            .register(meterRegistry);
+    }
+
+    /**
+     * attempt를 실행하고 재시도 가능한 실패면 다른 서버로 다시 실행.
+     * attempt에는 이미 시도한 서버 집합이 전달되며, attempt는 선택한 서버를 이 집합에 추가해야 한다.
+     * 반환된 future가 취소되면 진행 중인 attempt의 future를 취소하므로, attempt는 취소 시 lease를 반납하는
+     * future(ServerLease.run의 반환값)를 파생 단계 없이 그대로 돌려줘야 한다.
+     */
+    public CompletableFuture<LlmResponse> execute(LlmRequest request,
+                                                  Function<Set<String>, CompletableFuture<LlmResponse>> attempt) {
+        if (!Boolean.TRUE.equals(settings.getEnabled())) {
+            return attempt.apply(ConcurrentHashMap.newKeySet());
+        }
+
+        depositToken();
+        CompletableFuture<LlmResponse> result = new CompletableFuture<>();
+        run(request, attempt, ConcurrentHashMap.newKeySet(), 1, result);
+        return result;
+    }
+
+    private void run(LlmRequest request, Function<Set<String>, CompletableFuture<LlmResponse>> attempt,
+                     Set<String> triedServers, int attemptNumber, CompletableFuture<LlmResponse> result) {
+        if (result.isDone()) {
+            return; // 호출자가 취소함
+        }
+
+        CompletableFuture<LlmResponse> call;
+        try {
+            call = attempt.apply(triedServers);
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+            return;
+        }
+        // 호출자 취소 또는 마감 시간 - lease를 반납하고 진행 중인 호출을 중단
+        result.whenComplete((response, throwable) -> {
+            if (result.isCancelled()) {
+                call.cancel(true);
+            }
+        });
+
+        call.whenComplete((response, throwable) -> {
+            if (throwable != null) {
+                result.completeExceptionally(throwable);
+                return;
+            }
+            if (response.isSuccess()) {
+                if (attemptNumber > 1) {
+                    retriesSucceeded.increment();
+                }
+                result.complete(response);
+                return;
+            }
+            if (attemptNumber >= settings.getMaxAttempts() || !isRetryable(response)) {
+                result.complete(response);
+                return;
+            }
+            if (!tryWithdrawToken()) {
+                budgetExhausted.increment();
+                log.debug("Retry budget exhausted - Request: {}, Error: {}", request.getRequestId(), response.getError());
+                result.complete(response);
+                return;
+            }
+
+            long backoffMs = backoffMs(attemptNumber);
+            retries.increment();
+            log.debug("Retrying request {} in {}ms (attempt {}/{}) - Tried: {}, Error: {}", request.getRequestId(),
+                backoffMs, attemptNumber + 1, settings.getMaxAttempts(), triedServers, response.getError());
+
+            try {
+                vllmTaskScheduler.schedule(() -> run(request, attempt, triedServers, attemptNumber + 1, result),
+                    Instant.now().plusMillis(backoffMs));
+            } catch (RuntimeException e) {
+                result.complete(response); // 스케줄러 종료 중
+            }
+        });
+    }
+
+    /**
+     * 재시도 가능 여부 - HTTP 상태 코드(설정 목록)와 전송 계층 예외 타입으로 판단.
+     * 4xx 요청 오류, 응답 파싱 실패, 게이트웨이 내부 오류는 다른 서버에서도 같은 결과이므로 재시도하지 않는다.
+     */
+    boolean isRetryable(LlmResponse response) {
+        if (response.getUpstreamStatus() != null) {
+            return settings.getRetryableStatuses().contains(response.getUpstreamStatus());
+        }
+        Throwable cause = response.getFailureCause();
+        return cause instanceof IOException || cause instanceof TimeoutException;
+    }
+
+    /**
+     * Full jitter 지수 백오프 - [0, min(maxBackoff, initialBackoff * 2^(n-1))] 구간의 균등 분포
+     */
+    private long backoffMs(int attemptNumber) {
+        long ceiling = Math.min(settings.getMaxBackoff().toMillis(),
+            settings.getInitialBackoff().toMillis() << Math.min(attemptNumber - 1, 20));
+        return ceiling > 0 ? ThreadLocalRandom.current().nextLong(ceiling + 1) : 0;
+    }
+
+    /** 요청마다 budgetRatio 만큼 적립 (상한 budgetCapacity) */
+    private void depositToken() {
+        long deposit = Math.round(settings.getBudgetRatio() * TOKEN);
+        long capacity = settings.getBudgetCapacity() * TOKEN;
+        if (deposit > 0) {
+            budget.getAndUpdate(current -> Math.min(capacity, current + deposit));
+        }
+    }
+
+    private boolean tryWithdrawToken() {
+        long current;
+        do {
+            current = budget.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!budget.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+}
@@ -0,0 +1,43 @@
+// ServerHandle.java
+package com.yourcompany.llm.service.vllm;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 로드 밸런서가 서버별로 유지하는 런타임 상태 (진행 중 요청 수, 미처리 토큰 수, 성능 통계)
+ */
+final class ServerHandle {
+
+    private final String name;
+    private final AtomicInteger activeRequests = new AtomicInteger();
+    private final LongAdder outstandingTokens = new LongAdder();
+    private final LongAdder completedTokens = new LongAdder();
+    private final ServerPerformanceStats performance = new ServerPerformanceStats();
+
+    ServerHandle(String name) {
+        this.name = name;
+    }
+
+    String name() {
+        return name;
+    }
+
+    AtomicInteger activeRequests() {
+        return activeRequests;
+    }
+
+    /** 진행 중 요청들의 예상 작업량 (프롬프트 추정 토큰 + maxTokens) - 요청마다 갱신되므로 striped 카운터 */
+    LongAdder outstandingTokens() {
+        return outstandingTokens;
+    }
+
+    /** 완료된 요청의 실제 사용 토큰 누계 (usage 기준) */
+    LongAdder completedTokens() {
+        return completedTokens;
+    }
+
+    ServerPerformanceStats performance() {
+        return performance;
+    }
+}
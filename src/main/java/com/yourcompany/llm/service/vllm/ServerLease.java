@@ -0,0 +1,103 @@
+// ServerLease.java
+package com.yourcompany.llm.service.vllm;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import com.yourcompany.llm.dto.LlmResponse;
+
+/**
+ * 로드 밸런서가 선택한 서버의 사용권. 진행 중 요청 수와 예약 작업량은 lease가 해제될 때 정확히 한 번 반납된다.
+ */
+public final class ServerLease implements AutoCloseable {
+
+    private final VllmLoadBalancer loadBalancer;
+    private final ServerHandle handle;
+    private final long weight;
+    private final String requestId;
+    private final long acquiredAtNanos = System.nanoTime();
+    private final AtomicBoolean released = new AtomicBoolean();
+    private volatile boolean overdueReported;
+
+    ServerLease(VllmLoadBalancer loadBalancer, ServerHandle handle, long weight, String requestId) {
+        this.loadBalancer = loadBalancer;
+        this.handle = handle;
+        this.weight = weight;
+        this.requestId = requestId;
+    }
+
+    public String getServerName() {
+        return handle.name();
+    }
+
+    /**
+     * 선택된 서버로 호출을 실행하고, 성공/실패/예외 어느 경로로 끝나도 lease를 해제.
+     * 반환된 future를 취소하면 lease를 바로 해제하고 진행 중인 호출도 취소한다
+     * (취소된 whenComplete 단계의 콜백은 실행되지 않으므로 여기서 직접 해제해야 한다).
+     */
+    public CompletableFuture<LlmResponse> run(Function<String, CompletableFuture<LlmResponse>> call) {
+        CompletableFuture<LlmResponse> future;
+        try {
+            future = call.apply(handle.name());
+        } catch (RuntimeException e) {
+            close();
+            return CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<LlmResponse> tracked = future.whenComplete((response, throwable) -> complete(response));
+        tracked.whenComplete((response, throwable) -> {
+            if (tracked.isCancelled()) {
+                close();
+                future.cancel(true);
+            }
+        });
+        return tracked;
+    }
+
+    /**
+     * 응답과 함께 해제 - 성공 응답이면 usage와 성능 통계에 반영
+     */
+    public void complete(LlmResponse response) {
+        if (released.compareAndSet(false, true)) {
+            loadBalancer.release(this, response);
+        }
+    }
+
+    /**
+     * 응답 없이 해제 (이미 해제됐으면 무시)
+     */
+    @Override
+    public void close() {
+        complete(null);
+    }
+
+    ServerHandle handle() {
+        return handle;
+    }
+
+    long weight() {
+        return weight;
+    }
+
+    String requestId() {
+        return requestId;
+    }
+
+    long heldNanos() {
+        return System.nanoTime() - acquiredAtNanos;
+    }
+
+    boolean isReleased() {
+        return released.get();
+    }
+
+    /** 감시자가 처음 보고하는 경우에만 true */
+    boolean markOverdueReported() {
+        if (overdueReported) {
+            return false;
+        }
+        overdueReported = true;
+        return true;
+    }
+}
@@ -0,0 +1,63 @@
+// ServerPerformanceStats.java
+package com.yourcompany.llm.service.vllm;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.yourcompany.llm.dto.LlmResponse;
+
+/**
+ * 서버별 응답 성능의 지수 가중 이동 평균 (EWMA) - 락 없이 CAS로 갱신
+ */
+final class ServerPerformanceStats {
+
+    private static final long NO_SAMPLE = Double.doubleToRawLongBits(Double.NaN);
+
+    private final AtomicLong latencyMsPerTokenBits = new AtomicLong(NO_SAMPLE);
+    private final AtomicLong tokensPerSecondBits = new AtomicLong(NO_SAMPLE);
+    private final AtomicLong samples = new AtomicLong();
+
+    /**
+     * 완료된 요청 1건 반영 - 지연 시간은 생성 토큰 수로 정규화해 응답 길이 차이를 제거
+     */
+    void record(long responseTimeMs, int completionTokens, double alpha) {
+        int tokens = Math.max(1, completionTokens);
+        long elapsedMs = Math.max(1, responseTimeMs);
+
+        update(latencyMsPerTokenBits, (double) elapsedMs / tokens, alpha);
+        update(tokensPerSecondBits, tokens * 1000.0 / elapsedMs, alpha);
+        samples.incrementAndGet();
+    }
+
+    /** 토큰당 평균 지연 (ms), 관측 전이면 NaN */
+    double latencyMsPerToken() {
+        return Double.longBitsToDouble(latencyMsPerTokenBits.get());
+    }
+
+    /** 평균 생성 속도 (tokens/s), 관측 전이면 NaN */
+    double tokensPerSecond() {
+        return Double.longBitsToDouble(tokensPerSecondBits.get());
+    }
+
+    long samples() {
+        return samples.get();
+    }
+
+    /**
+     * 응답의 생성 토큰 수 (usage 우선, 없으면 tokensUsed)
+     */
+    static int completionTokens(LlmResponse response) {
+        if (response.getUsage() != null && response.getUsage().getCompletionTokens() != null) {
+            return response.getUsage().getCompletionTokens();
+        }
+        return response.getTokensUsed() != null ? response.getTokensUsed() : 1;
+    }
+
+    private static void update(AtomicLong bits, double sample, double alpha) {
+        bits.accumulateAndGet(Double.doubleToRawLongBits(sample), (previousBits, sampleBits) -> {
+            double previous = Double.longBitsToDouble(previousBits);
+            double value = Double.longBitsToDouble(sampleBits);
+            return Double.isNaN(previous) ? sampleBits
+                    : Double.doubleToRawLongBits(previous + alpha * (value - previous));
+        });
+    }
+}
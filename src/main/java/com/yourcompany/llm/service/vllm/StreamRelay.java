@@ -0,0 +1,117 @@
+// StreamRelay.java
+package com.yourcompany.llm.service.vllm;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * 스트리밍 청크를 HTTP 클라이언트 I/O 스레드에서 떼어 내 실행자에서 순서대로 전달.
+ * I/O 리액터 스레드는 다른 연결들과 공유되므로, 느린 클라이언트에 대한 블로킹 서블릿 쓰기가 그 스레드를 막지 않게 한다.
+ * 전달을 기다리는 청크가 한도를 넘으면(클라이언트가 따라오지 못함) offer가 예외를 던져 업스트림 읽기를 중단시킨다.
+ *
+ * offer/close는 한 번에 한 스레드에서만 호출되어야 하며(I/O 스레드 또는 호출자의 락), 전달은 한 번에 한 실행자 스레드만
+ * 수행한다 (WIP 카운터). 병합된 스트림의 구독자별 전달(RequestCoalescer)에도 사용한다.
+ */
+public final class StreamRelay {
+
+    public static final int MAX_PENDING_CHUNKS = 4096;
+
+    private final Consumer<String> downstream;
+    private final Executor executor;
+    private final int maxPendingChunks;
+
+    private final Queue<String> chunks = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicReference<Runnable> onDrained = new AtomicReference<>();
+    private volatile RuntimeException failure;
+    private volatile boolean closed;
+
+    public StreamRelay(Consumer<String> downstream, Executor executor) {
+        this(downstream, executor, MAX_PENDING_CHUNKS);
+    }
+
+    public StreamRelay(Consumer<String> downstream, Executor executor, int maxPendingChunks) {
+        this.downstream = downstream;
+        this.executor = executor;
+        this.maxPendingChunks = maxPendingChunks;
+    }
+
+    /**
+     * 청크 전달 예약 - 앞선 전달이 실패했거나(클라이언트 연결 종료) 대기 청크가 한도를 넘으면 예외
+     */
+    public void offer(String chunk) {
+        RuntimeException failed = failure;
+        if (failed != null) {
+            throw failed;
+        }
+        if (pending.incrementAndGet() > maxPendingChunks) {
+            failure = new IllegalStateException("Streaming client too slow - " + maxPendingChunks
+                + " chunks pending");
+            throw failure;
+        }
+        chunks.add(chunk);
+        schedule();
+    }
+
+    /**
+     * 업스트림 종료 - 남은 청크를 모두 전달(또는 폐기)한 뒤 실행자 스레드에서 action 실행
+     */
+    public void close(Runnable action) {
+        onDrained.set(action);
+        closed = true;
+        schedule();
+    }
+
+    public boolean isFailed() {
+        return failure != null;
+    }
+
+    private void schedule() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            // 종료 중 - 전달을 포기하고 종료 처리만 수행
+            failure = e;
+            chunks.clear();
+            wip.set(0);
+            runOnDrained();
+        }
+    }
+
+    private void drain() {
+        int missed = 1;
+        do {
+            String chunk;
+            while ((chunk = chunks.poll()) != null) {
+                pending.decrementAndGet();
+                if (failure == null) {
+                    try {
+                        downstream.accept(chunk);
+                    } catch (RuntimeException e) {
+                        failure = e; // 이후 청크는 버리고 다음 offer에서 업스트림 중단
+                    }
+                }
+            }
+            if (closed && chunks.isEmpty()) {
+                runOnDrained();
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void runOnDrained() {
+        Runnable action = onDrained.getAndSet(null);
+        if (action != null) {
+            action.run();
+        }
+    }
+}
@@ -1,24 +1,37 @@
 // VllmApiClient.java
 package com.yourcompany.llm.service.vllm;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.async.methods.SimpleRequestProducer;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http.nio.entity.AbstractBinResponseConsumer;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.yourcompany.llm.config.vllm.VllmConfigProperties;
 import com.yourcompany.llm.dto.LlmRequest;
 import com.yourcompany.llm.dto.LlmResponse;
+import com.yourcompany.llm.service.context.ContextWindowFitter;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,42 +40,210 @@ import lombok.extern.slf4j.Slf4j;
 public class VllmApiClient {
 
     private final VllmConfigProperties vllmConfig;
-    private final RestTemplate restTemplate;
+    private final CloseableHttpAsyncClient vllmHttpClient;
+    private final ObjectMapper objectMapper;
+    private final PassiveHealthTracker passiveHealth;
+    private final VllmCircuitBreakerRegistry circuitBreakers;
+    private final ContextWindowFitter contextFitter;
+    private final Executor sseRelayExecutor;
 
-    public CompletableFuture<LlmResponse> chatCompletion(String serverName, LlmRequest request) {
-        return CompletableFuture.supplyAsync(() -> {
-            VllmConfigProperties.VllmServerConfig serverConfig = vllmConfig.getServerByName(serverName);
-            if (serverConfig == null) {
-                return LlmResponse.error("llama3.2", "Server configuration not found: " + serverName);
-            }
+    /**
+     * vLLM 채팅 완성 - 응답 대기 중 스레드를 점유하지 않는 비동기 호출 (서킷이 열려 있으면 즉시 실패)
+     */
+    public CompletableFuture<LlmResponse> chatCompletion(String serverName, LlmRequest originalRequest) {
+        VllmConfigProperties.VllmServerConfig serverConfig = vllmConfig.getServerByName(serverName);
+        if (serverConfig == null) {
+            return CompletableFuture
+                    .completedFuture(LlmResponse.error("llama3.2", "Server configuration not found: " + serverName));
+        }
 
-            try {
-                String endpoint = String.format("http://%s:%d/v1/chat/completions", serverConfig.getHost(),
-                        serverConfig.getPort());
-
-                Map<String, Object> requestBody = buildChatRequest(request);
-                HttpHeaders headers = new HttpHeaders();
-                headers.setContentType(MediaType.APPLICATION_JSON);
-                HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-
-                long startTime = System.currentTimeMillis();
-                ResponseEntity<Map> response = restTemplate.exchange(endpoint, HttpMethod.POST, entity, Map.class);
-                long responseTime = System.currentTimeMillis() - startTime;
-
-                if (response.getStatusCode() == HttpStatus.OK) {
-                    return parseResponse(response.getBody(), responseTime);
-                } else {
-                    return LlmResponse.error("llama3.2", "HTTP " + response.getStatusCode());
-                }
+        // 이 서버의 max-model-len에 맞게 대화 이력/maxTokens 조정
+        ContextWindowFitter.FitResult fit = contextFitter.fit(originalRequest, serverConfig);
+        if (!fit.isFitted()) {
+            return CompletableFuture.completedFuture(contextExceeded(fit));
+        }
+        LlmRequest request = fit.getRequest();
+
+        CircuitBreaker breaker = circuitBreakers.breaker(serverName);
+        if (!breaker.tryAcquirePermission()) {
+            return CompletableFuture
+                    .completedFuture(LlmResponse.error("llama3.2", "Circuit open for server: " + serverName)
+                            .withFailure(HttpStatus.SC_SERVICE_UNAVAILABLE, null));
+        }
+
+        CompletableFuture<LlmResponse> result = new CompletableFuture<>();
+
+        try {
+            SimpleHttpRequest httpRequest = SimpleRequestBuilder.post(chatEndpoint(serverConfig))
+                    .setBody(objectMapper.writeValueAsBytes(buildChatRequest(request, false)),
+                            ContentType.APPLICATION_JSON)
+                    .build();
+
+            long startTime = System.currentTimeMillis();
+            Future<SimpleHttpResponse> exchange = vllmHttpClient.execute(httpRequest,
+                    new FutureCallback<SimpleHttpResponse>() {
+                        @Override
+                        public void completed(SimpleHttpResponse response) {
+                            long responseTime = System.currentTimeMillis() - startTime;
+                            LlmResponse llmResponse = handleResponse(response, responseTime);
+                            recordOutcome(serverName, response.getCode(), llmResponse);
+                            recordBreakerOutcome(breaker, response.getCode(), llmResponse, responseTime);
+                            result.complete(llmResponse);
+                        }
+
+                        @Override
+                        public void failed(Exception e) {
+                            log.error("Error calling vLLM API for server: {}", serverName, e);
+                            passiveHealth.recordFailure(serverName, e.getClass().getSimpleName());
+                            breaker.onError(System.currentTimeMillis() - startTime);
+                            result.complete(LlmResponse.error("llama3.2", "API call failed: " + e.getMessage())
+                                    .withFailure(null, e));
+                        }
+
+                        @Override
+                        public void cancelled() {
+                            breaker.releasePermission();
+                            result.complete(LlmResponse.error("llama3.2", "API call cancelled"));
+                        }
+                    });
+
+            cancelExchangeOnCancel(result, exchange);
 
-            } catch (Exception e) {
-                log.error("Error calling vLLM API for server: {}", serverName, e);
-                return LlmResponse.error("llama3.2", "API call failed: " + e.getMessage());
+        } catch (Exception e) {
+            log.error("Error calling vLLM API for server: {}", serverName, e);
+            breaker.onError(0);
+            result.complete(LlmResponse.error("llama3.2", "API call failed: " + e.getMessage()));
+        }
+
+        return result;
+    }
+
+    /**
+     * vLLM SSE 스트리밍 채팅 완성 - 수신한 청크를 I/O 스레드 밖(sseRelayExecutor)에서 순서대로 즉시 전달하고,
+     * 마지막 청크까지 전달한 뒤 같은 스레드에서 결과를 완료한다 (서킷이 열려 있으면 즉시 실패).
+     * 스트림 길이는 생성 토큰 수에 비례하므로, 서킷 브레이커의 느린 호출 판정에는 응답 헤더까지의 시간을 사용한다.
+     */
+    public CompletableFuture<LlmResponse> streamChatCompletion(String serverName, LlmRequest originalRequest,
+            Consumer<String> chunkConsumer) {
+        VllmConfigProperties.VllmServerConfig serverConfig = vllmConfig.getServerByName(serverName);
+        if (serverConfig == null) {
+            return CompletableFuture
+                    .completedFuture(LlmResponse.error("llama3.2", "Server configuration not found: " + serverName));
+        }
+
+        ContextWindowFitter.FitResult fit = contextFitter.fit(originalRequest, serverConfig);
+        if (!fit.isFitted()) {
+            return CompletableFuture.completedFuture(contextExceeded(fit));
+        }
+        LlmRequest request = fit.getRequest();
+
+        CircuitBreaker breaker = circuitBreakers.breaker(serverName);
+        if (!breaker.tryAcquirePermission()) {
+            return CompletableFuture
+                    .completedFuture(LlmResponse.error("llama3.2", "Circuit open for server: " + serverName)
+                            .withFailure(HttpStatus.SC_SERVICE_UNAVAILABLE, null));
+        }
+
+        CompletableFuture<LlmResponse> result = new CompletableFuture<>();
+
+        try {
+            SimpleHttpRequest httpRequest = SimpleRequestBuilder.post(chatEndpoint(serverConfig))
+                    .setHeader(HttpHeaders.ACCEPT, "text/event-stream")
+                    .setBody(objectMapper.writeValueAsBytes(buildChatRequest(request, true)),
+                            ContentType.APPLICATION_JSON)
+                    .build();
+
+            EventStreamConsumer consumer = new EventStreamConsumer(new StreamRelay(chunkConsumer, sseRelayExecutor),
+                    System.currentTimeMillis());
+            Future<LlmResponse> exchange = vllmHttpClient.execute(SimpleRequestProducer.create(httpRequest),
+                    consumer,
+                    new FutureCallback<LlmResponse>() {
+                        @Override
+                        public void completed(LlmResponse response) {
+                            recordOutcome(serverName, consumer.statusCode, response);
+                            recordBreakerOutcome(breaker, consumer.statusCode, response, consumer.headLatency());
+                            consumer.finish(result, response);
+                        }
+
+                        @Override
+                        public void failed(Exception e) {
+                            if (consumer.clientAborted) {
+                                // 클라이언트가 끊은 경우는 서버 장애가 아님
+                                breaker.releasePermission();
+                                consumer.finish(result, LlmResponse.error("llama3.2", "Streaming client disconnected"));
+                                return;
+                            }
+                            log.error("Error streaming vLLM API for server: {}", serverName, e);
+                            passiveHealth.recordFailure(serverName, e.getClass().getSimpleName());
+                            breaker.onError(consumer.headLatency());
+                            consumer.finish(result,
+                                    LlmResponse.error("llama3.2", "Streaming API call failed: " + e.getMessage())
+                                            .withFailure(null, e));
+                        }
+
+                        @Override
+                        public void cancelled() {
+                            breaker.releasePermission();
+                            consumer.finish(result, LlmResponse.error("llama3.2", "Streaming API call cancelled"));
+                        }
+                    });
+
+            cancelExchangeOnCancel(result, exchange);
+
+        } catch (Exception e) {
+            log.error("Error streaming vLLM API for server: {}", serverName, e);
+            breaker.onError(0);
+            result.complete(LlmResponse.error("llama3.2", "Streaming API call failed: " + e.getMessage()));
+        }
+
+        return result;
+    }
+
+    /**
+     * 호출 결과를 passive health에 반영 - 5xx와 잘못된 200 응답만 서버 실패로 보고, 4xx는 요청 문제이므로 제외
+     */
+    private void recordOutcome(String serverName, int statusCode, LlmResponse response) {
+        if (response.isSuccess()) {
+            passiveHealth.recordSuccess(serverName, response.getResponseTimeMs(),
+                    ServerPerformanceStats.completionTokens(response));
+        } else if (statusCode >= HttpStatus.SC_SERVER_ERROR || statusCode == HttpStatus.SC_OK) {
+            passiveHealth.recordFailure(serverName, response.getError());
+        }
+    }
+
+    /**
+     * 서킷 브레이커 결과 기록 - 4xx는 요청 문제이므로 성공으로 취급
+     */
+    private void recordBreakerOutcome(CircuitBreaker breaker, int statusCode, LlmResponse response,
+            long responseTime) {
+        if (response.isSuccess() || (statusCode >= 400 && statusCode < HttpStatus.SC_SERVER_ERROR)) {
+            breaker.onSuccess(responseTime);
+        } else {
+            breaker.onError(responseTime);
+        }
+    }
+
+    /** 컨텍스트에 들어가지 않는 요청 - 다른 서버로 재시도해도 같은 결과이므로 400으로 표시 */
+    private static LlmResponse contextExceeded(ContextWindowFitter.FitResult fit) {
+        return LlmResponse.error("llama3.2", fit.getMessage()).withFailure(HttpStatus.SC_BAD_REQUEST, null);
+    }
+
+    private String chatEndpoint(VllmConfigProperties.VllmServerConfig serverConfig) {
+        return String.format("http://%s:%d/v1/chat/completions", serverConfig.getHost(), serverConfig.getPort());
+    }
+
+    /**
+     * 호출자가 future를 취소하면 진행 중인 HTTP 교환도 중단
+     */
+    private void cancelExchangeOnCancel(CompletableFuture<LlmResponse> result, Future<?> exchange) {
+        result.whenComplete((response, throwable) -> {
+            if (result.isCancelled()) {
+                exchange.cancel(true);
             }
         });
     }
 
-    private Map<String, Object> buildChatRequest(LlmRequest request) {
+    private Map<String, Object> buildChatRequest(LlmRequest request, boolean stream) {
         Map<String, Object> requestBody = new HashMap<>();
 
         requestBody.put("model", "llama3.2");
@@ -75,46 +256,195 @@ public class VllmApiClient {
 
         requestBody.put("max_tokens", request.getMaxTokens() != null ? request.getMaxTokens() : 1000);
         requestBody.put("temperature", request.getTemperature() != null ? request.getTemperature() : 0.7);
-        requestBody.put("stream", false);
+        requestBody.put("stream", stream);
+        if (stream) {
+            // 마지막 청크에 usage 포함 요청
+            requestBody.put("stream_options", Map.of("include_usage", true));
+        }
 
         return requestBody;
     }
 
-    private LlmResponse parseResponse(Map<String, Object> responseBody, long responseTime) {
+    private LlmResponse handleResponse(SimpleHttpResponse response, long responseTime) {
+        if (response.getCode() != HttpStatus.SC_OK) {
+            return LlmResponse.error("llama3.2", "HTTP " + response.getCode()).withFailure(response.getCode(), null);
+        }
+
         try {
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> choices = (List<Map<String, Object>>) responseBody.get("choices");
-            if (choices == null || choices.isEmpty()) {
-                return LlmResponse.error("llama3.2", "No choices in response");
+            VllmChatCompletion completion = objectMapper.readValue(response.getBodyBytes(), VllmChatCompletion.class);
+            return parseResponse(completion, responseTime);
+        } catch (Exception e) {
+            log.error("Error parsing vLLM response", e);
+            return LlmResponse.error("llama3.2", "Failed to parse response: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 타입 매핑된 응답 바디를 LlmResponse로 변환 - 사용하지 않는 필드는 역직렬화 단계에서 이미 건너뜀
+     */
+    private LlmResponse parseResponse(VllmChatCompletion completion, long responseTime) {
+        VllmChatCompletion.Choice choice = completion.firstChoice();
+        if (choice == null || choice.message() == null) {
+            return LlmResponse.error("llama3.2", "No choices in response");
+        }
+
+        VllmChatCompletion.Usage usage = completion.usage();
+        LlmResponse response = LlmResponse.success("llama3.2", choice.message().content(),
+                usage != null ? usage.totalTokens() : null, "vllm");
+        response.setId(completion.id());
+        response.setResponseTimeMs(responseTime);
+        response.setTimestamp(LocalDateTime.now());
+        if (choice.finishReason() != null) {
+            response.setFinishReason(choice.finishReason());
+        }
+        if (usage != null) {
+            response.setUsage(usage.toUsage());
+        }
+        return response;
+    }
+
+    /**
+     * SSE 응답 바디를 I/O 스레드에서 줄 단위로 읽는 컨슈머 - 청크 전달(블로킹 클라이언트 쓰기)은 StreamRelay에 넘긴다
+     */
+    private class EventStreamConsumer extends AbstractBinResponseConsumer<LlmResponse> {
+        private final StreamRelay relay;
+        private final long startTime;
+        private final StreamAggregator aggregator = new StreamAggregator();
+        private final ByteArrayOutputStream lineBuffer = new ByteArrayOutputStream(512);
+        private volatile int statusCode;
+        private volatile long headReceivedAt;
+        private volatile boolean clientAborted;
+        private boolean done;
+
+        EventStreamConsumer(StreamRelay relay, long startTime) {
+            this.relay = relay;
+            this.startTime = startTime;
+        }
+
+        /**
+         * 남은 청크를 모두 전달한 뒤 결과 완료 - 클라이언트가 "[DONE]"보다 청크를 먼저 받도록 보장
+         */
+        void finish(CompletableFuture<LlmResponse> result, LlmResponse response) {
+            relay.close(() -> result.complete(response));
+        }
+
+        @Override
+        protected void start(HttpResponse response, ContentType contentType) {
+            headReceivedAt = System.currentTimeMillis();
+            statusCode = response.getCode();
+        }
+
+        /** 응답 헤더까지 걸린 시간 (헤더 전에 실패했으면 실패 시점까지) */
+        long headLatency() {
+            long receivedAt = headReceivedAt;
+            return (receivedAt > 0 ? receivedAt : System.currentTimeMillis()) - startTime;
+        }
+
+        /**
+         * I/O 스레드는 파싱 후 StreamRelay에 넣기만 하므로 읽기를 막지 않는다 - 메모리는 relay의 대기 청크 한도로 제한
+         */
+        @Override
+        protected int capacityIncrement() {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        protected void data(ByteBuffer src, boolean endOfStream) {
+            // UTF-8에서 '\n' 바이트는 멀티바이트 문자 내부에 나타나지 않으므로 바이트 단위로 줄을 분리
+            while (src.hasRemaining()) {
+                byte b = src.get();
+                if (b == '\n') {
+                    handleLine();
+                } else if (b != '\r') {
+                    lineBuffer.write(b);
+                }
             }
+            if (endOfStream && lineBuffer.size() > 0) {
+                handleLine();
+            }
+        }
 
-            Map<String, Object> choice = choices.get(0);
-            @SuppressWarnings("unchecked")
-            Map<String, Object> message = (Map<String, Object>) choice.get("message");
-            String content = (String) message.get("content");
+        private void handleLine() {
+            String line = lineBuffer.toString(StandardCharsets.UTF_8);
+            lineBuffer.reset();
 
-            @SuppressWarnings("unchecked")
-            Map<String, Object> usage = (Map<String, Object>) responseBody.get("usage");
-            Integer tokensUsed = usage != null ? (Integer) usage.get("total_tokens") : null;
+            if (done || statusCode != HttpStatus.SC_OK || !line.startsWith("data:")) {
+                return; // 빈 줄, 주석, event 필드 무시
+            }
 
-            LlmResponse response = LlmResponse.success("llama3.2", content, tokensUsed, "vllm");
-            response.setId((String) responseBody.get("id"));
-            response.setResponseTimeMs(responseTime);
-            response.setTimestamp(LocalDateTime.now());
-
-            if (usage != null) {
-                LlmResponse.Usage usageInfo = LlmResponse.Usage.builder()
-                        .promptTokens((Integer) usage.get("prompt_tokens"))
-                        .completionTokens((Integer) usage.get("completion_tokens"))
-                        .totalTokens((Integer) usage.get("total_tokens")).build();
-                response.setUsage(usageInfo);
+            String data = line.substring(5).trim();
+            if ("[DONE]".equals(data)) {
+                done = true;
+                return;
             }
 
-            return response;
+            try {
+                relay.offer(data);
+            } catch (RuntimeException e) {
+                clientAborted = true;
+                throw e;
+            }
+            try {
+                aggregator.accept(objectMapper.readValue(data, VllmChatCompletion.class));
+            } catch (JsonProcessingException e) {
+                log.warn("Skipping malformed vLLM stream chunk: {}", e.getOriginalMessage());
+            }
+        }
 
-        } catch (Exception e) {
-            log.error("Error parsing vLLM response", e);
-            return LlmResponse.error("llama3.2", "Failed to parse response: " + e.getMessage());
+        @Override
+        protected LlmResponse buildResult() {
+            if (statusCode != HttpStatus.SC_OK) {
+                return LlmResponse.error("llama3.2", "HTTP " + statusCode).withFailure(statusCode, null);
+            }
+            return aggregator.toResponse(System.currentTimeMillis() - startTime);
+        }
+
+        @Override
+        public void releaseResources() {
+            lineBuffer.reset();
+        }
+    }
+
+    /**
+     * 스트리밍 청크로부터 최종 LlmResponse 요약을 구성
+     */
+    private static class StreamAggregator {
+        private final StringBuilder content = new StringBuilder();
+        private String id;
+        private String finishReason;
+        private LlmResponse.Usage usage;
+
+        void accept(VllmChatCompletion chunk) {
+            if (id == null && chunk.id() != null) {
+                id = chunk.id();
+            }
+
+            VllmChatCompletion.Choice choice = chunk.firstChoice();
+            if (choice != null) {
+                if (choice.delta() != null && choice.delta().content() != null) {
+                    content.append(choice.delta().content());
+                }
+                if (choice.finishReason() != null) {
+                    finishReason = choice.finishReason();
+                }
+            }
+
+            if (chunk.usage() != null) {
+                usage = chunk.usage().toUsage();
+            }
+        }
+
+        LlmResponse toResponse(long responseTime) {
+            LlmResponse response = LlmResponse.success("llama3.2", content.toString(),
+                    usage != null ? usage.getTotalTokens() : null, "vllm");
+            response.setId(id);
+            response.setStreaming(true);
+            response.setResponseTimeMs(responseTime);
+            response.setUsage(usage);
+            if (finishReason != null) {
+                response.setFinishReason(finishReason);
+            }
+            return response;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,41 @@
+// VllmChatCompletion.java
+package com.yourcompany.llm.service.vllm;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.yourcompany.llm.dto.LlmResponse;
+
+/**
+ * vLLM /v1/chat/completions 응답 바디와 스트리밍 청크(chat.completion.chunk)의 타입 매핑.
+ * 사용하는 필드만 선언하고 나머지(logprobs, prompt_logprobs 등)는 트리를 만들지 않고 건너뛴다.
+ * 청크는 choices[].delta, 일반 응답은 choices[].message에 내용이 온다.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+record VllmChatCompletion(String id, List<Choice> choices, Usage usage) {
+
+    /** 첫 번째 choice (없으면 null) */
+    Choice firstChoice() {
+        return choices != null && !choices.isEmpty() ? choices.get(0) : null;
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Choice(Message message, Message delta, @JsonProperty("finish_reason") String finishReason) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Message(String content) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Usage(@JsonProperty("prompt_tokens") Integer promptTokens,
+                 @JsonProperty("completion_tokens") Integer completionTokens,
+                 @JsonProperty("total_tokens") Integer totalTokens) {
+
+        LlmResponse.Usage toUsage() {
+            return LlmResponse.Usage.builder().promptTokens(promptTokens).completionTokens(completionTokens)
+                .totalTokens(totalTokens).build();
+        }
+    }
+}
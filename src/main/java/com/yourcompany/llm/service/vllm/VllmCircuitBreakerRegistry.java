@@ -0,0 +1,95 @@
+// VllmCircuitBreakerRegistry.java
+package com.yourcompany.llm.service.vllm;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.yourcompany.llm.config.vllm.VllmConfigProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * vLLM 서버별 서킷 브레이커 관리 - 설정은 vllm.servers[*].circuit-breaker
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VllmCircuitBreakerRegistry {
+
+    private final VllmConfigProperties vllmConfig;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * 서킷 상태나 HALF_OPEN 시험 호출 슬롯 여유가 바뀔 때마다 증가하는 버전 (로드 밸런서 스냅샷 갱신용)
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    public Map<String, CircuitBreakerStatus> getStatuses() {
+        return breakers.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey,
+            entry -> toStatus(entry.getKey(), entry.getValue())));
+    }
+
+    public void reset() {
+        breakers.clear();
+        version.incrementAndGet();
+    }
+
+    CircuitBreaker breaker(String serverName) {
+        return breakers.computeIfAbsent(serverName, this::createBreaker);
+    }
+
+    private CircuitBreaker createBreaker(String serverName) {
+        VllmConfigProperties.VllmServerConfig serverConfig = vllmConfig.getServerByName(serverName);
+        VllmConfigProperties.VllmCircuitBreakerSettings settings = serverConfig != null
+            ? serverConfig.getCircuitBreaker() : new VllmConfigProperties.VllmCircuitBreakerSettings();
+
+        return new CircuitBreaker(settings, (from, to) -> {
+            version.incrementAndGet();
+            Counter.builder("vllm.circuit.transitions").tag("server", serverName).tag("state", to.name())
+                .description("Circuit breaker state transitions").register(meterRegistry).increment();
+
+            if (to == CircuitBreaker.State.OPEN) {
+                log.warn("Circuit OPEN for server: {} ({} -> {})", serverName, from, to);
+            } else {
+                log.info("Circuit {} for server: {} ({} -> {})", to, serverName, from, to);
+            }
+        }, version::incrementAndGet);
+    }
+
+    private CircuitBreakerStatus toStatus(String serverName, CircuitBreaker breaker) {
+        CircuitBreaker.State state = breaker.state();
+        long openUntil = breaker.openUntilNanos();
+
+        return CircuitBreakerStatus.builder()
+            .serverName(serverName)
+            .state(state.name())
+            .failureRate(breaker.failureRate())
+            .slowCallRate(breaker.slowCallRate())
+            .bufferedCalls(breaker.bufferedCalls())
+            .openUntil(openUntil != 0 ? LocalDateTime.now().plusNanos(openUntil - System.nanoTime()) : null)
+            .build();
+    }
+
+    @lombok.Builder
+    @lombok.Data
+    public static class CircuitBreakerStatus {
+        private String serverName;
+        private String state; // CLOSED, OPEN, HALF_OPEN
+        private Double failureRate;
+        private Double slowCallRate;
+        private Integer bufferedCalls;
+        private LocalDateTime openUntil;
+    }
+}
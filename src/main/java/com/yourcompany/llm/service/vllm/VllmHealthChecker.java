@@ -9,14 +9,16 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
-import java.io.IOException;
-import java.net.InetSocketAddress;
-import java.net.Socket;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Slf4j
 @Component
@@ -25,30 +27,68 @@ public class VllmHealthChecker {
     
     private final VllmConfigProperties vllmConfig;
     private final RestTemplate restTemplate;
+    private final Executor healthCheckExecutor;
     private final Map<String, HealthStatus> healthCache = new ConcurrentHashMap<>();
+    private final AtomicLong healthVersion = new AtomicLong();
     
+    /**
+     * 헬스 체크 실행 - 전용 실행자에서 수행하며 마감 시간을 넘기면 DOWN으로 기록
+     */
     public CompletableFuture<HealthStatus> checkServerHealth(String serverName) {
-        return CompletableFuture.supplyAsync(() -> {
-            VllmConfigProperties.VllmServerConfig serverConfig = vllmConfig.getServerByName(serverName);
-            if (serverConfig == null) {
-                return HealthStatus.unknown(serverName, "Server configuration not found");
-            }
-            
-            HealthStatus status = performHealthCheck(serverConfig);
-            healthCache.put(serverName, status);
-            return status;
-        });
+        VllmConfigProperties.VllmServerConfig serverConfig = vllmConfig.getServerByName(serverName);
+        if (serverConfig == null) {
+            return CompletableFuture.completedFuture(
+                HealthStatus.unknown(serverName, "Server configuration not found"));
+        }
+        
+        long deadlineMs = vllmConfig.getGlobalSettings().getHealthCheck().getTimeout().toMillis();
+        CompletableFuture<HealthStatus> check;
+        try {
+            check = CompletableFuture.supplyAsync(() -> performHealthCheck(serverConfig), healthCheckExecutor);
+        } catch (RejectedExecutionException e) {
+            log.warn("Health check rejected for server: {} - executor saturated", serverName);
+            return CompletableFuture.completedFuture(getCachedHealthStatus(serverName));
+        }
+        
+        return check
+            .completeOnTimeout(HealthStatus.down(serverName,
+                "Health check timed out after " + deadlineMs + "ms", LocalDateTime.now()), deadlineMs,
+                TimeUnit.MILLISECONDS)
+            .exceptionally(e -> HealthStatus.down(serverName,
+                "Health check failed: " + e.getMessage(), LocalDateTime.now()))
+            .thenApply(status -> {
+                updateHealthCache(serverName, status);
+                return status;
+            });
     }
     
+    /**
+     * 모든 서버를 동시에 점검하고, 전부 끝나거나 마감 시간이 지나면 결과 반환
+     */
     public CompletableFuture<Map<String, HealthStatus>> checkAllServersHealth() {
-        Map<String, HealthStatus> results = new HashMap<>();
+        List<String> serverNames = vllmConfig.getEnabledServers().stream()
+            .map(VllmConfigProperties.VllmServerConfig::getName)
+            .toList();
         
-        vllmConfig.getEnabledServers().forEach(server -> {
-            HealthStatus status = checkServerHealth(server.getName()).join();
-            results.put(server.getName(), status);
-        });
+        List<CompletableFuture<HealthStatus>> checks = serverNames.stream()
+            .map(this::checkServerHealth)
+            .toList();
         
-        return CompletableFuture.completedFuture(results);
+        return CompletableFuture.allOf(checks.toArray(CompletableFuture[]::new))
+            .thenApply(ignored -> {
+                Map<String, HealthStatus> results = new HashMap<>();
+                for (int i = 0; i < serverNames.size(); i++) {
+                    results.put(serverNames.get(i), checks.get(i).join());
+                }
+                return results;
+            });
+    }
+    
+    private void updateHealthCache(String serverName, HealthStatus status) {
+        HealthStatus previous = healthCache.put(serverName, status);
+        if (previous == null || previous.isHealthy() != status.isHealthy()) {
+            healthVersion.incrementAndGet();
+        }
     }
     
     public HealthStatus getCachedHealthStatus(String serverName) {
@@ -60,12 +100,21 @@ public class VllmHealthChecker {
         return new HashMap<>(healthCache);
     }
     
+    /**
+     * 서버의 정상/비정상 여부가 바뀔 때마다 증가하는 버전 (로드 밸런서 스냅샷 갱신용)
+     */
+    public long getHealthVersion() {
+        return healthVersion.get();
+    }
+    
     public void clearHealthCache() {
         healthCache.clear();
+        healthVersion.incrementAndGet();
     }
     
     public void clearHealthCache(String serverName) {
         healthCache.remove(serverName);
+        healthVersion.incrementAndGet();
     }
     
     private HealthStatus performHealthCheck(VllmConfigProperties.VllmServerConfig serverConfig) {
@@ -74,12 +123,7 @@ public class VllmHealthChecker {
         Integer port = serverConfig.getPort();
         LocalDateTime checkTime = LocalDateTime.now();
         
-        // 포트 연결 확인
-        if (!isPortOpen(host, port, 2000)) {
-            return HealthStatus.down(serverName, "Port not accessible", checkTime);
-        }
-        
-        // API 엔드포인트 확인
+        // API 엔드포인트 확인 (연결 실패도 여기서 connect timeout으로 감지)
         try {
             String healthUrl = String.format("http://%s:%d/v1/models", host, port);
             ResponseEntity<String> response = restTemplate.getForEntity(healthUrl, String.class);
@@ -96,15 +140,6 @@ public class VllmHealthChecker {
         }
     }
     
-    private boolean isPortOpen(String host, int port, int timeoutMs) {
-        try (Socket socket = new Socket()) {
-            socket.connect(new InetSocketAddress(host, port), timeoutMs);
-            return true;
-        } catch (IOException e) {
-            return false;
-        }
-    }
-    
     @lombok.Builder
     @lombok.Data
     public static class HealthStatus {
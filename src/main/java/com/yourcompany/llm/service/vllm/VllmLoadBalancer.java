@@ -2,13 +2,21 @@
 package com.yourcompany.llm.service.vllm;
 
 import com.yourcompany.llm.config.vllm.VllmConfigProperties;
+import com.yourcompany.llm.dto.LlmRequest;
+import com.yourcompany.llm.dto.LlmResponse;
+import com.yourcompany.llm.service.tokenizer.TokenCounter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
@@ -18,51 +26,170 @@ public class VllmLoadBalancer {
     
     private final VllmConfigProperties vllmConfig;
     private final VllmHealthChecker healthChecker;
-    private final Map<String, AtomicInteger> requestCounts = new ConcurrentHashMap<>();
+    private final PassiveHealthTracker passiveHealth;
+    private final VllmCircuitBreakerRegistry circuitBreakers;
+    private final VllmMetricsScraper metricsScraper;
+    private final MeterRegistry meterRegistry;
+    private final TokenCounter tokenCounter;
+    private final Set<ServerLease> activeLeases = ConcurrentHashMap.newKeySet();
+    private final Map<String, ServerHandle> handles = new ConcurrentHashMap<>();
     private final AtomicInteger roundRobinCounter = new AtomicInteger(0);
+    private volatile ServerSnapshot snapshot = ServerSnapshot.EMPTY;
+    private volatile ConsistentHashRing prefixRing;
     
     public enum LoadBalancingStrategy {
         ROUND_ROBIN,
         LEAST_CONNECTIONS,
         HEALTH_BASED,
         PERFORMANCE_BASED,
-        RANDOM
+        RANDOM,
+        PREFIX_AFFINITY,
+        P2C,
+        QUEUE_AWARE,
+        LEAST_OUTSTANDING_TOKENS
     }
     
-    public Optional<String> selectServer(String modelName, LoadBalancingStrategy strategy) {
-        List<String> availableServers = getAvailableServers();
+    /**
+     * 서버를 선택하고 사용권을 발급 - 호출이 끝나면 반드시 lease를 해제해야 한다 (ServerLease.run 권장)
+     */
+    public Optional<ServerLease> acquireServer(String modelName, LoadBalancingStrategy strategy, LlmRequest request) {
+        return acquireServer(modelName, strategy, request, Set.of());
+    }
+    
+    /**
+     * excludedServers를 제외하고 서버를 선택해 사용권 발급 (헤지, 재시도에서 다른 서버를 고를 때 사용)
+     */
+    public Optional<ServerLease> acquireServer(String modelName, LoadBalancingStrategy strategy, LlmRequest request,
+                                               Collection<String> excludedServers) {
+        String selectedServer = chooseServer(strategy, request, excludedServers);
+        if (selectedServer == null) {
+            return Optional.empty();
+        }
+        
+        ServerHandle selected = handle(selectedServer);
+        long weight = requestWeight(request);
+        selected.activeRequests().incrementAndGet();
+        selected.outstandingTokens().add(weight);
+        
+        ServerLease lease = new ServerLease(this, selected, weight, request != null ? request.getRequestId() : null);
+        activeLeases.add(lease);
+        
+        log.debug("Selected Llama 3.2 server: {} using strategy: {}", selectedServer, strategy);
+        return Optional.of(lease);
+    }
+    
+    /**
+     * 아직 시도하지 않은 서버를 우선 선택하고, 남은 서버가 없으면 전체에서 다시 선택 (단일 서버 구성의 재시도용)
+     */
+    public Optional<ServerLease> acquireUntriedServer(String modelName, LoadBalancingStrategy strategy,
+                                                      LlmRequest request, Collection<String> triedServers) {
+        Optional<ServerLease> lease = acquireServer(modelName, strategy, request, triedServers);
+        if (lease.isPresent() || triedServers.isEmpty()) {
+            return lease;
+        }
+        return acquireServer(modelName, strategy, request);
+    }
+
+    /**
+     * 부하 집계 없이 어떤 서버가 선택될지만 조회 (request는 PREFIX_AFFINITY에서만 사용하며 null 허용)
+     */
+    public Optional<String> selectServer(String modelName, LoadBalancingStrategy strategy, LlmRequest request) {
+        return Optional.ofNullable(chooseServer(strategy, request, Set.of()));
+    }
+    
+    /**
+     * 지금 선택 가능한 서버 수 - 헬스 상태, passive 제외, 서킷 상태를 반영한 스냅샷 기준
+     */
+    public int availableServerCount() {
+        return currentSnapshot().healthy.length;
+    }
+    
+    private String chooseServer(LoadBalancingStrategy strategy, LlmRequest request, Collection<String> excluded) {
+        ServerSnapshot current = currentSnapshot();
+        ServerHandle[] healthy = current.healthy;
+        List<String> availableServers = current.names;
         
         if (availableServers.isEmpty()) {
             log.warn("No available Llama 3.2 servers found");
-            return Optional.empty();
+            return null;
+        }
+        
+        if (!excluded.isEmpty()) {
+            healthy = Arrays.stream(healthy)
+                .filter(server -> !excluded.contains(server.name()))
+                .toArray(ServerHandle[]::new);
+            availableServers = Arrays.stream(healthy).map(ServerHandle::name).toList();
+            if (availableServers.isEmpty()) {
+                log.debug("No alternative Llama 3.2 server available - Excluded: {}", excluded);
+                return null;
+            }
         }
         
-        String selectedServer = switch (strategy) {
+        return switch (strategy) {
             case ROUND_ROBIN -> selectRoundRobin(availableServers);
             case LEAST_CONNECTIONS -> selectLeastConnections(availableServers);
             case HEALTH_BASED -> selectHealthBased(availableServers);
             case PERFORMANCE_BASED -> selectPerformanceBased(availableServers);
             case RANDOM -> selectRandom(availableServers);
+            case PREFIX_AFFINITY -> selectPrefixAffinity(current.names, availableServers, request);
+            case P2C -> selectPowerOfTwoChoices(healthy);
+            case QUEUE_AWARE -> selectQueueAware(healthy);
+            case LEAST_OUTSTANDING_TOKENS -> selectLeastOutstandingTokens(healthy);
         };
+    }
+    
+    /**
+     * lease 해제 (ServerLease에서 정확히 한 번 호출) - 예약한 작업량을 반납하고,
+     * 성공 응답이면 실제 usage와 성능 EWMA를 반영 (실패/취소 시 response는 null)
+     */
+    void release(ServerLease lease, LlmResponse response) {
+        activeLeases.remove(lease);
         
-        requestCounts.computeIfAbsent(selectedServer, k -> new AtomicInteger(0)).incrementAndGet();
+        ServerHandle handle = lease.handle();
+        handle.activeRequests().decrementAndGet();
+        handle.outstandingTokens().add(-lease.weight());
         
-        log.debug("Selected Llama 3.2 server: {} using strategy: {}", selectedServer, strategy);
-        return Optional.of(selectedServer);
+        if (response != null && response.getUsage() != null && response.getUsage().getTotalTokens() != null) {
+            handle.completedTokens().add(response.getUsage().getTotalTokens());
+        }
+        
+        if (response != null && response.isSuccess() && response.getResponseTimeMs() != null) {
+            handle.performance().record(response.getResponseTimeMs(), ServerPerformanceStats.completionTokens(response),
+                vllmConfig.getLoadBalancer().getPerformance().getEwmaAlpha());
+        }
     }
     
-    public void completeRequest(String serverName) {
-        AtomicInteger counter = requestCounts.get(serverName);
-        if (counter != null) {
-            counter.decrementAndGet();
+    /**
+     * 읽기 타임아웃보다 오래 해제되지 않은 lease 보고 - 해제 누락이나 응답 없는 서버를 찾기 위함
+     */
+    @Scheduled(fixedRate = 30000) // 30초마다
+    public void reportOverdueLeases() {
+        Duration readTimeout = vllmConfig.getGlobalSettings().getHttpClient().getReadTimeout();
+        long thresholdNanos = readTimeout.toNanos();
+        
+        for (ServerLease lease : activeLeases) {
+            if (lease.isReleased() || lease.heldNanos() < thresholdNanos || !lease.markOverdueReported()) {
+                continue;
+            }
+            
+            Counter.builder("vllm.lease.overdue").tag("server", lease.getServerName())
+                .description("Server leases held longer than the read timeout")
+                .register(meterRegistry).increment();
+            log.warn("Server lease held longer than read timeout ({}) - Server: {}, Request: {}, Held: {}s",
+                readTimeout, lease.getServerName(), lease.requestId(), Duration.ofNanos(lease.heldNanos()).toSeconds());
         }
     }
     
     public LoadBalancerStatus getStatus() {
-        Map<String, Integer> currentLoads = requestCounts.entrySet().stream()
+        Map<String, Integer> currentLoads = handles.entrySet().stream()
             .collect(java.util.stream.Collectors.toMap(
                 Map.Entry::getKey,
-                entry -> entry.getValue().get()
+                entry -> entry.getValue().activeRequests().get()
+            ));
+        Map<String, Long> outstandingTokens = handles.entrySet().stream()
+            .collect(java.util.stream.Collectors.toMap(
+                Map.Entry::getKey,
+                entry -> entry.getValue().outstandingTokens().sum()
             ));
         
         Map<String, VllmHealthChecker.HealthStatus> healthStatuses = 
@@ -70,22 +197,33 @@ public class VllmLoadBalancer {
         
         return LoadBalancerStatus.builder()
             .serverLoads(currentLoads)
+            .serverOutstandingTokens(outstandingTokens)
+            .activeLeases(activeLeases.size())
             .healthStatuses(healthStatuses)
+            .passiveHealth(passiveHealth.getEjectionStatuses())
+            .circuitBreakers(circuitBreakers.getStatuses())
+            .backendMetrics(metricsScraper.getAllMetrics())
             .totalRequests(currentLoads.values().stream().mapToInt(Integer::intValue).sum())
             .timestamp(LocalDateTime.now())
             .build();
     }
     
     public ServerStatistics getServerStatistics(String serverName) {
-        AtomicInteger requestCounter = requestCounts.get(serverName);
-        int currentRequests = requestCounter != null ? requestCounter.get() : 0;
+        ServerHandle handle = handles.get(serverName);
+        int currentRequests = handle != null ? handle.activeRequests().get() : 0;
         
         VllmHealthChecker.HealthStatus healthStatus = healthChecker.getCachedHealthStatus(serverName);
         VllmConfigProperties.VllmServerConfig config = vllmConfig.getServerByName(serverName);
+        ServerPerformanceStats performance = handle != null ? handle.performance() : null;
         
         return ServerStatistics.builder()
             .serverName(serverName)
             .currentRequests(currentRequests)
+            .outstandingTokens(handle != null ? handle.outstandingTokens().sum() : 0L)
+            .completedTokens(handle != null ? handle.completedTokens().sum() : 0L)
+            .latencyMsPerToken(performance != null ? finiteOrNull(performance.latencyMsPerToken()) : null)
+            .tokensPerSecond(performance != null ? finiteOrNull(performance.tokensPerSecond()) : null)
+            .completedSamples(performance != null ? performance.samples() : 0L)
             .healthStatus(healthStatus)
             .config(config)
             .timestamp(LocalDateTime.now())
@@ -93,16 +231,72 @@ public class VllmLoadBalancer {
     }
     
     public void reset() {
-        requestCounts.clear();
+        handles.clear();
+        passiveHealth.reset();
+        circuitBreakers.reset();
         roundRobinCounter.set(0);
+        snapshot = ServerSnapshot.EMPTY;
+        prefixRing = null;
         log.info("Load balancer reset completed");
     }
     
-    private List<String> getAvailableServers() {
-        return vllmConfig.getEnabledServers().stream()
-            .filter(this::isServerHealthy)
-            .map(VllmConfigProperties.VllmServerConfig::getName)
-            .toList();
+    /**
+     * 정상 서버 목록 스냅샷 - 서버 설정, 헬스 상태, passive 제외/서킷 상태가 바뀌거나 제외·OPEN 기간이 끝난
+     * 경우에만 다시 만들어 게시하고, 그 외에는 매 선택마다 같은 불변 배열/리스트를 재사용한다.
+     */
+    private ServerSnapshot currentSnapshot() {
+        ServerSnapshot current = snapshot;
+        List<VllmConfigProperties.VllmServerConfig> configured = vllmConfig.getServers();
+        long healthVersion = healthChecker.getHealthVersion();
+        long ejectionVersion = passiveHealth.getVersion();
+        long circuitVersion = circuitBreakers.getVersion();
+        
+        if (current.configured == configured && current.healthVersion == healthVersion
+                && current.ejectionVersion == ejectionVersion && current.circuitVersion == circuitVersion
+                && (current.nextReadmission == 0 || current.nextReadmission - System.nanoTime() > 0)) {
+            return current;
+        }
+        
+        long nextReadmission = 0;
+        List<ServerHandle> healthy = new ArrayList<>();
+        for (VllmConfigProperties.VllmServerConfig server : vllmConfig.getEnabledServers()) {
+            if (!isServerHealthy(server)) {
+                continue;
+            }
+            if (circuitBreakers.breaker(server.getName()).isHalfOpenSaturated()) {
+                continue; // 시험 호출 결과를 기다리는 중 - 슬롯이 반환되거나 상태가 바뀌면 버전이 올라 다시 포함
+            }
+            long unavailableUntil = unavailableUntilNanos(server.getName());
+            if (unavailableUntil != 0) {
+                nextReadmission = nextReadmission == 0 || unavailableUntil - nextReadmission < 0
+                    ? unavailableUntil : nextReadmission;
+                continue;
+            }
+            healthy.add(handle(server.getName()));
+        }
+        
+        ServerSnapshot rebuilt = new ServerSnapshot(configured, healthVersion, ejectionVersion, circuitVersion,
+            nextReadmission, healthy.toArray(ServerHandle[]::new));
+        snapshot = rebuilt;
+        
+        log.debug("Published healthy server snapshot - Servers: {}", rebuilt.names);
+        return rebuilt;
+    }
+    
+    /**
+     * passive 제외 또는 OPEN 서킷으로 선택할 수 없는 기간의 끝 (nanoTime), 선택 가능하면 0
+     */
+    private long unavailableUntilNanos(String serverName) {
+        long ejectedUntil = passiveHealth.ejectedUntilNanos(serverName);
+        long openUntil = circuitBreakers.breaker(serverName).openUntilNanos();
+        if (ejectedUntil == 0 || openUntil == 0) {
+            return ejectedUntil != 0 ? ejectedUntil : openUntil;
+        }
+        return ejectedUntil - openUntil > 0 ? ejectedUntil : openUntil;
+    }
+    
+    private ServerHandle handle(String serverName) {
+        return handles.computeIfAbsent(serverName, ServerHandle::new);
     }
     
     private boolean isServerHealthy(VllmConfigProperties.VllmServerConfig serverConfig) {
@@ -128,20 +322,186 @@ public class VllmLoadBalancer {
             .orElse(selectRoundRobin(servers));
     }
     
+    /**
+     * 예상 완료 시간 = (진행 중 요청 + 1) × 토큰당 지연 EWMA 가 가장 작은 서버 선택.
+     * 아직 관측되지 않은 서버는 가장 빠른 서버와 같다고 가정해 트래픽을 받아 보도록 한다.
+     */
     private String selectPerformanceBased(List<String> servers) {
-        return servers.stream()
-            .min(Comparator.comparingInt(this::getActiveConnections))
-            .orElse(servers.get(0));
+        double fastest = Double.NaN;
+        for (String server : servers) {
+            double latency = latencyMsPerToken(server);
+            if (!Double.isNaN(latency) && !(latency >= fastest)) {
+                fastest = latency;
+            }
+        }
+        
+        if (Double.isNaN(fastest)) {
+            return selectLeastConnections(servers);
+        }
+        
+        String selected = servers.get(0);
+        double bestScore = Double.MAX_VALUE;
+        for (String server : servers) {
+            double latency = latencyMsPerToken(server);
+            double score = (getActiveConnections(server) + 1) * (Double.isNaN(latency) ? fastest : latency);
+            if (score < bestScore) {
+                bestScore = score;
+                selected = server;
+            }
+        }
+        return selected;
+    }
+    
+    /**
+     * vLLM이 보고한 실제 대기열로 선택 - 점수 = (실행 중 + 대기 × 가중치 + 게이트웨이 진행 중) / (1 - KV 캐시 사용률).
+     * 게이트웨이 진행 중 요청을 더해 수집 주기 사이에 한 서버로 몰리는 것을 완화한다.
+     * 유효한 메트릭이 하나도 없으면 least connections로 대체.
+     */
+    private String selectQueueAware(ServerHandle[] servers) {
+        VllmConfigProperties.VllmQueueAwareSettings settings = vllmConfig.getLoadBalancer().getQueueAware();
+        
+        String selected = null;
+        double bestScore = Double.MAX_VALUE;
+        boolean anyMetrics = false;
+        
+        for (ServerHandle server : servers) {
+            Optional<VllmMetricsScraper.ServerMetrics> metrics = metricsScraper.getFreshMetrics(server.name());
+            double queueDepth = server.activeRequests().get();
+            double kvCacheUsage = 0.0;
+            
+            if (metrics.isPresent()) {
+                anyMetrics = true;
+                queueDepth += metrics.get().getRequestsRunning()
+                    + metrics.get().getRequestsWaiting() * settings.getWaitingWeight();
+                kvCacheUsage = Math.min(metrics.get().getKvCacheUsage(), settings.getMaxKvCacheUsage());
+            }
+            
+            double score = (queueDepth + 1) / (1.0 - kvCacheUsage);
+            if (score < bestScore) {
+                bestScore = score;
+                selected = server.name();
+            }
+        }
+        
+        return anyMetrics ? selected : selectLeastConnections(Arrays.stream(servers).map(ServerHandle::name).toList());
+    }
+    
+    /**
+     * 예상 미처리 토큰(프롬프트 + maxTokens 합)이 가장 적은 서버 선택 - 짧은 채팅과 긴 요약을 같은 부하로 보지 않는다
+     */
+    private String selectLeastOutstandingTokens(ServerHandle[] servers) {
+        ServerHandle selected = servers[0];
+        long fewest = Long.MAX_VALUE;
+        for (ServerHandle server : servers) {
+            long outstanding = server.outstandingTokens().sum();
+            if (outstanding < fewest) {
+                fewest = outstanding;
+                selected = server;
+            }
+        }
+        return selected.name();
+    }
+    
+    /**
+     * 요청의 예상 작업량 - 선택과 완료에서 같은 값을 써야 카운터가 어긋나지 않는다
+     */
+    private long requestWeight(LlmRequest request) {
+        return tokenCounter.countRequestTokens(request);
+    }
+    
+    private double latencyMsPerToken(String serverName) {
+        ServerHandle handle = handles.get(serverName);
+        return handle != null ? handle.performance().latencyMsPerToken() : Double.NaN;
+    }
+    
+    private static Double finiteOrNull(double value) {
+        return Double.isNaN(value) ? null : value;
     }
     
     private String selectRandom(List<String> servers) {
-        Random random = new Random();
-        return servers.get(random.nextInt(servers.size()));
+        return servers.get(ThreadLocalRandom.current().nextInt(servers.size()));
+    }
+    
+    /**
+     * Power of two choices - 서로 다른 정상 서버 두 개를 무작위로 골라 진행 중 요청이 적은 쪽 선택 (O(1))
+     */
+    private String selectPowerOfTwoChoices(ServerHandle[] servers) {
+        if (servers.length == 1) {
+            return servers[0].name();
+        }
+        
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(servers.length);
+        int second = random.nextInt(servers.length - 1);
+        if (second >= first) {
+            second++;
+        }
+        
+        ServerHandle a = servers[first];
+        ServerHandle b = servers[second];
+        return a.activeRequests().get() <= b.activeRequests().get() ? a.name() : b.name();
+    }
+    
+    /**
+     * 공통 프롬프트 접두사를 가진 요청을 같은 서버로 보내 vLLM prefix cache 적중률을 높인다.
+     * 평균 부하의 loadFactor 배를 넘는 서버는 링에서 건너뛴다 (consistent hashing with bounded loads).
+     * 링은 전체 정상 서버로 유지하고, 제외된 서버가 있으면 링 위의 다음 후보로 넘어간다.
+     */
+    private String selectPrefixAffinity(List<String> ringServers, List<String> servers, LlmRequest request) {
+        if (request == null) {
+            return selectLeastConnections(servers);
+        }
+        
+        VllmConfigProperties.VllmPrefixAffinitySettings settings = vllmConfig.getLoadBalancer().getPrefixAffinity();
+        
+        ConsistentHashRing ring = prefixRing;
+        if (ring == null || !ring.servers().equals(ringServers)) {
+            ring = new ConsistentHashRing(ringServers, settings.getVirtualNodes());
+            prefixRing = ring;
+        }
+        
+        int totalActive = servers.stream().mapToInt(this::getActiveConnections).sum();
+        double capacity = Math.ceil(settings.getLoadFactor() * (totalActive + 1) / servers.size());
+        boolean filtered = servers != ringServers;
+        
+        String selected = ring.select(prefixFingerprint(request, settings),
+            server -> (!filtered || servers.contains(server)) && getActiveConnections(server) + 1 <= capacity);
+        return selected != null ? selected : selectLeastConnections(servers);
+    }
+    
+    /**
+     * 선두 메시지(첫 user 메시지까지)의 지문 - 멀티턴 대화는 턴이 늘어나도 같은 지문을 유지
+     */
+    private long prefixFingerprint(LlmRequest request, VllmConfigProperties.VllmPrefixAffinitySettings settings) {
+        long hash = ConsistentHashRing.FNV_OFFSET_BASIS;
+        int budget = settings.getMaxPrefixChars();
+        
+        if (request.getMessages() != null && !request.getMessages().isEmpty()) {
+            int limit = Math.min(settings.getMaxPrefixMessages(), request.getMessages().size());
+            for (int i = 0; i < limit && budget > 0; i++) {
+                LlmRequest.Message message = request.getMessages().get(i);
+                hash = ConsistentHashRing.hash(hash, message.getRole(), budget);
+                hash = ConsistentHashRing.hash(hash, message.getContent(), budget);
+                budget -= message.getContent() != null ? message.getContent().length() : 0;
+                
+                if ("user".equals(message.getRole())) {
+                    break;
+                }
+            }
+        } else {
+            hash = ConsistentHashRing.hash(hash, "system", budget);
+            hash = ConsistentHashRing.hash(hash, request.getSystemPrompt(), budget);
+            budget -= request.getSystemPrompt() != null ? request.getSystemPrompt().length() : 0;
+            hash = ConsistentHashRing.hash(hash, "user", budget);
+            hash = ConsistentHashRing.hash(hash, request.getMessage(), budget);
+        }
+        
+        return ConsistentHashRing.mix(hash);
     }
     
     private int getActiveConnections(String serverName) {
-        AtomicInteger counter = requestCounts.get(serverName);
-        return counter != null ? counter.get() : 0;
+        ServerHandle handle = handles.get(serverName);
+        return handle != null ? handle.activeRequests().get() : 0;
     }
     
     private boolean isServerResponsive(String serverName) {
@@ -149,11 +509,42 @@ public class VllmLoadBalancer {
         return status.isHealthy();
     }
     
+    /**
+     * 특정 설정/헬스 버전에서의 정상 서버 목록 (불변)
+     */
+    private static final class ServerSnapshot {
+        static final ServerSnapshot EMPTY = new ServerSnapshot(null, -1, -1, -1, 0, new ServerHandle[0]);
+        
+        final List<VllmConfigProperties.VllmServerConfig> configured;
+        final long healthVersion;
+        final long ejectionVersion;
+        final long circuitVersion;
+        final long nextReadmission; // 가장 빠른 제외 종료 시각 (nanoTime), 없으면 0
+        final ServerHandle[] healthy;
+        final List<String> names;
+        
+        ServerSnapshot(List<VllmConfigProperties.VllmServerConfig> configured, long healthVersion,
+                       long ejectionVersion, long circuitVersion, long nextReadmission, ServerHandle[] healthy) {
+            this.configured = configured;
+            this.healthVersion = healthVersion;
+            this.ejectionVersion = ejectionVersion;
+            this.circuitVersion = circuitVersion;
+            this.nextReadmission = nextReadmission;
+            this.healthy = healthy;
+            this.names = Arrays.stream(healthy).map(ServerHandle::name).toList();
+        }
+    }
+    
     @lombok.Builder
     @lombok.Data
     public static class LoadBalancerStatus {
         private Map<String, Integer> serverLoads;
+        private Map<String, Long> serverOutstandingTokens;
+        private Integer activeLeases;
         private Map<String, VllmHealthChecker.HealthStatus> healthStatuses;
+        private Map<String, PassiveHealthTracker.EjectionStatus> passiveHealth;
+        private Map<String, VllmCircuitBreakerRegistry.CircuitBreakerStatus> circuitBreakers;
+        private Map<String, VllmMetricsScraper.ServerMetrics> backendMetrics;
         private Integer totalRequests;
         private LocalDateTime timestamp;
     }
@@ -163,6 +554,11 @@ public class VllmLoadBalancer {
     public static class ServerStatistics {
         private String serverName;
         private Integer currentRequests;
+        private Long outstandingTokens;
+        private Long completedTokens;
+        private Double latencyMsPerToken;
+        private Double tokensPerSecond;
+        private Long completedSamples;
         private VllmHealthChecker.HealthStatus healthStatus;
         private VllmConfigProperties.VllmServerConfig config;
         private LocalDateTime timestamp;
@@ -0,0 +1,138 @@
+// VllmMetricsScraper.java
+package com.yourcompany.llm.service.vllm;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import com.yourcompany.llm.config.vllm.VllmConfigProperties;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * vLLM /metrics를 주기적으로 수집해 서버별 실제 대기열 깊이와 KV 캐시 사용률을 보관.
+ * 게이트웨이 밖의 클라이언트가 같은 서버를 쓰는 경우에도 실제 부하를 반영하기 위함.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VllmMetricsScraper {
+
+    private static final String NUM_REQUESTS_WAITING = "vllm:num_requests_waiting";
+    private static final String NUM_REQUESTS_RUNNING = "vllm:num_requests_running";
+    private static final String GPU_CACHE_USAGE = "vllm:gpu_cache_usage_perc";
+    private static final String KV_CACHE_USAGE = "vllm:kv_cache_usage_perc"; // 최신 vLLM 이름
+
+    private final VllmConfigProperties vllmConfig;
+    private final RestTemplate restTemplate;
+    private final Executor healthCheckExecutor;
+    private final ThreadPoolTaskScheduler vllmTaskScheduler;
+    private final Map<String, ServerMetrics> metrics = new ConcurrentHashMap<>();
+    private final PrometheusTextParser parser = new PrometheusTextParser(
+        NUM_REQUESTS_WAITING, NUM_REQUESTS_RUNNING, GPU_CACHE_USAGE, KV_CACHE_USAGE);
+
+    @PostConstruct
+    public void scheduleScraping() {
+        VllmConfigProperties.VllmMetricsScrapeSettings settings = vllmConfig.getGlobalSettings().getMetricsScrape();
+        if (!Boolean.TRUE.equals(settings.getEnabled())) {
+            log.info("vLLM metrics scraping disabled");
+            return;
+        }
+
+        vllmTaskScheduler.scheduleWithFixedDelay(this::scrapeAll, settings.getInterval());
+        log.info("✅ vLLM metrics scraping scheduled - Interval: {}", settings.getInterval());
+    }
+
+    /**
+     * 모든 서버의 /metrics를 헬스 체크 실행자에서 동시에 수집
+     */
+    public void scrapeAll() {
+        long deadlineMs = vllmConfig.getGlobalSettings().getHealthCheck().getTimeout().toMillis();
+
+        vllmConfig.getEnabledServers().forEach(server -> {
+            try {
+                CompletableFuture.runAsync(() -> scrape(server), healthCheckExecutor)
+                    .orTimeout(deadlineMs, TimeUnit.MILLISECONDS)
+                    .exceptionally(e -> {
+                        log.debug("Metrics scrape failed for server: {} - {}", server.getName(), e.toString());
+                        return null;
+                    });
+            } catch (RejectedExecutionException e) {
+                log.debug("Metrics scrape skipped for server: {} - executor saturated", server.getName());
+            }
+        });
+    }
+
+    /**
+     * 유효 기간 내에 수집된 메트릭 (오래됐거나 없으면 empty)
+     */
+    public Optional<ServerMetrics> getFreshMetrics(String serverName) {
+        ServerMetrics serverMetrics = metrics.get(serverName);
+        if (serverMetrics == null) {
+            return Optional.empty();
+        }
+        Duration staleAfter = vllmConfig.getGlobalSettings().getMetricsScrape().getStaleAfter();
+        return System.nanoTime() - serverMetrics.getScrapedAtNanos() < staleAfter.toNanos()
+            ? Optional.of(serverMetrics) : Optional.empty();
+    }
+
+    public Map<String, ServerMetrics> getAllMetrics() {
+        return new HashMap<>(metrics);
+    }
+
+    private void scrape(VllmConfigProperties.VllmServerConfig server) {
+        String metricsUrl = String.format("http://%s:%d/metrics", server.getHost(), server.getPort());
+
+        double[] values = restTemplate.execute(metricsUrl, HttpMethod.GET, null, response -> {
+            if (response.getStatusCode() != HttpStatus.OK) {
+                return null;
+            }
+            return parser.parse(response.getBody());
+        });
+
+        if (values == null) {
+            return;
+        }
+
+        double cacheUsage = !Double.isNaN(values[3]) ? values[3] : values[2];
+        ServerMetrics serverMetrics = ServerMetrics.builder()
+            .serverName(server.getName())
+            .requestsWaiting(Double.isNaN(values[0]) ? 0.0 : values[0])
+            .requestsRunning(Double.isNaN(values[1]) ? 0.0 : values[1])
+            .kvCacheUsage(Double.isNaN(cacheUsage) ? 0.0 : cacheUsage)
+            .scrapedAtNanos(System.nanoTime())
+            .timestamp(LocalDateTime.now())
+            .build();
+
+        metrics.put(server.getName(), serverMetrics);
+        log.trace("Scraped metrics for server: {} - {}", server.getName(), serverMetrics);
+    }
+
+    @lombok.Builder
+    @lombok.Data
+    public static class ServerMetrics {
+        private String serverName;
+        private double requestsWaiting;
+        private double requestsRunning;
+        private double kvCacheUsage; // 0.0 ~ 1.0
+        @com.fasterxml.jackson.annotation.JsonIgnore
+        private long scrapedAtNanos;
+        private LocalDateTime timestamp;
+    }
+}
@@ -0,0 +1,39 @@
+// LlmRequestTest.java
+package com.yourcompany.llm.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class LlmRequestTest {
+
+    @Test
+    void builderAppliesFieldDefaults() {
+        LlmRequest request = LlmRequest.builder().message("hi").build();
+
+        assertThat(request.getModel()).isEqualTo("llama3.2");
+        assertThat(request.getTemperature()).isEqualTo(0.7);
+        assertThat(request.getMaxTokens()).isEqualTo(1000);
+        assertThat(request.getStream()).isFalse();
+    }
+
+    @Test
+    void noArgsConstructorAppliesSameDefaults() {
+        LlmRequest request = new LlmRequest();
+
+        assertThat(request.getModel()).isEqualTo("llama3.2");
+        assertThat(request.getTemperature()).isEqualTo(0.7);
+        assertThat(request.getMaxTokens()).isEqualTo(1000);
+        assertThat(request.getStream()).isFalse();
+    }
+
+    @Test
+    void copyKeepsExplicitValues() {
+        LlmRequest request = LlmRequest.builder().message("hi").temperature(0.0).maxTokens(32).stream(true)
+            .priority(RequestPriority.BATCH).build();
+
+        LlmRequest copy = request.copy();
+
+        assertThat(copy).isEqualTo(request).isNotSameAs(request);
+    }
+}
@@ -0,0 +1,96 @@
+// AdmissionControllerTest.java
+package com.yourcompany.llm.service.admission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import com.yourcompany.llm.config.vllm.LlmConfigProperties;
+import com.yourcompany.llm.config.vllm.VllmConfigProperties;
+import com.yourcompany.llm.dto.LlmRequest;
+import com.yourcompany.llm.service.tokenizer.TokenCounter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AdmissionControllerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ThreadPoolTaskScheduler scheduler = mock(ThreadPoolTaskScheduler.class);
+    private final List<Runnable> deadlines = new ArrayList<>();
+
+    private AdmissionController admissionController;
+
+    @BeforeEach
+    void setUp() {
+        when(scheduler.schedule(any(Runnable.class), any(Instant.class))).thenAnswer(invocation -> {
+            deadlines.add(invocation.getArgument(0, Runnable.class));
+            return mock(ScheduledFuture.class);
+        });
+
+        VllmConfigProperties.VllmServerConfig server = new VllmConfigProperties.VllmServerConfig();
+        server.setName("vllm-1");
+        server.setPort(8001);
+        server.getModelSettings().setMaxNumSeqs(1);
+        VllmConfigProperties vllmConfig = new VllmConfigProperties();
+        vllmConfig.setServers(List.of(server));
+
+        LlmConfigProperties llmConfig = new LlmConfigProperties();
+        admissionController = new AdmissionController(vllmConfig, llmConfig, scheduler,
+            new TokenCounter(llmConfig, meterRegistry), meterRegistry);
+    }
+
+    @Test
+    void queuedRequestIsAdmittedWhenSlotIsReleased() {
+        CompletableFuture<AdmissionController.Admission> first = admissionController.admit(request("a"));
+        CompletableFuture<AdmissionController.Admission> second = admissionController.admit(request("b"));
+
+        assertThat(first).isDone();
+        assertThat(second).isNotDone();
+        assertThat(admissionController.getQueueDepth()).isEqualTo(1);
+
+        first.join().close();
+
+        assertThat(second).isCompleted();
+        assertThat(admissionController.getInFlight()).isEqualTo(1);
+        assertThat(admissionController.getQueueDepth()).isZero();
+    }
+
+    @Test
+    void expiredWaitersLeaveTheQueue() {
+        CompletableFuture<AdmissionController.Admission> holder = admissionController.admit(request("holder"));
+        List<CompletableFuture<AdmissionController.Admission>> waiting = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            waiting.add(admissionController.admit(request("user-" + i)));
+        }
+        assertThat(pendingGauge()).isEqualTo(50.0);
+
+        // 슬롯이 반납되지 않은 채 마감 시간이 모두 지남
+        deadlines.forEach(Runnable::run);
+
+        assertThat(waiting).allSatisfy(future -> assertThat(future).isCompletedExceptionally());
+        assertThat(pendingGauge()).isZero();
+        assertThat(admissionController.getQueueDepth()).isZero();
+
+        holder.join().close();
+        assertThat(admissionController.getInFlight()).isZero();
+    }
+
+    private double pendingGauge() {
+        return meterRegistry.get("llm.admission.queue.pending").tag("priority", "standard").gauge().value();
+    }
+
+    private static LlmRequest request(String user) {
+        return LlmRequest.builder().user(user).message("hi").maxTokens(16).build();
+    }
+}
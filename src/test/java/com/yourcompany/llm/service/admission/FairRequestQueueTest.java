@@ -0,0 +1,134 @@
+// FairRequestQueueTest.java
+package com.yourcompany.llm.service.admission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+
+import com.yourcompany.llm.dto.RequestPriority;
+
+class FairRequestQueueTest {
+
+    private static final Predicate<String> ALL_LIVE = element -> true;
+
+    @Test
+    void alternatesBetweenFlowsWithEqualCosts() {
+        FairRequestQueue<String> queue = new FairRequestQueue<>(new int[] {1, 1, 1}, 100);
+        for (int i = 1; i <= 4; i++) {
+            queue.offer(RequestPriority.STANDARD, "heavy", 100, "heavy-" + i);
+        }
+        queue.offer(RequestPriority.STANDARD, "light", 100, "light-1");
+        queue.offer(RequestPriority.STANDARD, "light", 100, "light-2");
+
+        assertThat(drain(queue)).containsExactly("heavy-1", "light-1", "heavy-2", "light-2", "heavy-3", "heavy-4");
+    }
+
+    @Test
+    void sharesTokensNotRequestsBetweenFlows() {
+        FairRequestQueue<String> queue = new FairRequestQueue<>(new int[] {1, 1, 1}, 100);
+        for (int i = 1; i <= 2; i++) {
+            queue.offer(RequestPriority.STANDARD, "large", 200, "large-" + i);
+        }
+        for (int i = 1; i <= 4; i++) {
+            queue.offer(RequestPriority.STANDARD, "small", 50, "small-" + i);
+        }
+
+        // 200 토큰짜리 하나가 50 토큰짜리 둘과 같은 몫
+        assertThat(drain(queue)).containsExactly("small-1", "small-2", "large-1", "small-3", "small-4", "large-2");
+    }
+
+    @Test
+    void weightsPriorityClasses() {
+        FairRequestQueue<String> queue = new FairRequestQueue<>(new int[] {2, 1, 1}, 10_000);
+        for (int i = 1; i <= 4; i++) {
+            queue.offer(RequestPriority.BATCH, "user", 100, "batch-" + i);
+            queue.offer(RequestPriority.INTERACTIVE, "user", 100, "interactive-" + i);
+        }
+
+        assertThat(drain(queue).subList(0, 6))
+            .containsExactly("interactive-1", "interactive-2", "batch-1", "interactive-3", "interactive-4", "batch-2");
+    }
+
+    @Test
+    void skipsAndCountsDeadEntries() {
+        FairRequestQueue<String> queue = new FairRequestQueue<>(new int[] {1, 1, 1}, 100);
+        queue.offer(RequestPriority.STANDARD, "user", 10, "dead");
+        queue.offer(RequestPriority.STANDARD, "user", 10, "live");
+
+        assertThat(queue.poll(element -> !element.equals("dead"))).isEqualTo("live");
+        assertThat(queue.pending(RequestPriority.STANDARD)).isZero();
+    }
+
+    @Test
+    void removeDropsEntryAndEmptyFlow() {
+        FairRequestQueue<String> queue = new FairRequestQueue<>(new int[] {1, 1, 1}, 100);
+        FairRequestQueue.Entry<String> first = queue.offer(RequestPriority.STANDARD, "a", 10, "a-1");
+        FairRequestQueue.Entry<String> expired = queue.offer(RequestPriority.STANDARD, "a", 10, "expired");
+        FairRequestQueue.Entry<String> anonymous = queue.offer(RequestPriority.STANDARD, null, 10, "anonymous");
+
+        assertThat(queue.remove(expired)).isTrue();
+        assertThat(queue.remove(expired)).isFalse();
+        assertThat(queue.remove(anonymous)).isTrue();
+        assertThat(queue.pending(RequestPriority.STANDARD)).isEqualTo(1);
+
+        assertThat(drain(queue)).containsExactly("a-1");
+        assertThat(queue.remove(first)).isFalse();
+        assertThat(queue.pending(RequestPriority.STANDARD)).isZero();
+    }
+
+    @Test
+    void flowRemovedWhileEmptyAcceptsNewEntries() {
+        FairRequestQueue<String> queue = new FairRequestQueue<>(new int[] {1, 1, 1}, 100);
+        queue.remove(queue.offer(RequestPriority.STANDARD, "a", 10, "a-1"));
+        queue.offer(RequestPriority.STANDARD, "a", 10, "a-2");
+
+        assertThat(drain(queue)).containsExactly("a-2");
+    }
+
+    @Test
+    void massExpiryCompactsWithoutPolling() {
+        FairRequestQueue<String> queue = new FairRequestQueue<>(new int[] {1, 1, 1}, 100);
+        List<FairRequestQueue.Entry<String>> entries = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            entries.add(queue.offer(RequestPriority.STANDARD, "user-" + (i % 100), 10, "r-" + i));
+        }
+        queue.offer(RequestPriority.STANDARD, "user-0", 10, "survivor");
+
+        // 소비 없이 만료만 쌓여도 한 번에 정리되고, 정리 뒤에도 남은 항목 순서와 개수는 그대로
+        entries.forEach(queue::remove);
+
+        assertThat(queue.pending(RequestPriority.STANDARD)).isEqualTo(1);
+        assertThat(drain(queue)).containsExactly("survivor");
+        assertThat(queue.pending(RequestPriority.STANDARD)).isZero();
+    }
+
+    @Test
+    void removedEntriesAreSkippedBetweenLiveOnes() {
+        FairRequestQueue<String> queue = new FairRequestQueue<>(new int[] {1, 1, 1}, 100);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            FairRequestQueue.Entry<String> entry = queue.offer(RequestPriority.STANDARD, "a", 10, "a-" + i);
+            if (i % 3 == 0) {
+                expected.add("a-" + i);
+            } else {
+                queue.remove(entry);
+            }
+        }
+
+        assertThat(queue.pending(RequestPriority.STANDARD)).isEqualTo(expected.size());
+        assertThat(drain(queue)).isEqualTo(expected);
+    }
+
+    private static List<String> drain(FairRequestQueue<String> queue) {
+        List<String> order = new ArrayList<>();
+        String element;
+        while ((element = queue.poll(ALL_LIVE)) != null) {
+            order.add(element);
+        }
+        return order;
+    }
+}
@@ -0,0 +1,83 @@
+// CanonicalRequestKeyTest.java
+package com.yourcompany.llm.service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourcompany.llm.dto.LlmRequest;
+import com.yourcompany.llm.dto.RequestPriority;
+
+class CanonicalRequestKeyTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void jsonFieldOrderDoesNotChangeKey() throws Exception {
+        LlmRequest first = objectMapper.readValue("{\"model\":\"llama3.2\",\"temperature\":0.0,\"maxTokens\":64,"
+            + "\"messages\":[{\"role\":\"user\",\"content\":\"hi\"}]}", LlmRequest.class);
+        LlmRequest second = objectMapper.readValue("{\"messages\":[{\"content\":\"hi\",\"role\":\"user\"}],"
+            + "\"maxTokens\":64,\"temperature\":0.0,\"model\":\"llama3.2\"}", LlmRequest.class);
+
+        assertThat(CanonicalRequestKey.of(first)).isEqualTo(CanonicalRequestKey.of(second));
+    }
+
+    @Test
+    void defaultedFieldsMatchExplicitDefaults() {
+        LlmRequest defaulted = new LlmRequest();
+        defaulted.setModel(null);
+        defaulted.setTemperature(null);
+        defaulted.setMaxTokens(null);
+        defaulted.setMessage("hi");
+
+        LlmRequest explicit = LlmRequest.builder().model(" Llama3.2 ").temperature(0.7).maxTokens(1000)
+            .messages(List.of(message("USER", "hi"))).build();
+
+        assertThat(CanonicalRequestKey.of(defaulted)).isEqualTo(CanonicalRequestKey.of(explicit));
+    }
+
+    @Test
+    void singleMessageFormMatchesChatForm() {
+        LlmRequest single = LlmRequest.builder().systemPrompt("be brief").message("hi").build();
+        LlmRequest chat = LlmRequest.builder()
+            .messages(List.of(message("system", "be brief"), message("user", "hi"))).build();
+
+        assertThat(CanonicalRequestKey.of(single)).isEqualTo(CanonicalRequestKey.of(chat));
+    }
+
+    @Test
+    void userPriorityAndRequestIdAreExcluded() {
+        LlmRequest first = LlmRequest.builder().message("hi").temperature(0.0).user("alice")
+            .priority(RequestPriority.INTERACTIVE).requestId("req-1").build();
+        LlmRequest second = LlmRequest.builder().message("hi").temperature(-0.0).user("bob")
+            .priority(RequestPriority.BATCH).requestId("req-2").build();
+
+        assertThat(CanonicalRequestKey.of(first)).isEqualTo(CanonicalRequestKey.of(second));
+    }
+
+    @Test
+    void generationInputsChangeKey() {
+        String base = CanonicalRequestKey.of(LlmRequest.builder().message("hi").temperature(0.0).build());
+
+        assertThat(CanonicalRequestKey.of(LlmRequest.builder().message("hi!").temperature(0.0).build()))
+            .isNotEqualTo(base);
+        assertThat(CanonicalRequestKey.of(LlmRequest.builder().message("hi").temperature(0.0).maxTokens(10).build()))
+            .isNotEqualTo(base);
+        assertThat(CanonicalRequestKey.of(LlmRequest.builder().message("hi").temperature(0.1).build()))
+            .isNotEqualTo(base);
+        assertThat(CanonicalRequestKey.of(LlmRequest.builder().model("llama3.1").message("hi").temperature(0.0).build()))
+            .isNotEqualTo(base);
+        // 경계가 길이로 구분되므로 내용을 옮겨도 충돌하지 않는다
+        assertThat(CanonicalRequestKey.of(LlmRequest.builder()
+                .messages(List.of(message("user", "ab"), message("user", "c"))).build()))
+            .isNotEqualTo(CanonicalRequestKey.of(LlmRequest.builder()
+                .messages(List.of(message("user", "a"), message("user", "bc"))).build()));
+    }
+
+    private static LlmRequest.Message message(String role, String content) {
+        return LlmRequest.Message.builder().role(role).content(content).build();
+    }
+}
@@ -0,0 +1,217 @@
+// RequestCoalescerTest.java
+package com.yourcompany.llm.service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+import com.yourcompany.llm.config.vllm.LlmConfigProperties;
+import com.yourcompany.llm.dto.LlmRequest;
+import com.yourcompany.llm.dto.LlmResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RequestCoalescerTest {
+
+    private final RequestCoalescer coalescer = new RequestCoalescer(new LlmConfigProperties(), Runnable::run,
+        new SimpleMeterRegistry());
+
+    @Test
+    void leaderAndFollowerGetTheirOwnRequestIds() {
+        CompletableFuture<LlmResponse> upstream = new CompletableFuture<>();
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<LlmResponse> leader = coalescer.execute("key", request("req-leader"), () -> {
+            calls.incrementAndGet();
+            return upstream;
+        });
+        CompletableFuture<LlmResponse> follower = coalescer.execute("key", request("req-follower"), () -> {
+            calls.incrementAndGet();
+            return upstream;
+        });
+        upstream.complete(LlmResponse.success("llama3.2", "hello", 5, "vllm"));
+
+        assertThat(calls).hasValue(1);
+        assertThat(leader.join().getRequestId()).isEqualTo("req-leader");
+        assertThat(follower.join().getRequestId()).isEqualTo("req-follower");
+        assertThat(follower.join().getMetadata()).containsEntry("coalesced", true);
+        assertThat(upstream.join().getRequestId()).isNull();
+    }
+
+    @Test
+    void cancellingEveryRequestCancelsUpstreamCall() {
+        CompletableFuture<LlmResponse> upstream = new CompletableFuture<>();
+
+        CompletableFuture<LlmResponse> leader = coalescer.execute("key", request("req-leader"), () -> upstream);
+        CompletableFuture<LlmResponse> follower = coalescer.execute("key", request("req-follower"), () -> upstream);
+
+        leader.cancel(true);
+        assertThat(upstream).isNotCancelled();
+        follower.cancel(true);
+        assertThat(upstream).isCancelled();
+
+        // 취소된 호출에는 합류하지 않고 새로 호출
+        AtomicInteger calls = new AtomicInteger();
+        coalescer.execute("key", request("req-next"), () -> {
+            calls.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void cancelledFollowerDoesNotAffectLeader() {
+        CompletableFuture<LlmResponse> upstream = new CompletableFuture<>();
+
+        CompletableFuture<LlmResponse> leader = coalescer.execute("key", request("req-leader"), () -> upstream);
+        coalescer.execute("key", request("req-follower"), () -> upstream).cancel(true);
+        upstream.complete(LlmResponse.success("llama3.2", "hello", 5, "vllm"));
+
+        assertThat(leader.join().getRequestId()).isEqualTo("req-leader");
+    }
+
+    @Test
+    void streamLeaderGetsItsRequestId() {
+        CompletableFuture<LlmResponse> upstream = new CompletableFuture<>();
+
+        CompletableFuture<LlmResponse> leader = coalescer.executeStream("key", request("req-leader"), chunk -> {
+        }, consumer -> upstream);
+        upstream.complete(LlmResponse.success("llama3.2", "hello", 5, "vllm"));
+
+        assertThat(leader.join().getRequestId()).isEqualTo("req-leader");
+    }
+
+    @Test
+    void slowSubscriberDoesNotStallOthersOrUpstream() throws Exception {
+        ExecutorService relayExecutor = Executors.newCachedThreadPool();
+        try {
+            RequestCoalescer coalescer = new RequestCoalescer(new LlmConfigProperties(), relayExecutor,
+                new SimpleMeterRegistry());
+            CompletableFuture<LlmResponse> upstream = new CompletableFuture<>();
+            AtomicReference<Consumer<String>> publisher = new AtomicReference<>();
+            CountDownLatch slowClient = new CountDownLatch(1);
+            List<String> fastChunks = new CopyOnWriteArrayList<>();
+
+            CompletableFuture<LlmResponse> slow = coalescer.executeStream("key", request("req-slow"),
+                chunk -> awaitQuietly(slowClient), consumer -> {
+                    publisher.set(consumer);
+                    return upstream;
+                });
+            CompletableFuture<LlmResponse> fast = coalescer.executeStream("key", request("req-fast"), fastChunks::add,
+                consumer -> upstream);
+
+            // 느린 클라이언트의 블로킹 쓰기가 업스트림 전달 스레드를 막지 않는다
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                for (int i = 0; i < 3; i++) {
+                    publisher.get().accept("chunk-" + i);
+                }
+            });
+            upstream.complete(LlmResponse.success("llama3.2", "hello", 5, "vllm"));
+
+            assertThat(fast.get(5, TimeUnit.SECONDS).getRequestId()).isEqualTo("req-fast");
+            assertThat(fastChunks).containsExactly("chunk-0", "chunk-1", "chunk-2");
+            assertThat(slow).isNotDone(); // 자기 청크를 다 받기 전에는 완료되지 않는다
+            slowClient.countDown();
+            assertThat(slow.get(5, TimeUnit.SECONDS).getRequestId()).isEqualTo("req-slow");
+        } finally {
+            relayExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void lateFollowerReplaysChunksAndFailedSubscriberIsDropped() {
+        CompletableFuture<LlmResponse> upstream = new CompletableFuture<>();
+        AtomicReference<Consumer<String>> publisher = new AtomicReference<>();
+        List<String> leaderChunks = new ArrayList<>();
+        List<String> followerChunks = new ArrayList<>();
+
+        CompletableFuture<LlmResponse> leader = coalescer.executeStream("key", request("req-leader"), chunk -> {
+            if ("b".equals(chunk)) {
+                throw new IllegalStateException("client disconnected");
+            }
+            leaderChunks.add(chunk);
+        }, consumer -> {
+            publisher.set(consumer);
+            return upstream;
+        });
+        publisher.get().accept("a");
+        CompletableFuture<LlmResponse> follower = coalescer.executeStream("key", request("req-follower"),
+            followerChunks::add, consumer -> {
+                throw new AssertionError("must join the in-flight stream");
+            });
+        publisher.get().accept("b");
+        publisher.get().accept("c");
+        upstream.complete(LlmResponse.success("llama3.2", "abc", 3, "vllm"));
+
+        assertThat(leaderChunks).containsExactly("a");
+        assertThat(followerChunks).containsExactly("a", "b", "c");
+        assertThat(leader).isDone();
+        assertThat(follower.join().getMetadata()).containsEntry("coalesced", true);
+    }
+
+    @Test
+    void cancellingEverySubscriberCancelsUpstream() {
+        CompletableFuture<LlmResponse> upstream = new CompletableFuture<>();
+
+        CompletableFuture<LlmResponse> leader = coalescer.executeStream("key", request("req-leader"), chunk -> {
+        }, consumer -> upstream);
+        CompletableFuture<LlmResponse> follower = coalescer.executeStream("key", request("req-follower"), chunk -> {
+        }, consumer -> upstream);
+
+        leader.cancel(true);
+        assertThat(upstream).isNotCancelled();
+        follower.cancel(true);
+        assertThat(upstream).isCancelled();
+
+        // 취소된 스트림에는 합류하지 않고 새로 호출
+        AtomicInteger calls = new AtomicInteger();
+        coalescer.executeStream("key", request("req-next"), chunk -> {
+        }, consumer -> {
+            calls.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void upstreamStopsWhenEverySubscriberDisconnected() {
+        AtomicReference<Consumer<String>> publisher = new AtomicReference<>();
+        coalescer.executeStream("key", request("req-leader"), chunk -> {
+            throw new IllegalStateException("client disconnected");
+        }, consumer -> {
+            publisher.set(consumer);
+            return new CompletableFuture<>();
+        });
+
+        publisher.get().accept("a");
+
+        assertThatThrownBy(() -> publisher.get().accept("b")).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static LlmRequest request(String requestId) {
+        return LlmRequest.builder().requestId(requestId).message("hi").temperature(0.0).build();
+    }
+}
@@ -0,0 +1,80 @@
+// ResponseCacheTest.java
+package com.yourcompany.llm.service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.yourcompany.llm.config.vllm.LlmConfigProperties;
+import com.yourcompany.llm.dto.LlmRequest;
+import com.yourcompany.llm.dto.LlmResponse;
+
+class ResponseCacheTest {
+
+    private final LlmConfigProperties llmConfig = new LlmConfigProperties();
+    private final ResponseCache cache = new ResponseCache(llmConfig);
+
+    @Test
+    void onlyDeterministicNonStreamingRequestsAreCacheable() {
+        assertThat(cache.isCacheable(LlmRequest.builder().message("hi").temperature(0.0).build())).isTrue();
+
+        assertThat(cache.isCacheable(LlmRequest.builder().message("hi").build())).isFalse(); // 기본 0.7
+        assertThat(cache.isCacheable(LlmRequest.builder().message("hi").temperature(0.2).build())).isFalse();
+        assertThat(cache.isCacheable(LlmRequest.builder().message("hi").temperature(null).build())).isFalse();
+        assertThat(cache.isCacheable(LlmRequest.builder().message("hi").temperature(0.0).stream(true).build()))
+            .isFalse();
+    }
+
+    @Test
+    void disabledCacheIsNeverUsed() {
+        llmConfig.getCache().setEnabled(false);
+
+        assertThat(new ResponseCache(llmConfig).isCacheable(LlmRequest.builder().message("hi").temperature(0.0).build()))
+            .isFalse();
+    }
+
+    @Test
+    void storesSuccessfulResponsesOnly() {
+        cache.put("error", LlmResponse.error("llama3.2", "boom"));
+        cache.put("null", null);
+        cache.put("ok", LlmResponse.success("llama3.2", "hello", 5, "vllm"));
+
+        assertThat(cache.get("error", request("req-1"))).isEmpty();
+        assertThat(cache.get("null", request("req-1"))).isEmpty();
+        assertThat(cache.get("ok", request("req-1"))).isPresent();
+    }
+
+    @Test
+    void hitIsMarkedCachedOnCopyWithoutTouchingStoredEntry() {
+        LlmResponse response = LlmResponse.success("llama3.2", "hello", 5, "vllm");
+        response.setRequestId("req-origin");
+        response.setResponseTimeMs(1200L);
+        cache.put("key", response);
+        response.setContent("changed after put");
+
+        LlmResponse first = cache.get("key", request("req-1")).orElseThrow();
+        first.setContent("changed by caller");
+        LlmResponse second = cache.get("key", request("req-2")).orElseThrow();
+
+        assertThat(first.isCached()).isTrue();
+        assertThat(first.getResponseTimeMs()).isZero();
+        assertThat(second.getRequestId()).isEqualTo("req-2");
+        assertThat(second.getContent()).isEqualTo("hello");
+        assertThat(second).isNotSameAs(first);
+        assertThat(response.isCached()).isFalse();
+        assertThat(response.getRequestId()).isEqualTo("req-origin");
+    }
+
+    @Test
+    void clearDropsEntries() {
+        cache.put("key", LlmResponse.success("llama3.2", "hello", 5, "vllm"));
+
+        cache.clear();
+
+        assertThat(cache.get("key", request("req-1"))).isEmpty();
+    }
+
+    private static LlmRequest request(String requestId) {
+        return LlmRequest.builder().requestId(requestId).message("hi").temperature(0.0).build();
+    }
+}
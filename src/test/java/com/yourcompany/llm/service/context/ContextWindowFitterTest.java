@@ -0,0 +1,144 @@
+// ContextWindowFitterTest.java
+package com.yourcompany.llm.service.context;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.yourcompany.llm.config.vllm.LlmConfigProperties;
+import com.yourcompany.llm.dto.LlmRequest;
+import com.yourcompany.llm.service.tokenizer.TokenCounter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 어휘 파일 없이 글자 수/4 추정 - 400자 메시지는 user/system 105토큰, assistant 106토큰, 프롬프트 고정 토큰은 6
+ */
+class ContextWindowFitterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LlmConfigProperties llmConfig = new LlmConfigProperties();
+
+    @Test
+    void returnsOriginalRequestWhenItFits() {
+        LlmRequest request = conversation(100);
+
+        ContextWindowFitter.FitResult result = fitter(LlmConfigProperties.ContextFitPolicy.TRUNCATE).fit(request, 1000);
+
+        assertThat(result.isFitted()).isTrue();
+        assertThat(result.getRequest()).isSameAs(request);
+    }
+
+    @Test
+    void truncateDropsOldestTurnsAndKeepsSystemAndLastMessage() {
+        LlmRequest request = conversation(100); // 프롬프트 849토큰
+
+        ContextWindowFitter.FitResult result = fitter(LlmConfigProperties.ContextFitPolicy.TRUNCATE).fit(request, 600);
+
+        assertThat(result.isFitted()).isTrue();
+        assertThat(contents(result.getRequest())).containsExactly("S", "U3", "A3", "U4");
+        assertThat(result.getRequest().getMaxTokens()).isEqualTo(100);
+        assertThat(request.getMessages()).hasSize(8);
+        assertThat(meterRegistry.get("llm.context.trimmed").tag("policy", "truncate").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("llm.context.dropped.messages").counter().count()).isEqualTo(4.0);
+    }
+
+    @Test
+    void truncateNeverStartsHistoryWithAssistantReply() {
+        // 예산 안에 A3까지만 들어가지만 assistant로 시작하지 않도록 A3도 버린다
+        ContextWindowFitter.FitResult result = fitter(LlmConfigProperties.ContextFitPolicy.TRUNCATE)
+            .fit(conversation(100), 506);
+
+        assertThat(contents(result.getRequest())).containsExactly("S", "U4");
+    }
+
+    @Test
+    void collapseReplacesDroppedTurnsWithDigest() {
+        llmConfig.getContext().setCollapseMaxTokens(64);
+
+        ContextWindowFitter.FitResult result = fitter(LlmConfigProperties.ContextFitPolicy.COLLAPSE)
+            .fit(conversation(100), 600);
+
+        List<LlmRequest.Message> messages = result.getRequest().getMessages();
+        assertThat(messages).extracting(LlmRequest.Message::getRole)
+            .containsExactly("system", "system", "user", "assistant", "user");
+        assertThat(contents(result.getRequest())).containsExactly("S", "DIGEST", "U3", "A3", "U4");
+
+        // 요약 한도 안에서 최근 삭제 메시지부터 발췌
+        String digest = messages.get(1).getContent();
+        assertThat(digest).startsWith("[이전 대화 요약 - 메시지 4개 생략]").contains("assistant: A2 ").doesNotContain("U1");
+        assertThat(new TokenCounter(llmConfig, meterRegistry).countTokens(digest)).isLessThanOrEqualTo(64);
+        assertThat(meterRegistry.get("llm.context.trimmed").tag("policy", "collapse").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void rejectPolicyRefusesOversizedPrompt() {
+        ContextWindowFitter.FitResult result = fitter(LlmConfigProperties.ContextFitPolicy.REJECT)
+            .fit(conversation(100), 600);
+
+        assertThat(result.isFitted()).isFalse();
+        assertThat(result.getMessage()).contains("849 prompt tokens", "limit 600");
+    }
+
+    @Test
+    void clampsMaxTokensToRemainingContext() {
+        LlmRequest request = LlmRequest.builder().message(text("Q")).maxTokens(1000).build(); // 프롬프트 111토큰
+
+        ContextWindowFitter.FitResult result = fitter(LlmConfigProperties.ContextFitPolicy.REJECT).fit(request, 600);
+
+        assertThat(result.isFitted()).isTrue();
+        assertThat(result.getRequest().getMaxTokens()).isEqualTo(489);
+        assertThat(request.getMaxTokens()).isEqualTo(1000);
+        assertThat(meterRegistry.get("llm.context.clamped").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void rejectsWhenLessThanMinimumOutputRemains() {
+        LlmRequest request = LlmRequest.builder().message(text("Q")).maxTokens(100).build();
+
+        ContextWindowFitter.FitResult result = fitter(LlmConfigProperties.ContextFitPolicy.TRUNCATE).fit(request, 120);
+
+        assertThat(result.isFitted()).isFalse();
+    }
+
+    @Test
+    void requiredPromptTokensDependsOnPolicy() {
+        LlmRequest request = conversation(100);
+
+        assertThat(fitter(LlmConfigProperties.ContextFitPolicy.TRUNCATE).requiredPromptTokens(request)).isEqualTo(216);
+        assertThat(fitter(LlmConfigProperties.ContextFitPolicy.REJECT).requiredPromptTokens(request)).isEqualTo(849);
+    }
+
+    private ContextWindowFitter fitter(LlmConfigProperties.ContextFitPolicy policy) {
+        llmConfig.getContext().setPolicy(policy);
+        return new ContextWindowFitter(llmConfig, new TokenCounter(llmConfig, meterRegistry), meterRegistry);
+    }
+
+    /**
+     * 시스템 메시지 + user/assistant 3턴 + 마지막 user 메시지 (각 400자)
+     */
+    private static LlmRequest conversation(int maxTokens) {
+        List<LlmRequest.Message> messages = List.of(message("system", "S"),
+            message("user", "U1"), message("assistant", "A1"),
+            message("user", "U2"), message("assistant", "A2"),
+            message("user", "U3"), message("assistant", "A3"),
+            message("user", "U4"));
+        return LlmRequest.builder().messages(messages).maxTokens(maxTokens).build();
+    }
+
+    private static LlmRequest.Message message(String role, String label) {
+        return LlmRequest.Message.builder().role(role).content(text(label)).build();
+    }
+
+    private static String text(String label) {
+        return label + " " + "x".repeat(399 - label.length());
+    }
+
+    private static List<String> contents(LlmRequest request) {
+        return request.getMessages().stream()
+            .map(message -> message.getContent().startsWith("[") ? "DIGEST" : message.getContent().split(" ")[0])
+            .toList();
+    }
+}
@@ -0,0 +1,158 @@
+// LlmServiceImplLoadTest.java
+package com.yourcompany.llm.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.yourcompany.llm.config.vllm.LlmConfigProperties;
+import com.yourcompany.llm.config.vllm.VllmConfigProperties;
+import com.yourcompany.llm.config.vllm.WebConfig;
+import com.yourcompany.llm.dto.LlmRequest;
+import com.yourcompany.llm.dto.LlmResponse;
+import com.yourcompany.llm.service.cache.RequestCoalescer;
+import com.yourcompany.llm.service.cache.ResponseCache;
+import com.yourcompany.llm.service.context.ContextWindowFitter;
+import com.yourcompany.llm.service.tokenizer.TokenCounter;
+import com.yourcompany.llm.service.vllm.PassiveHealthTracker;
+import com.yourcompany.llm.service.vllm.RequestHedger;
+import com.yourcompany.llm.service.vllm.RequestRetrier;
+import com.yourcompany.llm.service.vllm.VllmApiClient;
+import com.yourcompany.llm.service.vllm.VllmCircuitBreakerRegistry;
+import com.yourcompany.llm.service.vllm.VllmHealthChecker;
+import com.yourcompany.llm.service.vllm.VllmLoadBalancer;
+import com.yourcompany.llm.service.vllm.VllmMetricsScraper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 부하 테스트 - 동시 채팅 요청이 요청마다 스레드를 점유하지 않고 모두 동시에 백엔드까지 도달하는지 확인.
+ * 스텁 서버는 CONCURRENCY개 요청이 모두 도착할 때까지 응답을 보류하므로, 파이프라인 어딘가에서 풀 스레드가
+ * 요청마다 블로킹되면 모두 동시에 도착할 수 없어 테스트가 실패한다.
+ */
+class LlmServiceImplLoadTest {
+
+    private static final int CONCURRENCY = 50;
+    private static final String COMPLETION = "{\"id\":\"c1\",\"choices\":[{\"message\":{\"content\":\"ok\"},"
+        + "\"finish_reason\":\"stop\"}],\"usage\":{\"prompt_tokens\":5,\"completion_tokens\":1,\"total_tokens\":6}}";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch allArrived = new CountDownLatch(CONCURRENCY);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final ExecutorService stubExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private HttpServer stub;
+    private CloseableHttpAsyncClient httpClient;
+    private LlmServiceImpl llmService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), CONCURRENCY);
+        stub.createContext("/v1/chat/completions", this::serveCompletion);
+        stub.setExecutor(stubExecutor);
+        stub.start();
+
+        VllmConfigProperties.VllmServerConfig server = new VllmConfigProperties.VllmServerConfig();
+        server.setName("vllm-1");
+        server.setModel("llama3.2");
+        server.setHost("127.0.0.1");
+        server.setPort(stub.getAddress().getPort());
+        VllmConfigProperties vllmConfig = new VllmConfigProperties();
+        vllmConfig.setServers(List.of(server));
+
+        LlmConfigProperties llmConfig = new LlmConfigProperties();
+        WebConfig webConfig = new WebConfig();
+        PoolingAsyncClientConnectionManager connectionManager = webConfig.vllmConnectionManager(vllmConfig);
+        httpClient = webConfig.vllmHttpClient(vllmConfig, connectionManager);
+
+        VllmHealthChecker healthChecker = mock(VllmHealthChecker.class);
+        when(healthChecker.getCachedHealthStatus(anyString()))
+            .thenAnswer(invocation -> VllmHealthChecker.HealthStatus.up(invocation.getArgument(0), "ok",
+                LocalDateTime.now()));
+
+        TokenCounter tokenCounter = new TokenCounter(llmConfig, meterRegistry);
+        ContextWindowFitter contextFitter = new ContextWindowFitter(llmConfig, tokenCounter, meterRegistry);
+        PassiveHealthTracker passiveHealth = new PassiveHealthTracker(vllmConfig, meterRegistry);
+        VllmCircuitBreakerRegistry circuitBreakers = new VllmCircuitBreakerRegistry(vllmConfig, meterRegistry);
+        VllmApiClient apiClient = new VllmApiClient(vllmConfig, httpClient, new ObjectMapper(), passiveHealth,
+            circuitBreakers, contextFitter, Executors.newVirtualThreadPerTaskExecutor());
+        VllmLoadBalancer loadBalancer = new VllmLoadBalancer(vllmConfig, healthChecker, passiveHealth, circuitBreakers,
+            mock(VllmMetricsScraper.class), meterRegistry, tokenCounter);
+
+        llmService = new LlmServiceImpl(vllmConfig, apiClient, loadBalancer, mock(ResponseCache.class),
+            mock(RequestCoalescer.class), mock(RequestHedger.class),
+            new RequestRetrier(llmConfig, mock(ThreadPoolTaskScheduler.class), meterRegistry), contextFitter);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        stub.stop(0);
+        stubExecutor.shutdownNow();
+    }
+
+    @Test
+    void concurrentChatRequestsReachBackendWithoutPoolThreads() throws Exception {
+        List<CompletableFuture<LlmResponse>> responses = IntStream.range(0, CONCURRENCY)
+            .mapToObj(i -> llmService.chatCompletion(LlmRequest.builder().requestId("req-" + i)
+                .message("question " + i).user("user-" + i).build()))
+            .toList();
+
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+
+        assertThat(responses).allSatisfy(response -> assertThat(response.join().isSuccess()).isTrue());
+        assertThat(peakInFlight.get()).isEqualTo(CONCURRENCY);
+    }
+
+    @Test
+    void healthCheckReflectsCachedServerState() {
+        // 헬스 체커 캐시만 보고 바로 완료 - 서버에 연결하지 않는다
+        assertThat(llmService.checkVllmHealth()).isCompletedWithValue("UP");
+    }
+
+    private void serveCompletion(HttpExchange exchange) throws IOException {
+        peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try (exchange) {
+            exchange.getRequestBody().readAllBytes();
+            allArrived.countDown();
+            allArrived.await(10, TimeUnit.SECONDS);
+
+            byte[] body = COMPLETION.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+}
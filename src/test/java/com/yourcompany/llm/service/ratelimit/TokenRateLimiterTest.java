@@ -0,0 +1,150 @@
+// TokenRateLimiterTest.java
+package com.yourcompany.llm.service.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+
+import com.yourcompany.llm.config.vllm.LlmConfigProperties;
+import com.yourcompany.llm.dto.LlmRequest;
+import com.yourcompany.llm.dto.LlmResponse;
+import com.yourcompany.llm.service.tokenizer.TokenCounter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 초당 1토큰 보충, 버킷 1000토큰 - 테스트 중 경과 시간에 따른 보충은 1토큰 미만으로 무시할 수 있다
+ */
+class TokenRateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TokenCounter tokenCounter = mock(TokenCounter.class);
+    private final LlmConfigProperties llmConfig = new LlmConfigProperties();
+
+    private TokenRateLimiter limiter() {
+        llmConfig.getRateLimit().setTokensPerMinute(60L);
+        llmConfig.getRateLimit().setBurstTokens(1000L);
+        return new TokenRateLimiter(llmConfig, tokenCounter, meterRegistry);
+    }
+
+    @Test
+    void reservesEstimatedTokensUntilBudgetIsExhausted() {
+        TokenRateLimiter limiter = limiter();
+        LlmRequest request = request(400);
+
+        TokenRateLimiter.Reservation first = limiter.reserve("user:a", request);
+        TokenRateLimiter.Reservation second = limiter.reserve("user:a", request);
+        TokenRateLimiter.Reservation third = limiter.reserve("user:a", request);
+
+        assertThat(first.isGranted()).isTrue();
+        assertThat(first.getRemainingTokens()).isEqualTo(600);
+        assertThat(second.isGranted()).isTrue();
+        assertThat(second.getRemainingTokens()).isBetween(199L, 201L);
+        assertThat(third.isGranted()).isFalse();
+        assertThat(third.getRetryAfterSeconds()).isBetween(199L, 201L);
+        assertThat(meterRegistry.get("llm.ratelimit.rejected").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void clientsHaveSeparateBuckets() {
+        TokenRateLimiter limiter = limiter();
+        LlmRequest request = request(900);
+
+        assertThat(limiter.reserve("user:a", request).isGranted()).isTrue();
+        assertThat(limiter.reserve("user:a", request).isGranted()).isFalse();
+        assertThat(limiter.reserve("user:b", request).isGranted()).isTrue();
+    }
+
+    @Test
+    void settleRefundsUnusedReservation() {
+        TokenRateLimiter limiter = limiter();
+        LlmRequest request = request(800);
+
+        TokenRateLimiter.Reservation reservation = limiter.reserve("user:a", request);
+        limiter.settle(reservation, success(100));
+
+        assertThat(reservation.getRemainingTokens()).isBetween(899L, 900L);
+        assertThat(meterRegistry.get("llm.ratelimit.refunded.tokens").counter().count()).isEqualTo(700.0);
+        // 환급이 없었다면 800 + 800 > 1000으로 거절됐을 요청
+        assertThat(limiter.reserve("user:a", request).isGranted()).isTrue();
+    }
+
+    @Test
+    void settleChargesUsageAboveReservation() {
+        TokenRateLimiter limiter = limiter();
+
+        TokenRateLimiter.Reservation reservation = limiter.reserve("user:a", request(100));
+        limiter.settle(reservation, success(300));
+
+        assertThat(reservation.getRemainingTokens()).isBetween(699L, 700L);
+        assertThat(limiter.reserve("user:a", request(750)).isGranted()).isFalse();
+    }
+
+    @Test
+    void failedCachedAndMissingResponsesRefundEverything() {
+        TokenRateLimiter limiter = limiter();
+
+        TokenRateLimiter.Reservation failed = limiter.reserve("user:a", request(300));
+        limiter.settle(failed, LlmResponse.error("llama3.2", "boom"));
+        TokenRateLimiter.Reservation cached = limiter.reserve("user:a", request(300));
+        LlmResponse cachedResponse = success(250);
+        cachedResponse.setCached(true);
+        limiter.settle(cached, cachedResponse);
+        TokenRateLimiter.Reservation rejectedAtAdmission = limiter.reserve("user:a", request(300));
+        limiter.settle(rejectedAtAdmission, null);
+
+        assertThat(rejectedAtAdmission.getRemainingTokens()).isBetween(999L, 1000L);
+    }
+
+    @Test
+    void settleAppliesOnlyOnce() {
+        TokenRateLimiter limiter = limiter();
+
+        TokenRateLimiter.Reservation reservation = limiter.reserve("user:a", request(500));
+        limiter.settle(reservation, success(100));
+        limiter.settle(reservation, success(100));
+
+        assertThat(meterRegistry.get("llm.ratelimit.refunded.tokens").counter().count()).isEqualTo(400.0);
+        assertThat(reservation.getRemainingTokens()).isBetween(899L, 900L);
+    }
+
+    @Test
+    void requestLargerThanBucketCanNeverPass() {
+        TokenRateLimiter.Reservation reservation = limiter().reserve("user:a", request(2000));
+
+        assertThat(reservation.isGranted()).isFalse();
+        assertThat(reservation.getRetryAfterSeconds()).isEqualTo(-1);
+    }
+
+    @Test
+    void disabledLimiterGrantsWithoutHeaders() {
+        llmConfig.getRateLimit().setEnabled(false);
+        TokenRateLimiter.Reservation reservation = limiter().reserve("user:a", request(5000));
+
+        assertThat(reservation.isGranted()).isTrue();
+        assertThat(reservation.isLimited()).isFalse();
+    }
+
+    @Test
+    void clientKeyPrefersApiKeyThenUserThenAddress() {
+        TokenRateLimiter limiter = limiter();
+
+        assertThat(limiter.clientKey("k1", "alice", "10.0.0.1")).isEqualTo("key:k1");
+        assertThat(limiter.clientKey(" ", "alice", "10.0.0.1")).isEqualTo("user:alice");
+        assertThat(limiter.clientKey(null, null, "10.0.0.1")).isEqualTo("ip:10.0.0.1");
+    }
+
+    private LlmRequest request(long estimatedTokens) {
+        LlmRequest request = LlmRequest.builder().message("tokens-" + estimatedTokens).build();
+        when(tokenCounter.countRequestTokens(request)).thenReturn(estimatedTokens);
+        return request;
+    }
+
+    private static LlmResponse success(int totalTokens) {
+        LlmResponse response = LlmResponse.success("llama3.2", "ok", totalTokens, "vllm");
+        response.setUsage(LlmResponse.Usage.builder().totalTokens(totalTokens).build());
+        return response;
+    }
+}
@@ -0,0 +1,199 @@
+// BpeTokenizerTest.java
+package com.yourcompany.llm.service.tokenizer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class BpeTokenizerTest {
+
+    /** Llama 3 어휘의 실제 ID (앞 100k 토큰은 cl100k_base와 같다) */
+    private static final Map<String, Integer> LLAMA3_WORDS = Map.of("Hello", 9906, " world", 1917, "hello", 15339);
+
+    /** Llama 3 사전 분할 정규식 원문 - pieceEnd는 이와 같은 조각을 내야 한다 */
+    private static final Pattern LLAMA3_SPLIT = Pattern.compile(
+        "(?i:'s|'t|'re|'ve|'m|'ll|'d)|[^\\r\\n\\p{L}\\p{N}]?\\p{L}+|\\p{N}{1,3}| ?[^\\s\\p{L}\\p{N}]+[\\r\\n]*"
+            + "|\\s*[\\r\\n]+|\\s+(?!\\S)|\\s+",
+        Pattern.UNICODE_CHARACTER_CLASS);
+
+    @Test
+    void encodesWordsWithLlama3Ids() {
+        BpeTokenizer tokenizer = new BpeTokenizer(byteLevelVocabulary(LLAMA3_WORDS).build());
+
+        assertThat(tokenizer.encode("Hello world!")).containsExactly(9906, 1917, 0);
+        assertThat(tokenizer.encode("hello world")).containsExactly(15339, 1917);
+        assertThat(tokenizer.encode("Hello  world")).containsExactly(9906, 220, 1917);
+        assertThat(tokenizer.countTokens("Hello world!")).isEqualTo(3);
+    }
+
+    @Test
+    void fallsBackToByteTokensForUnknownText() {
+        BpeTokenizer tokenizer = new BpeTokenizer(byteLevelVocabulary(Map.of()).build());
+
+        // 한글 음절은 UTF-8 3바이트
+        assertThat(tokenizer.encode("안녕")).hasSize(6);
+        assertThat(tokenizer.countTokens("안녕 세계")).isEqualTo(13);
+        assertThat(tokenizer.countTokens("")).isZero();
+        assertThat(tokenizer.encode(null)).isEmpty();
+    }
+
+    @Test
+    void mergesLowestRankedPairFirst() {
+        Map<String, Integer> merges = new LinkedHashMap<>();
+        merges.put("bc", 1000);
+        merges.put("ab", 1001);
+        merges.put("he", 1002);
+        merges.put("ll", 1003);
+        merges.put("hell", 1004);
+        merges.put("hello", 1005);
+        BpeTokenizer tokenizer = new BpeTokenizer(byteLevelVocabulary(merges).build());
+
+        assertThat(tokenizer.encode("abc")).containsExactly(byteRank('a'), 1000);
+        assertThat(tokenizer.encode("hellos")).containsExactly(1005, byteRank('s'));
+    }
+
+    @Test
+    void countMatchesEncodedLengthIncludingOversizedPieces() {
+        BpeTokenizer tokenizer = new BpeTokenizer(byteLevelVocabulary(Map.of("aa", 1000, "aaaa", 1001)).build());
+        String text = "Hello, 세계! It's 2024.\n\n" + "a".repeat(5001) + " 😀 end";
+
+        assertThat(tokenizer.countTokens(text)).isEqualTo(tokenizer.encode(text).length);
+    }
+
+    @Test
+    void preTokenizationMatchesLlama3Regex() {
+        List<String> samples = List.of("Hello world!", "I'm here, you're there; they'll go. We'VE", "12345 67",
+            "  hi", "a\n\nb", "안녕하세요 세계! 반가워요.", "x  \n  y", "tab\there   end   ", "$100.00 + 25%",
+            "naïve café — “quotes”", "emoji 😀😀 ok", "line\r\nbreak", "   ", "' s'S'x", "1½ ٣٤٥", "a b　c",
+            "?!\n\nnext");
+
+        for (String sample : samples) {
+            assertThat(pieces(sample)).as(sample).isEqualTo(regexPieces(sample));
+        }
+    }
+
+    @Test
+    void loadsTiktokenAndHuggingFaceVocabularies(@TempDir Path dir) throws IOException {
+        Map<Integer, byte[]> tokens = new LinkedHashMap<>();
+        for (int b = 0; b < 256; b++) {
+            tokens.put(byteRank(b), new byte[] {(byte) b});
+        }
+        LLAMA3_WORDS.forEach((word, id) -> tokens.put(id, word.getBytes(StandardCharsets.UTF_8)));
+
+        StringBuilder tiktoken = new StringBuilder();
+        Map<String, Integer> vocab = new LinkedHashMap<>();
+        tokens.forEach((id, bytes) -> {
+            tiktoken.append(Base64.getEncoder().encodeToString(bytes)).append(' ').append(id).append('\n');
+            vocab.put(toGpt2Unicode(bytes), id);
+        });
+        Path tiktokenFile = Files.writeString(dir.resolve("tokenizer.model"), tiktoken);
+        Path huggingFaceFile = dir.resolve("tokenizer.json");
+        new ObjectMapper().writeValue(huggingFaceFile.toFile(), Map.of("version", "1.0",
+            "added_tokens", List.of(Map.of("id", 128000, "content", "<|begin_of_text|>")),
+            "model", Map.of("type", "BPE", "vocab", vocab, "merges", List.of())));
+
+        for (Path file : List.of(tiktokenFile, huggingFaceFile)) {
+            BpeTokenizer tokenizer = BpeTokenizer.load(file);
+            assertThat(tokenizer.vocabularySize()).as(file.toString()).isEqualTo(259);
+            assertThat(tokenizer.encode("Hello world!")).as(file.toString()).containsExactly(9906, 1917, 0);
+        }
+    }
+
+    @Test
+    void rejectsTruncatedVocabulary(@TempDir Path dir) throws IOException {
+        Path file = Files.writeString(dir.resolve("tokenizer.model"), "IQ== 0\nIg== 1\n");
+
+        assertThatThrownBy(() -> BpeTokenizer.load(file)).isInstanceOf(IOException.class)
+            .hasMessageContaining("too small");
+    }
+
+    /**
+     * 실제 Llama 3 어휘 파일이 있을 때만 실행 (LLAMA3_TOKENIZER_PATH=.../tokenizer.model)
+     */
+    @Test
+    @EnabledIfEnvironmentVariable(named = "LLAMA3_TOKENIZER_PATH", matches = ".+")
+    void matchesReferenceIdsWithRealVocabulary() throws IOException {
+        BpeTokenizer tokenizer = BpeTokenizer.load(Paths.get(System.getenv("LLAMA3_TOKENIZER_PATH")));
+
+        assertThat(tokenizer.vocabularySize()).isGreaterThanOrEqualTo(128_000);
+        assertThat(tokenizer.encode("Hello world!")).containsExactly(9906, 1917, 0);
+        assertThat(tokenizer.encode("hello world")).containsExactly(15339, 1917);
+    }
+
+    /**
+     * 256개 단일 바이트 토큰 (tiktoken과 같은 GPT-2 바이트 순서 rank) + 추가 토큰
+     */
+    private static TokenRankTable.Builder byteLevelVocabulary(Map<String, Integer> extra) {
+        TokenRankTable.Builder builder = new TokenRankTable.Builder();
+        for (int b = 0; b < 256; b++) {
+            builder.add(new byte[] {(byte) b}, byteRank(b));
+        }
+        extra.forEach((token, rank) -> builder.add(token.getBytes(StandardCharsets.UTF_8), rank));
+        return builder;
+    }
+
+    /** 출력 가능한 바이트가 먼저(0부터), 나머지 바이트가 그 뒤에 오름차순 - '!' = 0, ' ' = 220 */
+    private static int byteRank(int b) {
+        int printableBefore = 0;
+        int otherBefore = 0;
+        for (int i = 0; i < b; i++) {
+            if (isPrintable(i)) {
+                printableBefore++;
+            } else {
+                otherBefore++;
+            }
+        }
+        return isPrintable(b) ? printableBefore : 188 + otherBefore;
+    }
+
+    private static boolean isPrintable(int b) {
+        return (b >= '!' && b <= '~') || (b >= 0xA1 && b <= 0xAC) || (b >= 0xAE && b <= 0xFF);
+    }
+
+    /** GPT-2 bytes_to_unicode - tokenizer.json의 토큰 문자열 표현 */
+    private static String toGpt2Unicode(byte[] bytes) {
+        StringBuilder text = new StringBuilder();
+        for (byte value : bytes) {
+            int b = value & 0xFF;
+            text.append((char) (isPrintable(b) ? b : 256 + byteRank(b) - 188));
+        }
+        return text.toString();
+    }
+
+    private static List<String> pieces(String text) {
+        List<String> pieces = new ArrayList<>();
+        for (int start = 0; start < text.length(); ) {
+            int end = BpeTokenizer.pieceEnd(text, start);
+            pieces.add(text.substring(start, end));
+            start = end;
+        }
+        return pieces;
+    }
+
+    private static List<String> regexPieces(String text) {
+        List<String> pieces = new ArrayList<>();
+        Matcher matcher = LLAMA3_SPLIT.matcher(text);
+        while (matcher.find()) {
+            pieces.add(matcher.group());
+        }
+        return pieces;
+    }
+}
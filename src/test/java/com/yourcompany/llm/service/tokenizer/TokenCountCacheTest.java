@@ -0,0 +1,104 @@
+// TokenCountCacheTest.java
+package com.yourcompany.llm.service.tokenizer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class TokenCountCacheTest {
+
+    private final TokenCountCache cache = new TokenCountCache(1024);
+
+    @Test
+    void returnsStoredCount() {
+        long hash = TokenCountCache.hash("The quick brown fox");
+
+        assertThat(cache.get(hash)).isEqualTo(-1);
+        cache.put(hash, 42);
+
+        assertThat(cache.get(hash)).isEqualTo(42);
+        assertThat(cache.get(TokenCountCache.hash("The quick brown fox!"))).isEqualTo(-1);
+    }
+
+    @Test
+    void storesZeroCountForZeroHash() {
+        cache.put(0L, 0); // 빈 칸(0)과 구분된다
+
+        assertThat(cache.get(0L)).isZero();
+    }
+
+    @Test
+    void sameSlotWithDifferentTagIsMiss() {
+        long hash = TokenCountCache.hash("The quick brown fox");
+        cache.put(hash, 42);
+
+        // 슬롯은 같고 태그만 다른 해시 - 다른 텍스트의 토큰 수를 돌려주면 안 된다
+        assertThat(cache.get(sameSlot(hash, 1))).isEqualTo(-1);
+    }
+
+    @Test
+    void keepsTwoEntriesPerSlotAndDisplacesOldest() {
+        long first = TokenCountCache.hash("The quick brown fox");
+        long second = sameSlot(first, 1);
+        long third = sameSlot(first, 2);
+
+        cache.put(first, 1);
+        cache.put(second, 2); // first는 옆 칸으로 밀려남
+        assertThat(cache.get(first)).isEqualTo(1);
+        assertThat(cache.get(second)).isEqualTo(2);
+
+        cache.put(third, 3); // 옆 칸에 있던 first가 버려짐
+        assertThat(cache.get(first)).isEqualTo(-1);
+        assertThat(cache.get(second)).isEqualTo(2);
+        assertThat(cache.get(third)).isEqualTo(3);
+    }
+
+    @Test
+    void updatingSameEntryDoesNotDisplaceNeighbour() {
+        long first = TokenCountCache.hash("The quick brown fox");
+        long second = sameSlot(first, 1);
+        cache.put(first, 1);
+        cache.put(second, 2);
+
+        cache.put(second, 20);
+
+        assertThat(cache.get(first)).isEqualTo(1);
+        assertThat(cache.get(second)).isEqualTo(20);
+    }
+
+    @Test
+    void ignoresCountsOutsideEntryRange() {
+        long hash = TokenCountCache.hash("The quick brown fox");
+
+        cache.put(hash, -1);
+        cache.put(hash, 1 << 24);
+
+        assertThat(cache.get(hash)).isEqualTo(-1);
+    }
+
+    @Test
+    void roundsCapacityUpToPowerOfTwoPairs() {
+        assertThat(new TokenCountCache(1).capacity()).isEqualTo(2);
+        assertThat(new TokenCountCache(2).capacity()).isEqualTo(2);
+        assertThat(new TokenCountCache(3).capacity()).isEqualTo(4);
+        assertThat(new TokenCountCache(65_536).capacity()).isEqualTo(65_536);
+    }
+
+    @Test
+    void zeroCapacityDisablesCache() {
+        TokenCountCache disabled = new TokenCountCache(0);
+        long hash = TokenCountCache.hash("The quick brown fox");
+
+        disabled.put(hash, 42);
+
+        assertThat(disabled.capacity()).isZero();
+        assertThat(disabled.get(hash)).isEqualTo(-1);
+    }
+
+    /**
+     * 슬롯 인덱스(하위 비트)는 같고 태그(상위 40비트)만 다른 해시
+     */
+    private static long sameSlot(long hash, int variant) {
+        return hash ^ ((long) variant << 40);
+    }
+}
@@ -0,0 +1,181 @@
+// CircuitBreakerTest.java
+package com.yourcompany.llm.service.vllm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.yourcompany.llm.config.vllm.VllmConfigProperties;
+
+class CircuitBreakerTest {
+
+    private final List<String> transitions = new ArrayList<>();
+
+    @Test
+    void opensWhenFailureRateReachesThresholdAfterMinimumCalls() {
+        CircuitBreaker breaker = breaker(Duration.ofHours(1));
+
+        breaker.onSuccess(10);
+        breaker.onSuccess(10);
+        breaker.onError(10);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED); // 3건 < 최소 4건
+
+        breaker.onError(10);
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+        assertThat(breaker.openUntilNanos()).isPositive();
+        assertThat(transitions).containsExactly("CLOSED->OPEN");
+    }
+
+    @Test
+    void opensWhenSlowCallRateReachesThreshold() {
+        CircuitBreaker breaker = breaker(Duration.ofHours(1));
+
+        for (int i = 0; i < 4; i++) {
+            breaker.onSuccess(200);
+        }
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(transitions).containsExactly("CLOSED->OPEN");
+    }
+
+    @Test
+    void slidingWindowForgetsOldFailures() {
+        CircuitBreaker breaker = breaker(Duration.ofHours(1));
+
+        breaker.onError(10);
+        for (int i = 0; i < 4; i++) {
+            breaker.onSuccess(10);
+        }
+        breaker.onError(10);
+
+        // 윈도우 4건 중 실패 1건 - 첫 실패는 밀려났다
+        assertThat(breaker.failureRate()).isEqualTo(0.25);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void halfOpenAllowsLimitedProbesAndClosesOnSuccess() {
+        CircuitBreaker breaker = openBreaker();
+
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+
+        breaker.onSuccess(10);
+        breaker.onSuccess(10);
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.bufferedCalls()).isZero();
+        assertThat(transitions).containsExactly("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED");
+    }
+
+    @Test
+    void halfOpenReopensWhenProbesFail() {
+        CircuitBreaker breaker = openBreaker();
+
+        breaker.tryAcquirePermission();
+        breaker.tryAcquirePermission();
+        breaker.onSuccess(10);
+        breaker.onError(10);
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(transitions).containsExactly("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->OPEN");
+    }
+
+    @Test
+    void releasedPermissionCanBeReusedInHalfOpen() {
+        CircuitBreaker breaker = openBreaker();
+
+        breaker.tryAcquirePermission();
+        breaker.tryAcquirePermission();
+        assertThat(breaker.tryAcquirePermission()).isFalse(); // 거절된 호출이 슬롯을 음수로 만들면 안 된다
+        breaker.releasePermission(); // 취소된 시험 호출
+
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+    }
+
+    @Test
+    void releaseNeverExceedsPermittedCalls() {
+        CircuitBreaker breaker = openBreaker();
+
+        breaker.tryAcquirePermission();
+        breaker.releasePermission();
+        breaker.releasePermission();
+
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+    }
+
+    @Test
+    void reportsSaturationWhenHalfOpenPermitsRunOut() {
+        AtomicInteger permitChanges = new AtomicInteger();
+        CircuitBreaker breaker = new CircuitBreaker(settings(Duration.ZERO),
+            (from, to) -> transitions.add(from + "->" + to), permitChanges::incrementAndGet);
+        for (int i = 0; i < 4; i++) {
+            breaker.onError(10);
+        }
+
+        breaker.tryAcquirePermission();
+        assertThat(breaker.isHalfOpenSaturated()).isFalse();
+        breaker.tryAcquirePermission();
+        assertThat(breaker.isHalfOpenSaturated()).isTrue();
+        breaker.tryAcquirePermission();
+        breaker.releasePermission();
+
+        assertThat(breaker.isHalfOpenSaturated()).isFalse();
+        assertThat(permitChanges).hasValue(2); // 소진 1회, 회복 1회
+    }
+
+    @Test
+    void disabledBreakerAlwaysPermits() {
+        VllmConfigProperties.VllmCircuitBreakerSettings settings = settings(Duration.ofHours(1));
+        settings.setEnabled(false);
+        CircuitBreaker breaker = new CircuitBreaker(settings, (from, to) -> transitions.add(from + "->" + to));
+
+        for (int i = 0; i < 10; i++) {
+            breaker.onError(10);
+        }
+
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(transitions).isEmpty();
+    }
+
+    /**
+     * OPEN 대기 시간 0 - 다음 tryAcquirePermission에서 HALF_OPEN으로 전환
+     */
+    private CircuitBreaker openBreaker() {
+        CircuitBreaker breaker = breaker(Duration.ZERO);
+        for (int i = 0; i < 4; i++) {
+            breaker.onError(10);
+        }
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        return breaker;
+    }
+
+    private CircuitBreaker breaker(Duration waitInOpenState) {
+        return new CircuitBreaker(settings(waitInOpenState), (from, to) -> transitions.add(from + "->" + to));
+    }
+
+    private static VllmConfigProperties.VllmCircuitBreakerSettings settings(Duration waitInOpenState) {
+        VllmConfigProperties.VllmCircuitBreakerSettings settings = new VllmConfigProperties.VllmCircuitBreakerSettings();
+        settings.setSlidingWindowSize(4);
+        settings.setMinimumNumberOfCalls(4);
+        settings.setFailureRateThreshold(0.5);
+        settings.setSlowCallRateThreshold(0.8);
+        settings.setSlowCallDuration(Duration.ofMillis(100));
+        settings.setWaitDurationInOpenState(waitInOpenState);
+        settings.setPermittedCallsInHalfOpenState(2);
+        return settings;
+    }
+}
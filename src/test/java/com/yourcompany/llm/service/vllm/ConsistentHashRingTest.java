@@ -0,0 +1,100 @@
+// ConsistentHashRingTest.java
+package com.yourcompany.llm.service.vllm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class ConsistentHashRingTest {
+
+    private static final List<String> SERVERS = List.of("vllm-1", "vllm-2", "vllm-3", "vllm-4", "vllm-5");
+    private static final int KEYS = 10_000;
+    private static final int VIRTUAL_NODES = 160;
+
+    @Test
+    void sameKeyAlwaysMapsToSameServer() {
+        ConsistentHashRing ring = new ConsistentHashRing(SERVERS, VIRTUAL_NODES);
+        ConsistentHashRing rebuilt = new ConsistentHashRing(SERVERS, VIRTUAL_NODES);
+
+        for (int i = 0; i < KEYS; i++) {
+            assertThat(rebuilt.select(key(i), server -> true)).isEqualTo(ring.select(key(i), server -> true));
+        }
+    }
+
+    @Test
+    void spreadsKeysAcrossServers() {
+        Map<String, Integer> owned = new HashMap<>();
+        ConsistentHashRing ring = new ConsistentHashRing(SERVERS, VIRTUAL_NODES);
+        for (int i = 0; i < KEYS; i++) {
+            owned.merge(ring.select(key(i), server -> true), 1, Integer::sum);
+        }
+
+        assertThat(owned).containsOnlyKeys(SERVERS);
+        assertThat(owned.values()).allSatisfy(count -> assertThat(count).isBetween(KEYS * 14 / 100, KEYS * 26 / 100));
+    }
+
+    @Test
+    void removingServerOnlyMovesItsOwnKeys() {
+        ConsistentHashRing before = new ConsistentHashRing(SERVERS, VIRTUAL_NODES);
+        List<String> remaining = new ArrayList<>(SERVERS);
+        remaining.remove("vllm-3");
+        ConsistentHashRing after = new ConsistentHashRing(remaining, VIRTUAL_NODES);
+
+        for (int i = 0; i < KEYS; i++) {
+            String owner = before.select(key(i), server -> true);
+            String moved = after.select(key(i), server -> true);
+            if (owner.equals("vllm-3")) {
+                assertThat(moved).isNotEqualTo("vllm-3");
+            } else {
+                assertThat(moved).isEqualTo(owner);
+            }
+        }
+    }
+
+    @Test
+    void addingServerOnlyMovesKeysToIt() {
+        ConsistentHashRing before = new ConsistentHashRing(SERVERS, VIRTUAL_NODES);
+        List<String> grown = new ArrayList<>(SERVERS);
+        grown.add("vllm-6");
+        ConsistentHashRing after = new ConsistentHashRing(grown, VIRTUAL_NODES);
+
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String owner = before.select(key(i), server -> true);
+            String current = after.select(key(i), server -> true);
+            if (!current.equals(owner)) {
+                assertThat(current).isEqualTo("vllm-6");
+                moved++;
+            }
+        }
+        // 새 서버 몫(약 1/6)만 이동
+        assertThat(moved).isBetween(KEYS / 10, KEYS / 4);
+    }
+
+    @Test
+    void skipsRejectedServersClockwise() {
+        ConsistentHashRing ring = new ConsistentHashRing(SERVERS, VIRTUAL_NODES);
+        long key = key(42);
+        String owner = ring.select(key, server -> true);
+
+        String spilled = ring.select(key, server -> !server.equals(owner));
+
+        assertThat(spilled).isNotNull().isNotEqualTo(owner);
+        assertThat(ring.select(key, server -> !server.equals(owner))).isEqualTo(spilled);
+        assertThat(ring.select(key, server -> false)).isNull();
+    }
+
+    @Test
+    void emptyRingSelectsNothing() {
+        assertThat(new ConsistentHashRing(List.of(), VIRTUAL_NODES).select(key(1), server -> true)).isNull();
+    }
+
+    private static long key(int i) {
+        return ConsistentHashRing.mix(i);
+    }
+}
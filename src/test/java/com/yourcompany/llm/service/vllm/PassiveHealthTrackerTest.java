@@ -0,0 +1,189 @@
+// PassiveHealthTrackerTest.java
+package com.yourcompany.llm.service.vllm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.yourcompany.llm.config.vllm.VllmConfigProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PassiveHealthTrackerTest {
+
+    private final VllmConfigProperties vllmConfig = new VllmConfigProperties();
+    private final VllmConfigProperties.VllmOutlierDetectionSettings settings =
+        vllmConfig.getLoadBalancer().getOutlierDetection();
+
+    @Test
+    void ejectsAfterConsecutiveFailures() {
+        PassiveHealthTracker tracker = tracker(4);
+
+        for (int i = 0; i < 4; i++) {
+            tracker.recordFailure("vllm-1", "timeout");
+        }
+        assertThat(tracker.isEjected("vllm-1")).isFalse();
+
+        tracker.recordFailure("vllm-1", "timeout");
+
+        assertThat(tracker.isEjected("vllm-1")).isTrue();
+        assertThat(tracker.getEjectionStatuses().get("vllm-1").getReason()).isEqualTo("5 consecutive failures");
+        assertThat(tracker.getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void successResetsConsecutiveFailures() {
+        PassiveHealthTracker tracker = tracker(4);
+
+        for (int i = 0; i < 4; i++) {
+            tracker.recordFailure("vllm-1", "timeout");
+        }
+        tracker.recordSuccess("vllm-1", 1000, 100);
+        for (int i = 0; i < 4; i++) {
+            tracker.recordFailure("vllm-1", "timeout");
+        }
+
+        assertThat(tracker.isEjected("vllm-1")).isFalse();
+        assertThat(tracker.getEjectionStatuses().get("vllm-1").getConsecutiveFailures()).isEqualTo(4);
+    }
+
+    @Test
+    void ejectsWhenWindowFailureRateReachesThreshold() {
+        settings.setConsecutiveFailures(100);
+        settings.setMinimumRequests(10);
+        PassiveHealthTracker tracker = tracker(4);
+
+        for (int i = 0; i < 4; i++) {
+            tracker.recordSuccess("vllm-1", 1000, 100);
+            tracker.recordFailure("vllm-1", "500");
+        }
+        tracker.recordSuccess("vllm-1", 1000, 100);
+        assertThat(tracker.isEjected("vllm-1")).isFalse(); // 9건 < 최소 10건
+
+        tracker.recordFailure("vllm-1", "500");
+
+        assertThat(tracker.isEjected("vllm-1")).isTrue();
+        assertThat(tracker.getEjectionStatuses().get("vllm-1").getReason()).isEqualTo("failure rate 50%");
+    }
+
+    @Test
+    void ejectsLatencyOutlierAgainstPeerMedian() {
+        PassiveHealthTracker tracker = tracker(4);
+
+        recordLatency(tracker, "vllm-1", 1000); // 10 ms/token
+        recordLatency(tracker, "vllm-2", 1200); // 12 ms/token
+        recordLatency(tracker, "vllm-3", 2500); // 피어 중앙값 11의 3배 미만
+        assertThat(tracker.isEjected("vllm-3")).isFalse();
+
+        recordLatency(tracker, "vllm-4", 5000); // 피어 중앙값 12의 3배 초과
+
+        assertThat(tracker.isEjected("vllm-4")).isTrue();
+        assertThat(tracker.getEjectionStatuses().get("vllm-4").getReason()).isEqualTo("latency outlier");
+        assertThat(List.of("vllm-1", "vllm-2", "vllm-3")).noneMatch(tracker::isEjected);
+    }
+
+    @Test
+    void latencyOutlierNeedsAtLeastTwoPeers() {
+        PassiveHealthTracker tracker = tracker(2);
+
+        recordLatency(tracker, "vllm-1", 1000);
+        recordLatency(tracker, "vllm-2", 10_000);
+
+        assertThat(tracker.isEjected("vllm-2")).isFalse();
+    }
+
+    @Test
+    void ejectedPeersAreLeftOutOfMedian() {
+        PassiveHealthTracker tracker = tracker(4);
+        recordLatency(tracker, "vllm-1", 1000);
+        recordLatency(tracker, "vllm-2", 1000);
+        eject(tracker, "vllm-1");
+
+        recordLatency(tracker, "vllm-3", 5000);
+
+        assertThat(tracker.isEjected("vllm-3")).isFalse(); // 남은 피어가 하나뿐
+    }
+
+    @Test
+    void ejectionTimeDoublesUpToMaximum() throws InterruptedException {
+        settings.setBaseEjectionTime(Duration.ofMillis(200));
+        settings.setMaxEjectionTime(Duration.ofMillis(500));
+        PassiveHealthTracker tracker = tracker(2);
+
+        eject(tracker, "vllm-1");
+        assertThat(remainingMillis(tracker, "vllm-1")).isBetween(1L, 200L);
+
+        awaitReadmission(tracker, "vllm-1");
+        eject(tracker, "vllm-1");
+        assertThat(remainingMillis(tracker, "vllm-1")).isBetween(201L, 400L);
+
+        awaitReadmission(tracker, "vllm-1");
+        eject(tracker, "vllm-1");
+        assertThat(remainingMillis(tracker, "vllm-1")).isBetween(401L, 500L);
+        assertThat(tracker.getEjectionStatuses().get("vllm-1").getEjectionCount()).isEqualTo(3);
+    }
+
+    @Test
+    void capsEjectedServersAtMaxEjectionPercent() {
+        PassiveHealthTracker tracker = tracker(4); // 50% - 최대 2대
+
+        eject(tracker, "vllm-1");
+        eject(tracker, "vllm-2");
+        eject(tracker, "vllm-3");
+
+        assertThat(tracker.isEjected("vllm-1")).isTrue();
+        assertThat(tracker.isEjected("vllm-2")).isTrue();
+        assertThat(tracker.isEjected("vllm-3")).isFalse();
+        assertThat(tracker.getVersion()).isEqualTo(2);
+    }
+
+    @Test
+    void disabledTrackerIgnoresOutcomes() {
+        settings.setEnabled(false);
+        PassiveHealthTracker tracker = tracker(2);
+
+        eject(tracker, "vllm-1");
+
+        assertThat(tracker.isEjected("vllm-1")).isFalse();
+        assertThat(tracker.getEjectionStatuses()).isEmpty();
+    }
+
+    private PassiveHealthTracker tracker(int servers) {
+        vllmConfig.setServers(IntStream.rangeClosed(1, servers).mapToObj(i -> {
+            VllmConfigProperties.VllmServerConfig server = new VllmConfigProperties.VllmServerConfig();
+            server.setName("vllm-" + i);
+            return server;
+        }).toList());
+        return new PassiveHealthTracker(vllmConfig, new SimpleMeterRegistry());
+    }
+
+    /**
+     * 지연 판단에 필요한 최소 샘플 수만큼 같은 응답 기록 (100토큰)
+     */
+    private void recordLatency(PassiveHealthTracker tracker, String serverName, long responseTimeMs) {
+        for (int i = 0; i < settings.getMinLatencySamples(); i++) {
+            tracker.recordSuccess(serverName, responseTimeMs, 100);
+        }
+    }
+
+    private void eject(PassiveHealthTracker tracker, String serverName) {
+        for (int i = 0; i < settings.getConsecutiveFailures(); i++) {
+            tracker.recordFailure(serverName, "timeout");
+        }
+    }
+
+    private static long remainingMillis(PassiveHealthTracker tracker, String serverName) {
+        return TimeUnit.NANOSECONDS.toMillis(tracker.ejectedUntilNanos(serverName) - System.nanoTime()) + 1;
+    }
+
+    private static void awaitReadmission(PassiveHealthTracker tracker, String serverName) throws InterruptedException {
+        while (tracker.isEjected(serverName)) {
+            Thread.sleep(5);
+        }
+    }
+}
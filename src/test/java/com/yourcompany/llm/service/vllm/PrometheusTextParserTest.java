@@ -0,0 +1,63 @@
+// PrometheusTextParserTest.java
+package com.yourcompany.llm.service.vllm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class PrometheusTextParserTest {
+
+    @Test
+    void readsRequestedMetricsAndSkipsOthers() throws IOException {
+        String metrics = String.join("\n",
+            "# HELP vllm:num_requests_running Number of requests currently running on GPU.",
+            "# TYPE vllm:num_requests_running gauge",
+            "vllm:num_requests_running{model_name=\"llama3.2\"} 3.0",
+            "# HELP vllm:num_requests_waiting Number of requests waiting to be processed.",
+            "# TYPE vllm:num_requests_waiting gauge",
+            "vllm:num_requests_waiting{model_name=\"llama3.2\"} 7.0",
+            "vllm:num_requests_waiting_by_priority{priority=\"high\"} 99.0",
+            "# TYPE vllm:gpu_cache_usage_perc gauge",
+            "vllm:gpu_cache_usage_perc{model_name=\"llama3.2\"} 0.42",
+            "vllm:time_to_first_token_seconds_bucket{le=\"+Inf\",model_name=\"llama3.2\"} 12.0",
+            "");
+
+        double[] values = parse(metrics, "vllm:num_requests_waiting", "vllm:num_requests_running",
+            "vllm:gpu_cache_usage_perc", "vllm:kv_cache_usage_perc");
+
+        assertThat(values).containsExactly(7.0, 3.0, 0.42, Double.NaN);
+    }
+
+    @Test
+    void sumsAllSeriesOfAMetric() throws IOException {
+        assertThat(parse("m{model_name=\"a\"} 2\nm{model_name=\"b\"} 5.5\n", "m")).containsExactly(7.5);
+    }
+
+    @Test
+    void handlesQuotedBracesEscapedQuotesAndTimestamps() throws IOException {
+        String metrics = "m{path=\"a}b\",note=\"say \\\"hi\\\"\"} 2 1712345678000\nm 3\n";
+
+        assertThat(parse(metrics, "m")).containsExactly(5.0);
+    }
+
+    @Test
+    void handlesCrlfAndMissingTrailingNewline() throws IOException {
+        assertThat(parse("# TYPE m gauge\r\nm 1\r\nn 4\r\n", "m", "n")).containsExactly(1.0, 4.0);
+        assertThat(parse("m 1", "m")).containsExactly(1.0);
+    }
+
+    @Test
+    void parsesInfinityAndIgnoresUnparseableValues() throws IOException {
+        assertThat(parse("m +Inf\nn NaN\nn garbage\n", "m", "n"))
+            .containsExactly(Double.POSITIVE_INFINITY, Double.NaN);
+    }
+
+    private static double[] parse(String text, String... metricNames) throws IOException {
+        return new PrometheusTextParser(metricNames)
+            .parse(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+    }
+}
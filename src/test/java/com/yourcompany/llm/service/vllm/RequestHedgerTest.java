@@ -0,0 +1,114 @@
+// RequestHedgerTest.java
+package com.yourcompany.llm.service.vllm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import com.yourcompany.llm.config.vllm.LlmConfigProperties;
+import com.yourcompany.llm.config.vllm.VllmConfigProperties;
+import com.yourcompany.llm.dto.LlmRequest;
+import com.yourcompany.llm.dto.LlmResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RequestHedgerTest {
+
+    private final VllmLoadBalancer loadBalancer = mock(VllmLoadBalancer.class);
+    private final VllmApiClient apiClient = mock(VllmApiClient.class);
+    private final ThreadPoolTaskScheduler scheduler = mock(ThreadPoolTaskScheduler.class);
+
+    private final ServerLease primaryLease = new ServerLease(loadBalancer, new ServerHandle("vllm-1"), 100, "req-1");
+    private final ServerLease hedgeLease = new ServerLease(loadBalancer, new ServerHandle("vllm-2"), 100, "req-1");
+    private final CompletableFuture<LlmResponse> primaryCall = new CompletableFuture<>();
+    private final CompletableFuture<LlmResponse> hedgeCall = new CompletableFuture<>();
+
+    private final LlmRequest request = LlmRequest.builder().requestId("req-1").message("hi").maxTokens(32).build();
+    private final Set<String> triedServers = new HashSet<>();
+
+    private RequestHedger hedger;
+
+    @BeforeEach
+    void setUp() {
+        LlmConfigProperties llmConfig = new LlmConfigProperties();
+        llmConfig.getHedging().setEnabled(true);
+        llmConfig.getHedging().setBudgetPercent(100.0);
+
+        when(loadBalancer.acquireUntriedServer(eq("llama3.2"), any(), any(), any()))
+            .thenReturn(Optional.of(primaryLease));
+        when(loadBalancer.acquireServer(eq("llama3.2"), any(), any(), any()))
+            .thenReturn(Optional.of(hedgeLease));
+        when(apiClient.chatCompletion(eq("vllm-1"), any())).thenReturn(primaryCall);
+        when(apiClient.chatCompletion(eq("vllm-2"), any())).thenReturn(hedgeCall);
+        when(scheduler.schedule(any(Runnable.class), any(Instant.class))).thenReturn(mock(ScheduledFuture.class));
+
+        hedger = new RequestHedger(loadBalancer, apiClient, new VllmConfigProperties(), llmConfig, scheduler,
+            new SimpleMeterRegistry());
+    }
+
+    @Test
+    void hedgeWinnerReleasesCancelledPrimaryLeaseOnce() {
+        CompletableFuture<LlmResponse> result = hedger.execute(request, triedServers);
+        fireHedge();
+
+        LlmResponse response = LlmResponse.success("llama3.2", "hedged", 5, "vllm");
+        hedgeCall.complete(response);
+
+        assertThat(result).isCompletedWithValue(response);
+        assertThat(primaryCall).isCancelled();
+        verify(loadBalancer, times(1)).release(same(primaryLease), isNull());
+        verify(loadBalancer, times(1)).release(same(hedgeLease), same(response));
+        assertThat(triedServers).containsExactlyInAnyOrder("vllm-1", "vllm-2");
+    }
+
+    @Test
+    void primaryWinnerReleasesCancelledHedgeLeaseOnce() {
+        CompletableFuture<LlmResponse> result = hedger.execute(request, triedServers);
+        fireHedge();
+
+        LlmResponse response = LlmResponse.success("llama3.2", "primary", 5, "vllm");
+        primaryCall.complete(response);
+
+        assertThat(result).isCompletedWithValue(response);
+        assertThat(hedgeCall).isCancelled();
+        verify(loadBalancer, times(1)).release(same(hedgeLease), isNull());
+        verify(loadBalancer, times(1)).release(same(primaryLease), same(response));
+    }
+
+    @Test
+    void cancellingResultReleasesEveryAttempt() {
+        CompletableFuture<LlmResponse> result = hedger.execute(request, triedServers);
+        fireHedge();
+
+        result.cancel(true);
+
+        assertThat(primaryCall).isCancelled();
+        assertThat(hedgeCall).isCancelled();
+        verify(loadBalancer, times(1)).release(same(primaryLease), isNull());
+        verify(loadBalancer, times(1)).release(same(hedgeLease), isNull());
+    }
+
+    private void fireHedge() {
+        ArgumentCaptor<Runnable> timer = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(timer.capture(), any(Instant.class));
+        timer.getValue().run();
+    }
+}
@@ -0,0 +1,82 @@
+// RequestRetrierTest.java
+package com.yourcompany.llm.service.vllm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import com.yourcompany.llm.config.vllm.LlmConfigProperties;
+import com.yourcompany.llm.dto.LlmRequest;
+import com.yourcompany.llm.dto.LlmResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RequestRetrierTest {
+
+    private final VllmLoadBalancer loadBalancer = mock(VllmLoadBalancer.class);
+    private final ThreadPoolTaskScheduler scheduler = mock(ThreadPoolTaskScheduler.class);
+    private final RequestRetrier retrier = new RequestRetrier(new LlmConfigProperties(), scheduler,
+        new SimpleMeterRegistry());
+    private final LlmRequest request = LlmRequest.builder().requestId("req-1").message("hi").build();
+
+    @Test
+    void cancellingResultReleasesInFlightAttemptLease() {
+        ServerLease lease = new ServerLease(loadBalancer, new ServerHandle("vllm-1"), 100, "req-1");
+        CompletableFuture<LlmResponse> upstream = new CompletableFuture<>();
+
+        CompletableFuture<LlmResponse> result = retrier.execute(request, triedServers -> lease.run(serverName -> {
+            triedServers.add(serverName);
+            return upstream;
+        }));
+        result.cancel(true);
+
+        assertThat(upstream).isCancelled();
+        verify(loadBalancer, times(1)).release(same(lease), isNull());
+    }
+
+    @Test
+    void retriesRetryableFailureOnAnotherServer() {
+        when(scheduler.schedule(any(Runnable.class), any(Instant.class))).thenAnswer(invocation -> {
+            invocation.getArgument(0, Runnable.class).run();
+            return mock(ScheduledFuture.class);
+        });
+        List<Set<String>> seen = new ArrayList<>();
+        LlmResponse success = LlmResponse.success("llama3.2", "ok", 5, "vllm");
+        Function<Set<String>, CompletableFuture<LlmResponse>> attempt = triedServers -> {
+            seen.add(Set.copyOf(triedServers));
+            triedServers.add("vllm-" + seen.size());
+            return CompletableFuture.completedFuture(seen.size() == 1
+                ? LlmResponse.error("llama3.2", "unavailable").withFailure(503, null)
+                : success);
+        };
+
+        assertThat(retrier.execute(request, attempt)).isCompletedWithValue(success);
+        assertThat(seen).containsExactly(Set.of(), Set.of("vllm-1"));
+    }
+
+    @Test
+    void doesNotRetryClientErrors() {
+        LlmResponse badRequest = LlmResponse.error("llama3.2", "bad request").withFailure(400, null);
+
+        assertThat(retrier.execute(request, triedServers -> CompletableFuture.completedFuture(badRequest)))
+            .isCompletedWithValue(badRequest);
+        verify(scheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+    }
+}
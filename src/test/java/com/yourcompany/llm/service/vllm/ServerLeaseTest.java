@@ -0,0 +1,62 @@
+// ServerLeaseTest.java
+package com.yourcompany.llm.service.vllm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+import com.yourcompany.llm.dto.LlmResponse;
+
+class ServerLeaseTest {
+
+    private final VllmLoadBalancer loadBalancer = mock(VllmLoadBalancer.class);
+    private final ServerLease lease = new ServerLease(loadBalancer, new ServerHandle("vllm-1"), 100, "req-1");
+
+    @Test
+    void releasesWithResponseWhenCallCompletes() {
+        CompletableFuture<LlmResponse> call = new CompletableFuture<>();
+        CompletableFuture<LlmResponse> tracked = lease.run(serverName -> call);
+
+        LlmResponse response = LlmResponse.success("llama3.2", "ok", 5, "vllm");
+        call.complete(response);
+
+        assertThat(tracked).isCompletedWithValue(response);
+        verify(loadBalancer, times(1)).release(same(lease), same(response));
+    }
+
+    @Test
+    void cancelledLoserReleasesLeaseExactlyOnce() {
+        CompletableFuture<LlmResponse> call = new CompletableFuture<>();
+        CompletableFuture<LlmResponse> tracked = lease.run(serverName -> call);
+
+        // 헤지에서 진 호출 취소 - 업스트림 호출이 취소되고 lease는 응답 없이 해제
+        tracked.cancel(true);
+
+        assertThat(call).isCancelled();
+        assertThat(lease.isReleased()).isTrue();
+        verify(loadBalancer, times(1)).release(same(lease), isNull());
+
+        // 늦게 끝나거나 다시 닫아도 중복 해제 없음
+        call.complete(LlmResponse.success("llama3.2", "late", 5, "vllm"));
+        lease.close();
+        verify(loadBalancer, times(1)).release(same(lease), any());
+    }
+
+    @Test
+    void releasesWhenCallThrows() {
+        CompletableFuture<LlmResponse> tracked = lease.run(serverName -> {
+            throw new IllegalStateException("boom");
+        });
+
+        assertThat(tracked).isCompletedExceptionally();
+        verify(loadBalancer, times(1)).release(same(lease), isNull());
+    }
+}
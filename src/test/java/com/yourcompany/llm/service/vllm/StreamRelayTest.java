@@ -0,0 +1,92 @@
+// StreamRelayTest.java
+package com.yourcompany.llm.service.vllm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class StreamRelayTest {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void deliversChunksInOrderBeforeCloseAction() throws Exception {
+        List<String> events = new CopyOnWriteArrayList<>();
+        StreamRelay relay = new StreamRelay(events::add, executor);
+        CompletableFuture<Void> closed = new CompletableFuture<>();
+
+        for (int i = 0; i < 100; i++) {
+            relay.offer("chunk-" + i);
+        }
+        relay.close(() -> {
+            events.add("closed");
+            closed.complete(null);
+        });
+        closed.get(5, TimeUnit.SECONDS);
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            expected.add("chunk-" + i);
+        }
+        expected.add("closed");
+        assertThat(events).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void overflowWhileDownstreamIsBehindAbortsUpstream() {
+        List<Runnable> scheduled = new ArrayList<>();
+        StreamRelay relay = new StreamRelay(chunk -> {
+        }, scheduled::add, 3); // 전달 작업이 아직 실행되지 않은 상태 (느린 클라이언트)
+
+        relay.offer("a");
+        relay.offer("b");
+        relay.offer("c");
+
+        assertThatThrownBy(() -> relay.offer("d")).isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("too slow");
+        assertThat(relay.isFailed()).isTrue();
+        assertThat(scheduled).hasSize(1);
+    }
+
+    @Test
+    void downstreamFailureStopsUpstreamOnNextOffer() throws Exception {
+        CompletableFuture<Void> closed = new CompletableFuture<>();
+        StreamRelay relay = new StreamRelay(chunk -> {
+            throw new IllegalStateException("client gone");
+        }, executor);
+
+        relay.offer("a");
+        relay.close(() -> closed.complete(null));
+        closed.get(5, TimeUnit.SECONDS);
+
+        assertThat(relay.isFailed()).isTrue();
+        assertThatThrownBy(() -> relay.offer("b")).hasMessage("client gone");
+    }
+
+    @Test
+    void rejectedExecutorStillRunsCloseAction() {
+        executor.shutdown();
+        StreamRelay relay = new StreamRelay(chunk -> {
+        }, executor);
+        List<String> events = new ArrayList<>();
+
+        relay.close(() -> events.add("closed"));
+
+        assertThat(events).containsExactly("closed");
+    }
+}
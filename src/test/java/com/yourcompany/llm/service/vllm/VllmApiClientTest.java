@@ -0,0 +1,155 @@
+// VllmApiClientTest.java
+package com.yourcompany.llm.service.vllm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.yourcompany.llm.config.vllm.LlmConfigProperties;
+import com.yourcompany.llm.config.vllm.VllmConfigProperties;
+import com.yourcompany.llm.dto.LlmRequest;
+import com.yourcompany.llm.dto.LlmResponse;
+import com.yourcompany.llm.service.context.ContextWindowFitter;
+import com.yourcompany.llm.service.tokenizer.TokenCounter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 로컬 스텁 vLLM 서버(/v1/chat/completions)를 상대로 한 스트리밍 호출 검증
+ */
+class VllmApiClientTest {
+
+    private static final List<String> CHUNKS = List.of(
+        "{\"id\":\"c1\",\"choices\":[{\"delta\":{\"content\":\"Hel\"}}]}",
+        "{\"id\":\"c1\",\"choices\":[{\"delta\":{\"content\":\"lo\"},\"finish_reason\":\"stop\"}]}",
+        "{\"id\":\"c1\",\"choices\":[],\"usage\":{\"prompt_tokens\":5,\"completion_tokens\":2,\"total_tokens\":7}}");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private volatile int upstreamStatus = 200;
+
+    private final ExecutorService relayExecutor =
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sse-relay-", 0).factory());
+
+    private HttpServer stub;
+    private CloseableHttpAsyncClient httpClient;
+    private VllmApiClient apiClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.createContext("/v1/chat/completions", this::serveStream);
+        stub.start();
+
+        VllmConfigProperties.VllmServerConfig server = new VllmConfigProperties.VllmServerConfig();
+        server.setName("vllm-1");
+        server.setModel("llama3.2");
+        server.setHost("127.0.0.1");
+        server.setPort(stub.getAddress().getPort());
+        server.getCircuitBreaker().setSlidingWindowSize(2);
+        server.getCircuitBreaker().setMinimumNumberOfCalls(2);
+        VllmConfigProperties vllmConfig = new VllmConfigProperties();
+        vllmConfig.setServers(List.of(server));
+
+        LlmConfigProperties llmConfig = new LlmConfigProperties();
+        httpClient = HttpAsyncClients.createDefault();
+        httpClient.start();
+        apiClient = new VllmApiClient(vllmConfig, httpClient, new ObjectMapper(),
+            new PassiveHealthTracker(vllmConfig, meterRegistry),
+            new VllmCircuitBreakerRegistry(vllmConfig, meterRegistry),
+            new ContextWindowFitter(llmConfig, new TokenCounter(llmConfig, meterRegistry), meterRegistry),
+            relayExecutor);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        stub.stop(0);
+        relayExecutor.shutdownNow();
+    }
+
+    @Test
+    void streamRelaysChunksAndAggregatesResponse() throws Exception {
+        List<String> received = new CopyOnWriteArrayList<>();
+
+        LlmResponse response = apiClient.streamChatCompletion("vllm-1", request(), received::add)
+            .get(5, TimeUnit.SECONDS);
+
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getContent()).isEqualTo("Hello");
+        assertThat(response.getFinishReason()).isEqualTo("stop");
+        assertThat(response.getUsage().getTotalTokens()).isEqualTo(7);
+        assertThat(received).containsExactlyElementsOf(CHUNKS);
+    }
+
+    @Test
+    void chunksAndResultAreDeliveredOffTheIoThread() throws Exception {
+        List<String> chunkThreads = new CopyOnWriteArrayList<>();
+
+        String resultThread = apiClient.streamChatCompletion("vllm-1", request(),
+                chunk -> chunkThreads.add(Thread.currentThread().getName()))
+            .thenApply(response -> Thread.currentThread().getName())
+            .get(5, TimeUnit.SECONDS);
+
+        assertThat(chunkThreads).hasSize(CHUNKS.size()).allMatch(name -> name.startsWith("sse-relay-"));
+        assertThat(resultThread).startsWith("sse-relay-");
+    }
+
+    @Test
+    void streamingServerErrorsOpenTheCircuit() throws Exception {
+        upstreamStatus = 500;
+        for (int i = 0; i < 2; i++) {
+            LlmResponse failed = apiClient.streamChatCompletion("vllm-1", request(), chunk -> {
+            }).get(5, TimeUnit.SECONDS);
+            assertThat(failed.getUpstreamStatus()).isEqualTo(500);
+        }
+
+        LlmResponse rejected = apiClient.streamChatCompletion("vllm-1", request(), chunk -> {
+        }).get(5, TimeUnit.SECONDS);
+
+        assertThat(rejected.getError()).startsWith("Circuit open");
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    private void serveStream(HttpExchange exchange) throws IOException {
+        upstreamCalls.incrementAndGet();
+        exchange.getRequestBody().readAllBytes();
+        if (upstreamStatus != 200) {
+            exchange.sendResponseHeaders(upstreamStatus, -1);
+            exchange.close();
+            return;
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream body = exchange.getResponseBody()) {
+            for (String chunk : CHUNKS) {
+                body.write(("data: " + chunk + "\n\n").getBytes(StandardCharsets.UTF_8));
+                body.flush();
+            }
+            body.write("data: [DONE]\n\n".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static LlmRequest request() {
+        return LlmRequest.builder().message("hi").maxTokens(16).stream(true).build();
+    }
+}
@@ -0,0 +1,205 @@
+// VllmLoadBalancerTest.java
+package com.yourcompany.llm.service.vllm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.yourcompany.llm.config.vllm.LlmConfigProperties;
+import com.yourcompany.llm.config.vllm.VllmConfigProperties;
+import com.yourcompany.llm.dto.LlmRequest;
+import com.yourcompany.llm.dto.LlmResponse;
+import com.yourcompany.llm.service.tokenizer.TokenCounter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class VllmLoadBalancerTest {
+
+    private static final int PREFIXES = 200;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final VllmConfigProperties vllmConfig = new VllmConfigProperties();
+    private final TokenCounter tokenCounter = new TokenCounter(new LlmConfigProperties(), meterRegistry);
+
+    private VllmLoadBalancer loadBalancer;
+
+    @BeforeEach
+    void setUp() {
+        vllmConfig.setServers(servers(4));
+
+        VllmHealthChecker healthChecker = mock(VllmHealthChecker.class);
+        when(healthChecker.getCachedHealthStatus(anyString()))
+            .thenAnswer(invocation -> VllmHealthChecker.HealthStatus.up(invocation.getArgument(0), "ok",
+                LocalDateTime.now()));
+
+        loadBalancer = new VllmLoadBalancer(vllmConfig, healthChecker,
+            new PassiveHealthTracker(vllmConfig, meterRegistry), new VllmCircuitBreakerRegistry(vllmConfig, meterRegistry),
+            mock(VllmMetricsScraper.class), meterRegistry, tokenCounter);
+    }
+
+    @Test
+    void prefixAffinityKeepsConversationOnSameServer() {
+        LlmRequest firstTurn = conversation("You are assistant 7", "question");
+        LlmRequest laterTurn = LlmRequest.builder().messages(List.of(
+            message("system", "You are assistant 7"), message("user", "question"),
+            message("assistant", "answer"), message("user", "follow-up"))).build();
+
+        assertThat(prefixServer(laterTurn)).isEqualTo(prefixServer(firstTurn));
+    }
+
+    @Test
+    void prefixAffinitySpillsOverWhenOwnerExceedsBoundedLoad() {
+        LlmRequest request = conversation("You are assistant 7", "question");
+        String owner = prefixServer(request);
+
+        // 4대, 진행 중 1건 - 용량 ceil(1.25 * 2 / 4) = 1이라 소유 서버가 가득 참
+        ServerLease held = acquire(request);
+        ServerLease spilled = acquire(request);
+
+        assertThat(held.getServerName()).isEqualTo(owner);
+        assertThat(spilled.getServerName()).isNotEqualTo(owner);
+
+        held.close();
+        spilled.close();
+        assertThat(prefixServer(request)).isEqualTo(owner);
+    }
+
+    @Test
+    void prefixAffinityOnlyRemapsKeysOfRemovedServer() {
+        Map<Integer, String> before = prefixOwners();
+        List<VllmConfigProperties.VllmServerConfig> original = vllmConfig.getServers();
+
+        vllmConfig.setServers(original.stream().filter(server -> !server.getName().equals("vllm-3")).toList());
+        Map<Integer, String> after = prefixOwners();
+
+        assertThat(before).containsValue("vllm-3");
+        before.forEach((prefix, owner) -> {
+            if (owner.equals("vllm-3")) {
+                assertThat(after.get(prefix)).isNotEqualTo("vllm-3");
+            } else {
+                assertThat(after.get(prefix)).isEqualTo(owner);
+            }
+        });
+
+        // 서버가 돌아오면 링을 다시 만들어 원래 배치로 복귀
+        vllmConfig.setServers(List.copyOf(original));
+        assertThat(prefixOwners()).isEqualTo(before);
+    }
+
+    @Test
+    void prefixAffinityOnlyMovesKeysToJoinedServer() {
+        Map<Integer, String> before = prefixOwners();
+
+        vllmConfig.setServers(servers(5));
+        Map<Integer, String> after = prefixOwners();
+
+        assertThat(after).containsValue("vllm-5");
+        before.forEach((prefix, owner) -> assertThat(after.get(prefix)).isIn(owner, "vllm-5"));
+    }
+
+    @Test
+    void leastOutstandingTokensReservesRequestWeightUntilRelease() {
+        LlmRequest request = LlmRequest.builder().message("summarize this").maxTokens(500).build();
+        long weight = tokenCounter.countRequestTokens(request);
+
+        ServerLease lease = acquire(VllmLoadBalancer.LoadBalancingStrategy.LEAST_OUTSTANDING_TOKENS, request);
+        assertThat(weight).isGreaterThan(500);
+        assertThat(outstandingTokens(lease.getServerName())).isEqualTo(weight);
+
+        lease.close();
+        lease.close(); // 중복 해제는 무시
+        assertThat(outstandingTokens(lease.getServerName())).isZero();
+        assertThat(loadBalancer.getServerStatistics(lease.getServerName()).getCurrentRequests()).isZero();
+    }
+
+    @Test
+    void cancelledCallReturnsRequestWeightExactlyOnce() {
+        LlmRequest request = LlmRequest.builder().message("summarize this").maxTokens(500).build();
+        ServerLease lease = acquire(VllmLoadBalancer.LoadBalancingStrategy.LEAST_OUTSTANDING_TOKENS, request);
+        CompletableFuture<LlmResponse> call = new CompletableFuture<>();
+
+        lease.run(serverName -> call).cancel(true);
+        assertThat(outstandingTokens(lease.getServerName())).isZero();
+
+        // 늦은 응답이나 다시 닫아도 음수로 내려가지 않음
+        call.complete(LlmResponse.success("llama3.2", "late", 5, "vllm"));
+        lease.close();
+        assertThat(outstandingTokens(lease.getServerName())).isZero();
+        assertThat(loadBalancer.getStatus().getServerOutstandingTokens()).containsEntry(lease.getServerName(), 0L);
+    }
+
+    @Test
+    void leastOutstandingTokensPrefersServerWithLessReservedWork() {
+        ServerLease summary = acquire(VllmLoadBalancer.LoadBalancingStrategy.LEAST_OUTSTANDING_TOKENS,
+            LlmRequest.builder().message("summarize this").maxTokens(4000).build());
+
+        // 진행 중 요청 수는 같아져도 짧은 채팅은 긴 요약이 있는 서버를 피한다
+        List<ServerLease> chats = IntStream.range(0, 6)
+            .mapToObj(i -> acquire(VllmLoadBalancer.LoadBalancingStrategy.LEAST_OUTSTANDING_TOKENS,
+                LlmRequest.builder().message("hi " + i).maxTokens(10).build()))
+            .toList();
+
+        Map<String, Long> chatsPerServer = chats.stream()
+            .collect(Collectors.groupingBy(ServerLease::getServerName, Collectors.counting()));
+        assertThat(chatsPerServer).doesNotContainKey(summary.getServerName()).hasSize(3)
+            .allSatisfy((server, count) -> assertThat(count).isEqualTo(2L));
+    }
+
+    private long outstandingTokens(String serverName) {
+        return loadBalancer.getServerStatistics(serverName).getOutstandingTokens();
+    }
+
+    private Map<Integer, String> prefixOwners() {
+        Map<Integer, String> owners = new HashMap<>();
+        for (int i = 0; i < PREFIXES; i++) {
+            owners.put(i, prefixServer(conversation("You are assistant " + i, "question")));
+        }
+        return owners;
+    }
+
+    /**
+     * 부하를 남기지 않도록 lease를 바로 해제하고 선택된 서버만 반환
+     */
+    private String prefixServer(LlmRequest request) {
+        try (ServerLease lease = acquire(request)) {
+            return lease.getServerName();
+        }
+    }
+
+    private ServerLease acquire(LlmRequest request) {
+        return acquire(VllmLoadBalancer.LoadBalancingStrategy.PREFIX_AFFINITY, request);
+    }
+
+    private ServerLease acquire(VllmLoadBalancer.LoadBalancingStrategy strategy, LlmRequest request) {
+        return loadBalancer.acquireServer("llama3.2", strategy, request).orElseThrow();
+    }
+
+    private static LlmRequest conversation(String systemPrompt, String question) {
+        return LlmRequest.builder().messages(List.of(message("system", systemPrompt), message("user", question)))
+            .build();
+    }
+
+    private static LlmRequest.Message message(String role, String content) {
+        return LlmRequest.Message.builder().role(role).content(content).build();
+    }
+
+    private static List<VllmConfigProperties.VllmServerConfig> servers(int count) {
+        return IntStream.rangeClosed(1, count).mapToObj(i -> {
+            VllmConfigProperties.VllmServerConfig server = new VllmConfigProperties.VllmServerConfig();
+            server.setName("vllm-" + i);
+            return server;
+        }).toList();
+    }
+}
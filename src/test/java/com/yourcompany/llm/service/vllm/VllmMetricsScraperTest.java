@@ -0,0 +1,147 @@
+// VllmMetricsScraperTest.java
+package com.yourcompany.llm.service.vllm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.client.RestTemplate;
+
+import com.sun.net.httpserver.HttpServer;
+import com.yourcompany.llm.config.vllm.LlmConfigProperties;
+import com.yourcompany.llm.config.vllm.VllmConfigProperties;
+import com.yourcompany.llm.dto.LlmRequest;
+import com.yourcompany.llm.service.tokenizer.TokenCounter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 고정된 메트릭을 내려 주는 로컬 스텁 /metrics를 상대로 한 수집과 QUEUE_AWARE 라우팅 검증
+ */
+class VllmMetricsScraperTest {
+
+    private static final String BUSY = String.join("\n",
+        "# HELP vllm:num_requests_running Number of requests currently running on GPU.",
+        "# TYPE vllm:num_requests_running gauge",
+        "vllm:num_requests_running{model_name=\"llama3.2\"} 4.0",
+        "# TYPE vllm:num_requests_waiting gauge",
+        "vllm:num_requests_waiting{model_name=\"llama3.2\"} 10.0",
+        "# TYPE vllm:gpu_cache_usage_perc gauge",
+        "vllm:gpu_cache_usage_perc{model_name=\"llama3.2\"} 0.9",
+        "");
+
+    private static final String IDLE = String.join("\n",
+        "vllm:num_requests_running{model_name=\"llama3.2\"} 1.0",
+        "vllm:num_requests_waiting{model_name=\"llama3.2\"} 0.0",
+        "vllm:kv_cache_usage_perc{model_name=\"llama3.2\"} 0.1",
+        "vllm:gpu_cache_usage_perc{model_name=\"llama3.2\"} 0.5",
+        "");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<HttpServer> stubs = new ArrayList<>();
+    private final VllmConfigProperties vllmConfig = new VllmConfigProperties();
+
+    @AfterEach
+    void tearDown() {
+        stubs.forEach(stub -> stub.stop(0));
+    }
+
+    @Test
+    void scrapesQueueDepthAndCacheUsageFromStub() throws IOException {
+        vllmConfig.setServers(List.of(server("vllm-busy", stub(200, BUSY)), server("vllm-idle", stub(200, IDLE))));
+        VllmMetricsScraper scraper = scraper();
+
+        scraper.scrapeAll();
+
+        VllmMetricsScraper.ServerMetrics busy = scraper.getFreshMetrics("vllm-busy").orElseThrow();
+        assertThat(busy.getRequestsRunning()).isEqualTo(4.0);
+        assertThat(busy.getRequestsWaiting()).isEqualTo(10.0);
+        assertThat(busy.getKvCacheUsage()).isEqualTo(0.9);
+
+        // 최신 이름(kv_cache_usage_perc)이 있으면 우선 사용
+        assertThat(scraper.getFreshMetrics("vllm-idle").orElseThrow().getKvCacheUsage()).isEqualTo(0.1);
+    }
+
+    @Test
+    void ignoresFailedScrapesAndStaleMetrics() throws IOException {
+        vllmConfig.setServers(List.of(server("vllm-down", stub(503, "")), server("vllm-idle", stub(200, IDLE))));
+        VllmMetricsScraper scraper = scraper();
+
+        scraper.scrapeAll();
+
+        assertThat(scraper.getFreshMetrics("vllm-down")).isEmpty();
+        assertThat(scraper.getFreshMetrics("vllm-idle")).isPresent();
+
+        vllmConfig.getGlobalSettings().getMetricsScrape().setStaleAfter(Duration.ZERO);
+        assertThat(scraper.getFreshMetrics("vllm-idle")).isEmpty();
+        assertThat(scraper.getAllMetrics()).containsOnlyKeys("vllm-idle");
+    }
+
+    @Test
+    void queueAwareStrategyRoutesAwayFromBackedUpServer() throws IOException {
+        vllmConfig.setServers(List.of(server("vllm-busy", stub(200, BUSY)), server("vllm-idle", stub(200, IDLE))));
+        VllmMetricsScraper scraper = scraper();
+        scraper.scrapeAll();
+
+        VllmHealthChecker healthChecker = mock(VllmHealthChecker.class);
+        when(healthChecker.getCachedHealthStatus(anyString())).thenAnswer(invocation ->
+            VllmHealthChecker.HealthStatus.up(invocation.getArgument(0), "ok", LocalDateTime.now()));
+        LlmConfigProperties llmConfig = new LlmConfigProperties();
+        VllmLoadBalancer loadBalancer = new VllmLoadBalancer(vllmConfig, healthChecker,
+            new PassiveHealthTracker(vllmConfig, meterRegistry), new VllmCircuitBreakerRegistry(vllmConfig, meterRegistry),
+            scraper, meterRegistry, new TokenCounter(llmConfig, meterRegistry));
+
+        // 게이트웨이 기준으로는 둘 다 유휴 상태지만 vllm-busy는 대기열이 밀려 있다
+        LlmRequest request = LlmRequest.builder().message("hi").build();
+        for (int i = 0; i < 5; i++) {
+            assertThat(loadBalancer.selectServer("llama3.2", VllmLoadBalancer.LoadBalancingStrategy.QUEUE_AWARE,
+                request)).contains("vllm-idle");
+        }
+    }
+
+    private VllmMetricsScraper scraper() {
+        return new VllmMetricsScraper(vllmConfig, new RestTemplate(), Runnable::run,
+            mock(ThreadPoolTaskScheduler.class));
+    }
+
+    private HttpServer stub(int status, String metrics) throws IOException {
+        HttpServer stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.createContext("/metrics", exchange -> {
+            try (exchange) {
+                byte[] body = metrics.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4");
+                exchange.sendResponseHeaders(status, body.length > 0 ? body.length : -1);
+                if (body.length > 0) {
+                    try (OutputStream out = exchange.getResponseBody()) {
+                        out.write(body);
+                    }
+                }
+            }
+        });
+        stub.start();
+        stubs.add(stub);
+        return stub;
+    }
+
+    private static VllmConfigProperties.VllmServerConfig server(String name, HttpServer stub) {
+        VllmConfigProperties.VllmServerConfig server = new VllmConfigProperties.VllmServerConfig();
+        server.setName(name);
+        server.setModel("llama3.2");
+        server.setHost("127.0.0.1");
+        server.setPort(stub.getAddress().getPort());
+        return server;
+    }
+}